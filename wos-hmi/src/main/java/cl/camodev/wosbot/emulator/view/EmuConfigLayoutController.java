@@ -1,21 +1,28 @@
 package cl.camodev.wosbot.emulator.view;
 
 import java.io.File;
+import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 
 import cl.camodev.wosbot.console.enumerable.EnumConfigurationKey;
+import cl.camodev.wosbot.console.enumerable.EnumSlotPolicy;
+import cl.camodev.wosbot.emulator.EmulatorManager;
 import cl.camodev.wosbot.emulator.EmulatorType;
 import cl.camodev.wosbot.console.enumerable.GameVersion;
 import cl.camodev.wosbot.console.enumerable.IdleBehavior;
 import cl.camodev.wosbot.emulator.model.EmulatorAux;
+import cl.camodev.wosbot.ot.DTOSlotLimitState;
 import cl.camodev.wosbot.serv.impl.ServConfig;
 import cl.camodev.wosbot.serv.impl.ServScheduler;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
 import javafx.scene.control.RadioButton;
 import javafx.scene.control.TableCell;
 import javafx.scene.control.TableColumn;
@@ -48,12 +55,33 @@ public class EmuConfigLayoutController {
 	@FXML
 	private TextField textfieldMaxIdleTime;
 
+	@FXML
+	private TextField textfieldCoalescingWindow;
+
 	@FXML
 	private ComboBox<GameVersion> comboboxGameVersion;
 
 	@FXML
 	private ComboBox<IdleBehavior> comboboxIdleBehavior;
 
+	@FXML
+	private ComboBox<EnumSlotPolicy> comboboxSlotPolicy;
+
+	@FXML
+	private CheckBox checkboxAdaptiveInstances;
+
+	@FXML
+	private CheckBox checkboxSessionPlanner;
+
+	@FXML
+	private TextField textfieldMinInstances;
+
+	@FXML
+	private TextField textfieldMaxInstances;
+
+	@FXML
+	private Label labelSlotLimitStatus;
+
 	private final FileChooser fileChooser = new FileChooser();
 
 	// Fixed list of emulators derived from the enum
@@ -142,6 +170,23 @@ public class EmuConfigLayoutController {
 		textfieldMaxConcurrentInstances.setText(globalConfig.getOrDefault(EnumConfigurationKey.MAX_RUNNING_EMULATORS_INT.name(), "1"));
 		textfieldMaxIdleTime.setText(globalConfig.getOrDefault(EnumConfigurationKey.MAX_IDLE_TIME_INT.name(), "15"));
 
+		textfieldCoalescingWindow.setText(globalConfig.getOrDefault(EnumConfigurationKey.TASK_COALESCING_WINDOW_SECONDS_INT.name(), EnumConfigurationKey.TASK_COALESCING_WINDOW_SECONDS_INT.getDefaultValue()));
+
+		// The session planner replaces the max idle time when enabled
+		checkboxSessionPlanner.setSelected(Boolean.parseBoolean(globalConfig.getOrDefault(EnumConfigurationKey.EMULATOR_SESSION_PLANNER_BOOL.name(), EnumConfigurationKey.EMULATOR_SESSION_PLANNER_BOOL.getDefaultValue())));
+		textfieldMaxIdleTime.disableProperty().bind(checkboxSessionPlanner.selectedProperty());
+
+		// Adaptive slot count, bounded by min and max instances
+		checkboxAdaptiveInstances.setSelected(Boolean.parseBoolean(globalConfig.getOrDefault(EnumConfigurationKey.EMULATOR_SLOTS_ADAPTIVE_BOOL.name(), EnumConfigurationKey.EMULATOR_SLOTS_ADAPTIVE_BOOL.getDefaultValue())));
+		textfieldMinInstances.setText(globalConfig.getOrDefault(EnumConfigurationKey.EMULATOR_SLOTS_MIN_INT.name(), EnumConfigurationKey.EMULATOR_SLOTS_MIN_INT.getDefaultValue()));
+		textfieldMaxInstances.setText(globalConfig.getOrDefault(EnumConfigurationKey.EMULATOR_SLOTS_MAX_INT.name(), EnumConfigurationKey.EMULATOR_SLOTS_MAX_INT.getDefaultValue()));
+		textfieldMinInstances.disableProperty().bind(checkboxAdaptiveInstances.selectedProperty().not());
+		textfieldMaxInstances.disableProperty().bind(checkboxAdaptiveInstances.selectedProperty().not());
+		comboboxSlotPolicy.setItems(FXCollections.observableArrayList(EnumSlotPolicy.values()));
+		comboboxSlotPolicy.setValue(EnumSlotPolicy.fromConfig(globalConfig.get(EnumConfigurationKey.EMULATOR_SLOT_POLICY_STRING.name())));
+		showSlotLimitState(EmulatorManager.getInstance().getSlotLimitState());
+		EmulatorManager.getInstance().registrySlotLimitListener(state -> Platform.runLater(() -> showSlotLimitState(state)));
+
 		comboboxGameVersion.setItems(FXCollections.observableArrayList(GameVersion.values()));
 		String gameVersionName = globalConfig.getOrDefault(EnumConfigurationKey.GAME_VERSION_STRING.name(), GameVersion.GLOBAL.name());
 		comboboxGameVersion.setValue(GameVersion.valueOf(gameVersionName));
@@ -149,14 +194,22 @@ public class EmuConfigLayoutController {
 		// Initialize the idle behavior combobox
 		comboboxIdleBehavior.setItems(FXCollections.observableArrayList(IdleBehavior.values()));
 		boolean idleBehaviorSendToBackground = Boolean.parseBoolean(globalConfig.getOrDefault(EnumConfigurationKey.IDLE_BEHAVIOR_SEND_TO_BACKGROUND_BOOL.name(), "false"));
-		comboboxIdleBehavior.setValue(IdleBehavior.fromBoolean(idleBehaviorSendToBackground));
+		String idleBehaviorName = globalConfig.getOrDefault(EnumConfigurationKey.IDLE_BEHAVIOR_STRING.name(), "");
+		comboboxIdleBehavior.setValue(IdleBehavior.fromConfig(idleBehaviorName, idleBehaviorSendToBackground));
 		
-		// Add listener to show warning when "Close Game" is selected
+		// Add listener to show warning when a behavior that keeps emulators running is selected
 		comboboxIdleBehavior.setOnAction(event -> {
 			IdleBehavior selectedBehavior = comboboxIdleBehavior.getValue();
-			ServScheduler.getServices().saveEmulatorPath(EnumConfigurationKey.IDLE_BEHAVIOR_SEND_TO_BACKGROUND_BOOL.name(), selectedBehavior.shouldSendToBackground() ? "true" : "false");
-			if (selectedBehavior != null && selectedBehavior.shouldSendToBackground()) {
-				showConcurrentInstanceWarning();
+			if (selectedBehavior == null) {
+				return;
+			}
+			ServScheduler.getServices().saveEmulatorPath(EnumConfigurationKey.IDLE_BEHAVIOR_STRING.name(), selectedBehavior.name());
+			// Keep the legacy flag in sync, it is also the baseline the adaptive policy is compared to
+			if (selectedBehavior != IdleBehavior.ADAPTIVE) {
+				ServScheduler.getServices().saveEmulatorPath(EnumConfigurationKey.IDLE_BEHAVIOR_SEND_TO_BACKGROUND_BOOL.name(), selectedBehavior.shouldSendToBackground() ? "true" : "false");
+			}
+			if (selectedBehavior.keepsEmulatorRunning()) {
+				showConcurrentInstanceWarning(selectedBehavior);
 			}
 		});
 	}
@@ -189,6 +242,18 @@ public class EmuConfigLayoutController {
 			showError("Max idle time cannot be empty.");
 			return;
 		}
+		String coalescingWindow = textfieldCoalescingWindow.getText();
+		if (!coalescingWindow.matches("\\d+")) {
+			showError("Early run window must be a number of seconds, 0 to disable.");
+			return;
+		}
+		String minInstances = textfieldMinInstances.getText();
+		String maxAdaptiveInstances = textfieldMaxInstances.getText();
+		if (checkboxAdaptiveInstances.isSelected() && (!isPositiveNumber(minInstances) || !isPositiveNumber(maxAdaptiveInstances)
+				|| Integer.parseInt(minInstances) > Integer.parseInt(maxAdaptiveInstances))) {
+			showError("Adaptive instances need a min and max, with min not above max.");
+			return;
+		}
 		// Saves the configuration using the key defined in each enum value
 		for (EmulatorAux emulator : emulatorList) {
 			ServScheduler.getServices().saveEmulatorPath(emulator.getEmulatorType().getConfigKey(), emulator.getPath());
@@ -200,11 +265,39 @@ public class EmuConfigLayoutController {
 		}
 
 		ServScheduler.getServices().saveEmulatorPath(EnumConfigurationKey.MAX_IDLE_TIME_INT.name(), maxIdleTime);
+		ServScheduler.getServices().saveEmulatorPath(EnumConfigurationKey.EMULATOR_SESSION_PLANNER_BOOL.name(), String.valueOf(checkboxSessionPlanner.isSelected()));
+		ServScheduler.getServices().saveEmulatorPath(EnumConfigurationKey.TASK_COALESCING_WINDOW_SECONDS_INT.name(), coalescingWindow);
 		ServScheduler.getServices().saveEmulatorPath(EnumConfigurationKey.MAX_RUNNING_EMULATORS_INT.name(), maxInstances);
+		ServScheduler.getServices().saveEmulatorPath(EnumConfigurationKey.EMULATOR_SLOTS_ADAPTIVE_BOOL.name(), String.valueOf(checkboxAdaptiveInstances.isSelected()));
+		if (comboboxSlotPolicy.getValue() != null) {
+			ServScheduler.getServices().saveEmulatorPath(EnumConfigurationKey.EMULATOR_SLOT_POLICY_STRING.name(), comboboxSlotPolicy.getValue().name());
+		}
+		if (checkboxAdaptiveInstances.isSelected()) {
+			ServScheduler.getServices().saveEmulatorPath(EnumConfigurationKey.EMULATOR_SLOTS_MIN_INT.name(), minInstances);
+			ServScheduler.getServices().saveEmulatorPath(EnumConfigurationKey.EMULATOR_SLOTS_MAX_INT.name(), maxAdaptiveInstances);
+		}
 		ServScheduler.getServices().saveEmulatorPath(EnumConfigurationKey.CURRENT_EMULATOR_STRING.name(), activeEmulatorName);
 			showInfo("Config saved successfully");
 	}
 
+	private void showSlotLimitState(DTOSlotLimitState state) {
+		if (state == null) {
+			labelSlotLimitStatus.setText("Instance limit: not started");
+			return;
+		}
+		labelSlotLimitStatus.setText(String.format("Instance limit: %d (%s) at %s - CPU %.0f%%, memory %.0f%%, capture %d ms, input %d ms",
+				state.getSlotLimit(), state.getDecision(), state.getTimestamp().format(DateTimeFormatter.ofPattern("HH:mm:ss")),
+				state.getCpuLoad() * 100, state.getMemoryPressure() * 100, state.getCaptureLatencyMs(), state.getInputLatencyMs()));
+	}
+
+	private static boolean isPositiveNumber(String text) {
+		try {
+			return Integer.parseInt(text) > 0;
+		} catch (NumberFormatException e) {
+			return false;
+		}
+	}
+
 	private File openFileChooser(String title) {
 		fileChooser.setTitle(title);
 		fileChooser.getExtensionFilters().clear();
@@ -212,7 +305,7 @@ public class EmuConfigLayoutController {
 		return fileChooser.showOpenDialog(null);
 	}
 
-	private void showConcurrentInstanceWarning() {
+	private void showConcurrentInstanceWarning(IdleBehavior behavior) {
 		// Get current max concurrent instances value
 		String maxInstancesText = textfieldMaxConcurrentInstances.getText();
 		int maxInstances = 1;
@@ -224,9 +317,9 @@ public class EmuConfigLayoutController {
 		
 		Alert alert = new Alert(Alert.AlertType.WARNING);
 		alert.setTitle("Important: Concurrent Instance Requirement");
-		alert.setHeaderText("Close Game Option Selected");
+		alert.setHeaderText(behavior.getDisplayName() + " Option Selected");
 		alert.setContentText(
-			"You have selected 'Close Game' behavior which keeps emulators running during idle periods.\n\n" +
+			"You have selected '" + behavior.getDisplayName() + "' behavior which keeps emulators running during idle periods.\n\n" +
 			"IMPORTANT: Make sure you have enough concurrent emulator instances (" + maxInstances + ") " +
 			"to handle all your active profiles simultaneously. If you have more profiles than concurrent " +
 			"instances, some profiles won't be able to run.\n\n" +
@@ -3,6 +3,7 @@ package cl.camodev.wosbot.taskmanager.model;
 import java.time.LocalDateTime;
 
 import cl.camodev.wosbot.console.enumerable.TpDailyTaskEnum;
+import cl.camodev.wosbot.ot.DTOTaskRuntimeStats;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.LongProperty;
 import javafx.beans.property.ObjectProperty;
@@ -23,6 +24,7 @@ public class TaskManagerAux {
 	private final BooleanProperty hasReadyTask;
 	private final BooleanProperty scheduled;
 	private final BooleanProperty executing;
+	private final ObjectProperty<DTOTaskRuntimeStats> runtimeStats = new SimpleObjectProperty<>();
 
 	// —————————————————————
 	// CONSTRUCTOR
@@ -148,4 +150,16 @@ public class TaskManagerAux {
 		executing.set(v);
 	}
 
+	public DTOTaskRuntimeStats getRuntimeStats() {
+		return runtimeStats.get();
+	}
+
+	public ObjectProperty<DTOTaskRuntimeStats> runtimeStatsProperty() {
+		return runtimeStats;
+	}
+
+	public void setRuntimeStats(DTOTaskRuntimeStats v) {
+		runtimeStats.set(v);
+	}
+
 }
@@ -4,10 +4,12 @@ import cl.camodev.utiles.UtilTime;
 import cl.camodev.wosbot.console.enumerable.TpDailyTaskEnum;
 import cl.camodev.wosbot.ot.DTODailyTaskStatus;
 import cl.camodev.wosbot.ot.DTOProfiles;
+import cl.camodev.wosbot.ot.DTOTaskRuntimeStats;
 import cl.camodev.wosbot.ot.DTOTaskState;
 import cl.camodev.wosbot.serv.IProfileDataChangeListener;
 import cl.camodev.wosbot.serv.impl.ServProfiles;
 import cl.camodev.wosbot.serv.impl.ServScheduler;
+import cl.camodev.wosbot.serv.impl.ServTaskRuntimeStats;
 import cl.camodev.wosbot.serv.task.TaskQueue;
 import cl.camodev.wosbot.taskmanager.controller.TaskManagerActionController;
 import cl.camodev.wosbot.taskmanager.model.TaskManagerAux;
@@ -316,6 +318,8 @@ public class TaskManagerLayoutController implements IProfileDataChangeListener {
 	private void buildTaskManagerList(DTOProfiles profile, Consumer<List<TaskManagerAux>> onListReady) {
 		// Now `statuses` is a List<DTODailyTaskStatus>
 		taskManagerActionController.loadDailyTaskStatus(profile.getId(), (List<DTODailyTaskStatus> statuses) -> {
+			Map<Integer, DTOTaskRuntimeStats> runtimeStats = ServTaskRuntimeStats.getServices().getStats(profile.getId())
+					.stream().collect(Collectors.toMap(DTOTaskRuntimeStats::getTaskId, stats -> stats));
 			List<TaskManagerAux> list = Arrays.stream(TpDailyTaskEnum.values()).map(task -> {
 				// Search for the status whose ID matches the task ID
 //				System.out.println(">>> statuses.size=" + statuses.size() + "  searching for id=" + task.getId());
@@ -324,7 +328,9 @@ public class TaskManagerLayoutController implements IProfileDataChangeListener {
 						.findFirst().orElse(null);
 
 				if (s == null) {
-					return new TaskManagerAux(task.getName(), null, null, task, profile.getId(), Long.MAX_VALUE, false, false, false);
+					TaskManagerAux aux = new TaskManagerAux(task.getName(), null, null, task, profile.getId(), Long.MAX_VALUE, false, false, false);
+					aux.setRuntimeStats(runtimeStats.get(task.getId()));
+					return aux;
 				}
 
 				long diffInSeconds = Long.MAX_VALUE;
@@ -339,7 +345,9 @@ public class TaskManagerLayoutController implements IProfileDataChangeListener {
 
 				boolean scheduled = Optional.ofNullable(ServScheduler.getServices().getQueueManager().getQueue(profile.getId())).map(q -> q.isTaskScheduled(task)).orElse(false);
 
-				return new TaskManagerAux(task.getName(), s.getLastExecution(), s.getNextSchedule(), task, profile.getId(), diffInSeconds, ready, scheduled, false);
+				TaskManagerAux aux = new TaskManagerAux(task.getName(), s.getLastExecution(), s.getNextSchedule(), task, profile.getId(), diffInSeconds, ready, scheduled, false);
+				aux.setRuntimeStats(runtimeStats.get(task.getId()));
+				return aux;
 			}).sorted((a, b) -> {
 				if (a.isScheduled() && !b.isScheduled())
 					return -1;
@@ -505,6 +513,40 @@ public class TaskManagerLayoutController implements IProfileDataChangeListener {
 			}
 		});
 
+		// Runtime statistics columns
+		TableColumn<TaskManagerAux, String> colRuntime = new TableColumn<>("Runtime p50 / p95");
+		colRuntime.setPrefWidth(140);
+		colRuntime.setCellValueFactory(cellData -> Bindings.createStringBinding(() -> {
+			DTOTaskRuntimeStats stats = cellData.getValue().getRuntimeStats();
+			if (stats == null) {
+				return "--";
+			}
+			return formatRuntime(stats.getP50Ms()) + " / " + formatRuntime(stats.getP95Ms());
+		}, cellData.getValue().runtimeStatsProperty()));
+		colRuntime.setCellFactory(column -> createStatsCell());
+
+		TableColumn<TaskManagerAux, String> colSuccess = new TableColumn<>("Success");
+		colSuccess.setPrefWidth(100);
+		colSuccess.setCellValueFactory(cellData -> Bindings.createStringBinding(() -> {
+			DTOTaskRuntimeStats stats = cellData.getValue().getRuntimeStats();
+			if (stats == null) {
+				return "--";
+			}
+			return String.format("%.0f%% of %d", stats.getSuccessRate() * 100, stats.getRuns());
+		}, cellData.getValue().runtimeStatsProperty()));
+		colSuccess.setCellFactory(column -> createStatsCell());
+
+		TableColumn<TaskManagerAux, String> colCaptures = new TableColumn<>("Captures / OCR per run");
+		colCaptures.setPrefWidth(160);
+		colCaptures.setCellValueFactory(cellData -> Bindings.createStringBinding(() -> {
+			DTOTaskRuntimeStats stats = cellData.getValue().getRuntimeStats();
+			if (stats == null) {
+				return "--";
+			}
+			return String.format("%.1f / %.1f", stats.getCapturesPerRun(), stats.getOcrReadsPerRun());
+		}, cellData.getValue().runtimeStatsProperty()));
+		colCaptures.setCellFactory(column -> createStatsCell());
+
 		TableColumn<TaskManagerAux, Void> colActions = new TableColumn<>("Actions");
 		colActions.setPrefWidth(250); // Increase width to accommodate the third button
 		colActions.setCellFactory(column -> new TableCell<>() {
@@ -621,12 +663,39 @@ public class TaskManagerLayoutController implements IProfileDataChangeListener {
 		table.getColumns().add(colTaskName);
 		table.getColumns().add(colLastExecution);
 		table.getColumns().add(colNextExecution);
+		table.getColumns().add(colRuntime);
+		table.getColumns().add(colSuccess);
+		table.getColumns().add(colCaptures);
 		table.getColumns().add(colActions);
 		table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_FLEX_LAST_COLUMN);
 
 		return table;
 	}
 
+	private TableCell<TaskManagerAux, String> createStatsCell() {
+		return new TableCell<>() {
+			@Override
+			protected void updateItem(String item, boolean empty) {
+				super.updateItem(item, empty);
+				if (empty || item == null) {
+					setText(null);
+					setStyle("");
+				} else {
+					setText(item);
+					setStyle("-fx-text-fill: white; -fx-font-size: 14px;");
+				}
+			}
+		};
+	}
+
+	private static String formatRuntime(long millis) {
+		long seconds = Math.round(millis / 1000d);
+		if (seconds < 60) {
+			return seconds + "s";
+		}
+		return (seconds / 60) + "m " + (seconds % 60) + "s";
+	}
+
     public void updateTabOrder () {
         profileTabsMap.forEach((profileId, tab) -> {
             if (ServScheduler.getServices().getQueueManager().getQueue(profileId) != null) {
@@ -697,6 +766,9 @@ public class TaskManagerLayoutController implements IProfileDataChangeListener {
             taskAux.setNextExecution(taskState.getNextExecutionTime());
             taskAux.setScheduled(taskState.isScheduled());
             taskAux.setExecuting(taskState.isExecuting());
+            if (!taskState.isExecuting()) {
+                taskAux.setRuntimeStats(ServTaskRuntimeStats.getServices().getStats(profileId, taskAux.getTaskEnum()));
+            }
             taskAux.setHasReadyTask(taskState.getNextExecutionTime() != null && ChronoUnit.SECONDS.between(LocalDateTime.now(), taskState.getNextExecutionTime()) <= 0);
             taskAux.setNearestMinutesUntilExecution(taskState.getNextExecutionTime() != null ? ChronoUnit.SECONDS.between(LocalDateTime.now(), taskState.getNextExecutionTime()) : Long.MAX_VALUE);
 
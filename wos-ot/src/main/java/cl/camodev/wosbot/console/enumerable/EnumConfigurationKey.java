@@ -18,8 +18,20 @@ public enum EnumConfigurationKey {
 	BOOL_DEBUG("false", Boolean.class),
 	GAME_VERSION_STRING("GLOBAL", String.class),
 	MAX_RUNNING_EMULATORS_INT("1", Integer.class),
+	EMULATOR_SLOTS_ADAPTIVE_BOOL("false", Boolean.class),
+	EMULATOR_SLOTS_MIN_INT("1", Integer.class),
+	EMULATOR_SLOTS_MAX_INT("4", Integer.class),
 	MAX_IDLE_TIME_INT("1", Integer.class),
+	TASK_COALESCING_WINDOW_SECONDS_INT("120", Integer.class),
 	IDLE_BEHAVIOR_SEND_TO_BACKGROUND_BOOL("false", Boolean.class),
+	IDLE_BEHAVIOR_STRING("", String.class),
+	EMULATOR_PRELAUNCH_MAX_INT("0", Integer.class),
+	EMULATOR_PRELAUNCH_LEAD_SECONDS_INT("180", Integer.class),
+	EMULATOR_PRELAUNCH_MIN_FREE_MEMORY_MB_INT("4096", Integer.class),
+	EMULATOR_RESERVATION_LEAD_SECONDS_INT("120", Integer.class),
+	EMULATOR_SLOT_POLICY_STRING("PRIORITY", String.class),
+	EMULATOR_SESSION_PLANNER_BOOL("false", Boolean.class),
+	EMULATOR_SESSION_TRACE_BOOL("false", Boolean.class),
 	MUMU_PATH_STRING("", String.class),
 	MEMU_PATH_STRING("", String.class),
 	LDPLAYER_PATH_STRING("", String.class),
@@ -0,0 +1,41 @@
+package cl.camodev.wosbot.console.enumerable;
+
+/**
+ * Order in which profiles waiting for an emulator slot are served.
+ */
+public enum EnumSlotPolicy {
+    PRIORITY("Priority"),
+    PRIORITY_AGING("Priority With Aging"),
+    EARLIEST_DEADLINE("Earliest Deadline"),
+    FAIR_SHARE("Weighted Fair Share");
+
+    private final String displayName;
+
+    EnumSlotPolicy(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+
+    /**
+     * @param name value of {@link EnumConfigurationKey#EMULATOR_SLOT_POLICY_STRING}
+     * @return configured policy, {@link #PRIORITY} if unset or unknown
+     */
+    public static EnumSlotPolicy fromConfig(String name) {
+        if (name != null && !name.isBlank()) {
+            try {
+                return valueOf(name);
+            } catch (IllegalArgumentException ignored) {
+                // Unknown value, keep the default order
+            }
+        }
+        return PRIORITY;
+    }
+}
@@ -0,0 +1,20 @@
+package cl.camodev.wosbot.console.enumerable;
+
+/**
+ * Priority class of a task type. When several tasks of a profile are due at the
+ * same time, the task of the first class runs first; within a class tasks run in
+ * order of their due time.
+ */
+public enum EnumTaskPriorityClass {
+    STARTUP,
+    TIME_CRITICAL,
+    HIGH,
+    NORMAL;
+
+    /**
+     * @return true if tasks of this class run before tasks of the other class
+     */
+    public boolean precedes(EnumTaskPriorityClass other) {
+        return ordinal() < other.ordinal();
+    }
+}
@@ -2,7 +2,9 @@ package cl.camodev.wosbot.console.enumerable;
 
 public enum IdleBehavior {
     CLOSE_EMULATOR("Close Emulator", false),
-    SEND_TO_BACKGROUND("Close Game", true);
+    SEND_TO_BACKGROUND("Close Game", true),
+    KEEP_WARM("Keep Game Running", false),
+    ADAPTIVE("Adaptive", false);
 
     private final String displayName;
     private final boolean sendToBackground;
@@ -20,6 +22,13 @@ public enum IdleBehavior {
         return sendToBackground;
     }
 
+    /**
+     * @return true if the behavior keeps the emulator, and its slot, while idling
+     */
+    public boolean keepsEmulatorRunning() {
+        return this == SEND_TO_BACKGROUND || this == KEEP_WARM;
+    }
+
     @Override
     public String toString() {
         return displayName;
@@ -28,4 +37,23 @@ public enum IdleBehavior {
     public static IdleBehavior fromBoolean(boolean sendToBackground) {
         return sendToBackground ? SEND_TO_BACKGROUND : CLOSE_EMULATOR;
     }
+
+    /**
+     * Resolves the configured behavior, falling back to the legacy boolean setting
+     * when no behavior name is stored.
+     *
+     * @param name             value of {@link EnumConfigurationKey#IDLE_BEHAVIOR_STRING}
+     * @param sendToBackground value of {@link EnumConfigurationKey#IDLE_BEHAVIOR_SEND_TO_BACKGROUND_BOOL}
+     * @return configured behavior
+     */
+    public static IdleBehavior fromConfig(String name, boolean sendToBackground) {
+        if (name != null && !name.isBlank()) {
+            try {
+                return valueOf(name);
+            } catch (IllegalArgumentException ignored) {
+                // Unknown value, use the legacy setting
+            }
+        }
+        return fromBoolean(sendToBackground);
+    }
 }
@@ -1,5 +1,7 @@
 package cl.camodev.wosbot.console.enumerable;
 
+import java.time.Duration;
+
 public enum TpDailyTaskEnum {
 	// Daily task enumeration
 	//@formatter:off
@@ -7,19 +9,19 @@ public enum TpDailyTaskEnum {
 	NOMADIC_MERCHANT(2, "Nomadic Merchant",       	EnumConfigurationKey.BOOL_NOMADIC_MERCHANT),
 	WAR_ACADEMY_TASK_BOOL(3, "War Academy Shards",  	EnumConfigurationKey.WAR_ACADEMY_TASK_BOOL),
 	CRYSTAL_LABORATORY(4, "Crystal Laboratory",  	EnumConfigurationKey.BOOL_CRYSTAL_LAB_FC),
-	VIP_POINTS(5, "VIP Points",                   	EnumConfigurationKey.BOOL_VIP_POINTS),
+	VIP_POINTS(5, "VIP Points",                   	EnumConfigurationKey.BOOL_VIP_POINTS, true),
 	PET_ADVENTURE(6, "Pet Adventure",             	EnumConfigurationKey.PET_PERSONAL_TREASURE_BOOL),
-	EXPLORATION_CHEST(7, "Exploration Chest",       EnumConfigurationKey.BOOL_EXPLORATION_CHEST),
+	EXPLORATION_CHEST(7, "Exploration Chest",       EnumConfigurationKey.BOOL_EXPLORATION_CHEST, true),
 	TREK_SUPPLIES(8, "Trek Supplies",            	EnumConfigurationKey.TUNDRA_TREK_SUPPLIES_BOOL),
-	LIFE_ESSENCE(9, "Life Essence",                	EnumConfigurationKey.LIFE_ESSENCE_BOOL),
+	LIFE_ESSENCE(9, "Life Essence",                	EnumConfigurationKey.LIFE_ESSENCE_BOOL, true),
 	LIFE_ESSENCE_CARING(10, "Life Essence Caring",  EnumConfigurationKey.ALLIANCE_LIFE_ESSENCE_BOOL),
 	LABYRINTH(11, "Labyrinth",                   	EnumConfigurationKey.DAILY_LABYRINTH_BOOL),
 	TREK_AUTOMATION(12, "Tundra Trek Automation",  EnumConfigurationKey.TUNDRA_TREK_AUTOMATION_BOOL),
 	BANK(14, "Bank",                              EnumConfigurationKey.BOOL_BANK),
-	ARENA(15, "Arena",                             EnumConfigurationKey.ARENA_TASK_BOOL),
+	ARENA(15, "Arena",                             EnumConfigurationKey.ARENA_TASK_BOOL, EnumTaskPriorityClass.HIGH),
 
-	MAIL_REWARDS(30, "Mail Rewards",               	EnumConfigurationKey.MAIL_REWARDS_BOOL),
-	DAILY_MISSIONS(31, "Daily Missions",           	EnumConfigurationKey.DAILY_MISSION_BOOL),
+	MAIL_REWARDS(30, "Mail Rewards",               	EnumConfigurationKey.MAIL_REWARDS_BOOL, true),
+	DAILY_MISSIONS(31, "Daily Missions",           	EnumConfigurationKey.DAILY_MISSION_BOOL, true),
 	STOREHOUSE_CHEST(32, "Storehouse Chest",       	EnumConfigurationKey.STOREHOUSE_CHEST_BOOL),
 	INTEL(33, "Intel",                             	EnumConfigurationKey.INTEL_BOOL),
 	EXPERT_AGNES_INTEL(34, "Expert Agnes Intel", 	EnumConfigurationKey.EXPERT_AGNES_INTEL_BOOL),
@@ -28,14 +30,14 @@ public enum TpDailyTaskEnum {
 	EXPERT_SKILL_TRAINING(37, "Expert Skill Training", EnumConfigurationKey.EXPERT_SKILL_TRAINING_ENABLED_BOOL),
 
 	ALLIANCE_AUTOJOIN(40, "Alliance Autojoin",     	EnumConfigurationKey.ALLIANCE_AUTOJOIN_BOOL),
-	ALLIANCE_TECH(42, "Alliance Tech",             	EnumConfigurationKey.ALLIANCE_TECH_BOOL),
+	ALLIANCE_TECH(42, "Alliance Tech",             	EnumConfigurationKey.ALLIANCE_TECH_BOOL, true),
 	ALLIANCE_PET_TREASURE(43, "Alliance Pet Treasure", EnumConfigurationKey.ALLIANCE_PET_TREASURE_BOOL),
-	ALLIANCE_CHESTS(44, "Alliance Chests",         EnumConfigurationKey.ALLIANCE_CHESTS_BOOL),
-	ALLIANCE_TRIUMPH(45, "Alliance Triumph",       EnumConfigurationKey.ALLIANCE_TRIUMPH_BOOL),
+	ALLIANCE_CHESTS(44, "Alliance Chests",         EnumConfigurationKey.ALLIANCE_CHESTS_BOOL, true),
+	ALLIANCE_TRIUMPH(45, "Alliance Triumph",       EnumConfigurationKey.ALLIANCE_TRIUMPH_BOOL, true),
 	ALLIANCE_MOBILIZATION(46, "Alliance Mobilization", EnumConfigurationKey.ALLIANCE_MOBILIZATION_BOOL),
     ALLIANCE_SHOP(47, "Alliance Shop",             	null),
     ALLIANCE_CHAMPIONSHIP(49, "Alliance Championship", EnumConfigurationKey.ALLIANCE_CHAMPIONSHIP_BOOL),
-    BEAR_TRAP(48, "Bear Trap Event",          EnumConfigurationKey.BEAR_TRAP_EVENT_BOOL),
+    BEAR_TRAP(48, "Bear Trap Event",          EnumConfigurationKey.BEAR_TRAP_EVENT_BOOL, EnumTaskPriorityClass.TIME_CRITICAL),
 
 	PET_SKILLS(51, "Pet Skills",     EnumConfigurationKey.PET_SKILLS_BOOL),
 
@@ -43,18 +45,18 @@ public enum TpDailyTaskEnum {
 
 
 	CITY_UPGRADE_FURNACE(70, "City Upgrade Furnace", EnumConfigurationKey.CITY_UPGRADE_FURNACE_BOOL),
-	CITY_SURVIVORS(71, "City Survivors", EnumConfigurationKey.CITY_ACCEPT_NEW_SURVIVORS_BOOL),
+	CITY_SURVIVORS(71, "City Survivors", EnumConfigurationKey.CITY_ACCEPT_NEW_SURVIVORS_BOOL, true),
 
-	SHOP_MYSTERY(80, "Shop Mystery",              EnumConfigurationKey.BOOL_MYSTERY_SHOP),
+	SHOP_MYSTERY(80, "Shop Mystery",              EnumConfigurationKey.BOOL_MYSTERY_SHOP, true),
 
 	CHIEF_ORDER_RUSH_JOB(300, "Chief Order: Rush Job", EnumConfigurationKey.BOOL_CHIEF_ORDER_RUSH_JOB),
 	CHIEF_ORDER_URGENT_MOBILIZATION(301, "Chief Order: Urgent Mobilization", EnumConfigurationKey.BOOL_CHIEF_ORDER_URGENT_MOBILISATION),
 	CHIEF_ORDER_PRODUCTIVITY_DAY(302, "Chief Order: Productivity Day", EnumConfigurationKey.BOOL_CHIEF_ORDER_PRODUCTIVITY_DAY),
 
-	INITIALIZE(100, "Initialize",                  null),
+	INITIALIZE(100, "Initialize",                  null, EnumTaskPriorityClass.STARTUP),
 
 	GATHER_BOOST(101, "Gather Speed Boost",       EnumConfigurationKey.GATHER_SPEED_BOOL),
-	GATHER_RESOURCES(102, "Gather Resources",               EnumConfigurationKey.GATHER_TASK_BOOL),
+	GATHER_RESOURCES(102, "Gather Resources",               EnumConfigurationKey.GATHER_TASK_BOOL, true),
 
 	EVENT_TUNDRA_TRUCK(200, "Tundra Truck Event",    EnumConfigurationKey.TUNDRA_TRUCK_EVENT_BOOL),
 	EVENT_HERO_MISSION(201, "Hero Mission Event",    EnumConfigurationKey.HERO_MISSION_EVENT_BOOL),
@@ -67,11 +69,28 @@ public enum TpDailyTaskEnum {
     private final int id;
     private final String name;
     private final EnumConfigurationKey configKey;
+    private final EnumTaskPriorityClass priorityClass;
+    private final boolean earlyRunSafe;
 
     TpDailyTaskEnum(int id, String name, EnumConfigurationKey configKey) {
+        this(id, name, configKey, EnumTaskPriorityClass.NORMAL, false);
+    }
+
+    TpDailyTaskEnum(int id, String name, EnumConfigurationKey configKey, boolean earlyRunSafe) {
+        this(id, name, configKey, EnumTaskPriorityClass.NORMAL, earlyRunSafe);
+    }
+
+    TpDailyTaskEnum(int id, String name, EnumConfigurationKey configKey, EnumTaskPriorityClass priorityClass) {
+        this(id, name, configKey, priorityClass, false);
+    }
+
+    TpDailyTaskEnum(int id, String name, EnumConfigurationKey configKey, EnumTaskPriorityClass priorityClass,
+            boolean earlyRunSafe) {
         this.id = id;
         this.name = name;
         this.configKey = configKey;
+        this.priorityClass = priorityClass;
+        this.earlyRunSafe = earlyRunSafe;
     }
 
     public static TpDailyTaskEnum fromId(int id) {
@@ -95,4 +114,34 @@ public enum TpDailyTaskEnum {
     public EnumConfigurationKey getConfigKey() {
         return configKey;
     }
+
+    /** Order among tasks of the same profile that are due together */
+    public EnumTaskPriorityClass getPriorityClass() {
+        return priorityClass;
+    }
+
+    /**
+     * Tasks that collect or check something which accumulates can run a few minutes
+     * before their due time without losing anything, so a running session may pull
+     * them in instead of idling until they are due.
+     */
+    public boolean isEarlyRunSafe() {
+        return earlyRunSafe;
+    }
+
+    /**
+     * Longest a run of the task may keep the emulator before it is stopped at its
+     * next sleep, capture or input. Tasks that wait on something in the game, or walk
+     * through long flows, get more time than the quick collection tasks.
+     */
+    public Duration getExecutionBudget() {
+        return switch (this) {
+            case INITIALIZE -> Duration.ofMinutes(10);
+            case TREK_AUTOMATION -> Duration.ofMinutes(60);
+            case BEAR_TRAP -> Duration.ofMinutes(45);
+            case ALLIANCE_MOBILIZATION, ALLIANCE_CHAMPIONSHIP, TRAINING_TROOPS, LABYRINTH, EVENT_TUNDRA_TRUCK,
+                    EVENT_POLAR_TERROR, EVENT_JOURNEY_OF_LIGHT, GATHER_RESOURCES, INTEL -> Duration.ofMinutes(30);
+            default -> Duration.ofMinutes(15);
+        };
+    }
 }
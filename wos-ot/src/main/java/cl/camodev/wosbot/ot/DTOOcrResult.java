@@ -0,0 +1,73 @@
+package cl.camodev.wosbot.ot;
+
+/**
+ * Result of an OCR call: the recognised text together with the engine confidence.
+ * <p>
+ * Confidences are in the 0-100 range reported by Tesseract. A value of
+ * {@link #UNKNOWN_CONFIDENCE} means the source did not report any confidence.
+ * Per-character confidences follow the recognised symbols in reading order and
+ * do not include whitespace.
+ */
+public class DTOOcrResult {
+
+	public static final float UNKNOWN_CONFIDENCE = -1f;
+
+	private static final float[] NO_CHAR_CONFIDENCES = new float[0];
+
+	private final String text;
+	private final float meanConfidence;
+	private final float[] charConfidences;
+
+	public DTOOcrResult(String text, float meanConfidence, float[] charConfidences) {
+		this.text = text;
+		this.meanConfidence = meanConfidence;
+		this.charConfidences = charConfidences != null ? charConfidences : NO_CHAR_CONFIDENCES;
+	}
+
+	/**
+	 * Creates a result for a source that does not report confidence.
+	 */
+	public DTOOcrResult(String text) {
+		this(text, UNKNOWN_CONFIDENCE, null);
+	}
+
+	public String getText() {
+		return text;
+	}
+
+	public float getMeanConfidence() {
+		return meanConfidence;
+	}
+
+	/**
+	 * @return a copy of the per-character confidences, empty if not available
+	 */
+	public float[] getCharConfidences() {
+		return charConfidences.clone();
+	}
+
+	/**
+	 * @return the lowest per-character confidence, or the mean confidence if no
+	 *         per-character values are available
+	 */
+	public float getMinCharConfidence() {
+		if (charConfidences.length == 0) {
+			return meanConfidence;
+		}
+		float min = Float.MAX_VALUE;
+		for (float confidence : charConfidences) {
+			min = Math.min(min, confidence);
+		}
+		return min;
+	}
+
+	public boolean hasConfidence() {
+		return meanConfidence >= 0;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("DTOOcrResult [text=%s, meanConfidence=%.1f, chars=%d]", text, meanConfidence,
+				charConfidences.length);
+	}
+}
@@ -0,0 +1,46 @@
+package cl.camodev.wosbot.ot;
+
+/**
+ * Outcome of waiting for the screen to react after an input.
+ */
+public class DTOScreenAwaitResult {
+	private final boolean satisfied;
+	private final long elapsedMs;
+	private final int framesCaptured;
+	private final double lastChangeRatio;
+
+	public DTOScreenAwaitResult(boolean satisfied, long elapsedMs, int framesCaptured, double lastChangeRatio) {
+		this.satisfied = satisfied;
+		this.elapsedMs = elapsedMs;
+		this.framesCaptured = framesCaptured;
+		this.lastChangeRatio = lastChangeRatio;
+	}
+
+	/**
+	 * @return true if the awaited condition was met before the timeout
+	 */
+	public boolean isSatisfied() {
+		return satisfied;
+	}
+
+	/**
+	 * @return time between the input and the end of the wait
+	 */
+	public long getElapsedMs() {
+		return elapsedMs;
+	}
+
+	public int getFramesCaptured() {
+		return framesCaptured;
+	}
+
+	public double getLastChangeRatio() {
+		return lastChangeRatio;
+	}
+
+	@Override
+	public String toString() {
+		return "DTOScreenAwaitResult [satisfied=" + satisfied + ", elapsedMs=" + elapsedMs + ", framesCaptured="
+				+ framesCaptured + ", lastChangeRatio=" + String.format("%.3f", lastChangeRatio) + "]";
+	}
+}
@@ -0,0 +1,147 @@
+package cl.camodev.wosbot.ot;
+
+/**
+ * DTO describing how to wait for the screen to react after an input.
+ * Uses builder pattern for flexible configuration.
+ * <p>
+ * The screen is polled with cheap frame diffs of {@code area} (or the whole
+ * screen when no area is set) until the {@link Condition} is met. The wait
+ * never ends before {@code minWaitMs} and gives up after {@code timeoutMs}.
+ */
+public class DTOScreenAwaitSettings {
+
+	/**
+	 * What the wait is looking for
+	 */
+	public enum Condition {
+		CHANGE,                         // Return as soon as the region differs from the frame before the input
+		SETTLE                          // Wait for a change, then for the region to stop changing (animations done)
+	}
+
+	public static final DTOScreenAwaitSettings DEFAULT = builder().build();
+
+	private final Condition condition;
+	private final DTOArea area;
+	private final long minWaitMs;
+	private final long timeoutMs;
+	private final long pollIntervalMs;
+	private final double changeThreshold;
+	private final int stableFrames;
+
+	private DTOScreenAwaitSettings(Builder builder) {
+		this.condition = builder.condition;
+		this.area = builder.area;
+		this.minWaitMs = builder.minWaitMs;
+		this.timeoutMs = builder.timeoutMs;
+		this.pollIntervalMs = builder.pollIntervalMs;
+		this.changeThreshold = builder.changeThreshold;
+		this.stableFrames = builder.stableFrames;
+	}
+
+	public Condition getCondition() {
+		return condition;
+	}
+
+	public DTOArea getArea() {
+		return area;
+	}
+
+	public boolean hasArea() {
+		return area != null;
+	}
+
+	public long getMinWaitMs() {
+		return minWaitMs;
+	}
+
+	public long getTimeoutMs() {
+		return timeoutMs;
+	}
+
+	public long getPollIntervalMs() {
+		return pollIntervalMs;
+	}
+
+	public double getChangeThreshold() {
+		return changeThreshold;
+	}
+
+	public int getStableFrames() {
+		return stableFrames;
+	}
+
+	@Override
+	public String toString() {
+		return "DTOScreenAwaitSettings [condition=" + condition + ", area=" + area + ", minWaitMs=" + minWaitMs
+				+ ", timeoutMs=" + timeoutMs + ", pollIntervalMs=" + pollIntervalMs + ", changeThreshold="
+				+ changeThreshold + ", stableFrames=" + stableFrames + "]";
+	}
+
+	/**
+	 * Waits for the whole screen to change and settle, for at most {@code timeoutMs}.
+	 */
+	public static DTOScreenAwaitSettings settle(long timeoutMs) {
+		return builder().setCondition(Condition.SETTLE).setTimeoutMs(timeoutMs).build();
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	public static class Builder {
+		private Condition condition = Condition.CHANGE;
+		private DTOArea area;
+		private long minWaitMs = 100;
+		private long timeoutMs = 3000;
+		private long pollIntervalMs = 0; // Capturing a frame already takes tens of ms
+		private double changeThreshold = 0.02; // 2% of sampled pixels
+		private int stableFrames = 2;
+
+		public Builder setCondition(Condition condition) {
+			this.condition = condition;
+			return this;
+		}
+
+		public Builder setArea(DTOArea area) {
+			this.area = area;
+			return this;
+		}
+
+		public Builder setArea(DTOPoint topLeft, DTOPoint bottomRight) {
+			this.area = new DTOArea(topLeft, bottomRight);
+			return this;
+		}
+
+		public Builder setMinWaitMs(long minWaitMs) {
+			this.minWaitMs = minWaitMs;
+			return this;
+		}
+
+		public Builder setTimeoutMs(long timeoutMs) {
+			this.timeoutMs = timeoutMs;
+			return this;
+		}
+
+		public Builder setPollIntervalMs(long pollIntervalMs) {
+			this.pollIntervalMs = pollIntervalMs;
+			return this;
+		}
+
+		public Builder setChangeThreshold(double changeThreshold) {
+			this.changeThreshold = changeThreshold;
+			return this;
+		}
+
+		public Builder setStableFrames(int stableFrames) {
+			this.stableFrames = stableFrames;
+			return this;
+		}
+
+		public DTOScreenAwaitSettings build() {
+			if (minWaitMs > timeoutMs) {
+				throw new IllegalArgumentException("minWaitMs must not exceed timeoutMs");
+			}
+			return new DTOScreenAwaitSettings(this);
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package cl.camodev.wosbot.ot;
+
+import java.time.LocalDateTime;
+
+/**
+ * Snapshot of the emulator slot limit and the host load it was decided from.
+ */
+public class DTOSlotLimitState {
+
+	private final int slotLimit;
+	private final int minSlots;
+	private final int maxSlots;
+	private final boolean adaptive;
+	private final double cpuLoad;
+	private final double memoryPressure;
+	private final long captureLatencyMs;
+	private final long inputLatencyMs;
+	private final String decision;
+	private final LocalDateTime timestamp;
+
+	public DTOSlotLimitState(int slotLimit, int minSlots, int maxSlots, boolean adaptive, double cpuLoad,
+			double memoryPressure, long captureLatencyMs, long inputLatencyMs, String decision) {
+		this.slotLimit = slotLimit;
+		this.minSlots = minSlots;
+		this.maxSlots = maxSlots;
+		this.adaptive = adaptive;
+		this.cpuLoad = cpuLoad;
+		this.memoryPressure = memoryPressure;
+		this.captureLatencyMs = captureLatencyMs;
+		this.inputLatencyMs = inputLatencyMs;
+		this.decision = decision;
+		this.timestamp = LocalDateTime.now();
+	}
+
+	public int getSlotLimit() {
+		return slotLimit;
+	}
+
+	public int getMinSlots() {
+		return minSlots;
+	}
+
+	public int getMaxSlots() {
+		return maxSlots;
+	}
+
+	public boolean isAdaptive() {
+		return adaptive;
+	}
+
+	public double getCpuLoad() {
+		return cpuLoad;
+	}
+
+	public double getMemoryPressure() {
+		return memoryPressure;
+	}
+
+	public long getCaptureLatencyMs() {
+		return captureLatencyMs;
+	}
+
+	public long getInputLatencyMs() {
+		return inputLatencyMs;
+	}
+
+	public String getDecision() {
+		return decision;
+	}
+
+	public LocalDateTime getTimestamp() {
+		return timestamp;
+	}
+}
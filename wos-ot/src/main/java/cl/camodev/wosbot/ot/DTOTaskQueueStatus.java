@@ -10,8 +10,8 @@ public class DTOTaskQueueStatus {
     private volatile boolean readyToReconnect;
     private volatile boolean idleTimeExceeded;
     private Integer idleTimeLimit;
-    private int backgroundChecks = 0;
-    private int backgroundChecksInterval = 60; // every 60 loops
+    private int backgroundChecksInterval = 60; // seconds between background checks
+    private volatile LocalDateTime nextBackgroundCheck = LocalDateTime.now().plusSeconds(backgroundChecksInterval);
 
     private volatile LocalDateTime pausedAt;
     private volatile LocalDateTime delayUntil;
@@ -53,19 +53,25 @@ public class DTOTaskQueueStatus {
     }
 
     /**
-     * Determines if background checks should be run based on a counter.
-     * Uses a default interval of 60 loops between checks.
-     * Increments internal counter and resets it when the interval is reached.
+     * Determines if background checks are due. Uses a default interval of 60
+     * seconds between checks and schedules the next one when it returns true.
      *
      * @return true if background checks should run, false otherwise
      */
     public boolean shouldRunBackgroundChecks() {
-        this.backgroundChecks++;
-        if (this.backgroundChecks >= this.backgroundChecksInterval) {
-            this.backgroundChecks = 0;
-            return true;
+        LocalDateTime now = LocalDateTime.now();
+        if (now.isBefore(this.nextBackgroundCheck)) {
+            return false;
         }
-        return false;
+        this.nextBackgroundCheck = now.plusSeconds(this.backgroundChecksInterval);
+        return true;
+    }
+
+    /**
+     * @return time the next background checks are due
+     */
+    public LocalDateTime getNextBackgroundCheck() {
+        return this.nextBackgroundCheck;
     }
 
     public void setBackgroundChecksInterval(Integer backgroundChecksInterval) {
@@ -0,0 +1,82 @@
+package cl.camodev.wosbot.ot;
+
+/**
+ * Runtime statistics of one task type on one profile. Durations are taken over the
+ * most recent runs, counts over all runs.
+ */
+public class DTOTaskRuntimeStats {
+
+	private final Long profileId;
+	private final Integer taskId;
+	private final long runs;
+	private final long successes;
+	private final long p50Ms;
+	private final long p95Ms;
+	private final long captures;
+	private final long ocrReads;
+
+	public DTOTaskRuntimeStats(Long profileId, Integer taskId, long runs, long successes, long p50Ms, long p95Ms,
+			long captures, long ocrReads) {
+		this.profileId = profileId;
+		this.taskId = taskId;
+		this.runs = runs;
+		this.successes = successes;
+		this.p50Ms = p50Ms;
+		this.p95Ms = p95Ms;
+		this.captures = captures;
+		this.ocrReads = ocrReads;
+	}
+
+	public Long getProfileId() {
+		return profileId;
+	}
+
+	public Integer getTaskId() {
+		return taskId;
+	}
+
+	public long getRuns() {
+		return runs;
+	}
+
+	public long getSuccesses() {
+		return successes;
+	}
+
+	/**
+	 * @return median duration of the recent runs, in milliseconds
+	 */
+	public long getP50Ms() {
+		return p50Ms;
+	}
+
+	/**
+	 * @return 95th percentile duration of the recent runs, in milliseconds
+	 */
+	public long getP95Ms() {
+		return p95Ms;
+	}
+
+	public long getCaptures() {
+		return captures;
+	}
+
+	public long getOcrReads() {
+		return ocrReads;
+	}
+
+	/**
+	 * @return share of runs that finished without an error, between 0 and 1
+	 */
+	public double getSuccessRate() {
+		return runs > 0 ? successes / (double) runs : 0;
+	}
+
+	public double getCapturesPerRun() {
+		return runs > 0 ? captures / (double) runs : 0;
+	}
+
+	public double getOcrReadsPerRun() {
+		return runs > 0 ? ocrReads / (double) runs : 0;
+	}
+}
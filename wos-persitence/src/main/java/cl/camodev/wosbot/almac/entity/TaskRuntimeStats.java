@@ -0,0 +1,122 @@
+package cl.camodev.wosbot.almac.entity;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.ForeignKey;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "task_runtime_stats")
+public class TaskRuntimeStats {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "id", nullable = false, unique = true)
+	private Long id;
+
+	@ManyToOne
+	@JoinColumn(name = "profile_id", nullable = false, foreignKey = @ForeignKey(name = "fk_runtimestats_profile"))
+	@OnDelete(action = OnDeleteAction.CASCADE)
+	private Profile profile;
+
+	@ManyToOne
+	@JoinColumn(name = "task_id", nullable = false, foreignKey = @ForeignKey(name = "fk_runtimestats_tp_daily_task"))
+	@OnDelete(action = OnDeleteAction.CASCADE)
+	private TpDailyTask task;
+
+	@Column(name = "runs", nullable = false)
+	private long runs;
+
+	@Column(name = "successes", nullable = false)
+	private long successes;
+
+	@Column(name = "captures", nullable = false)
+	private long captures;
+
+	@Column(name = "ocr_reads", nullable = false)
+	private long ocrReads;
+
+	// Comma separated durations in milliseconds of the most recent runs, oldest first
+	@Column(name = "recent_durations", nullable = false, length = 512)
+	private String recentDurations = "";
+
+	public TaskRuntimeStats() {
+	}
+
+	public TaskRuntimeStats(Profile profile, TpDailyTask task) {
+		this.profile = profile;
+		this.task = task;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Profile getProfile() {
+		return profile;
+	}
+
+	public void setProfile(Profile profile) {
+		this.profile = profile;
+	}
+
+	public TpDailyTask getTask() {
+		return task;
+	}
+
+	public void setTask(TpDailyTask task) {
+		this.task = task;
+	}
+
+	public long getRuns() {
+		return runs;
+	}
+
+	public void setRuns(long runs) {
+		this.runs = runs;
+	}
+
+	public long getSuccesses() {
+		return successes;
+	}
+
+	public void setSuccesses(long successes) {
+		this.successes = successes;
+	}
+
+	public long getCaptures() {
+		return captures;
+	}
+
+	public void setCaptures(long captures) {
+		this.captures = captures;
+	}
+
+	public long getOcrReads() {
+		return ocrReads;
+	}
+
+	public void setOcrReads(long ocrReads) {
+		this.ocrReads = ocrReads;
+	}
+
+	public String getRecentDurations() {
+		return recentDurations;
+	}
+
+	public void setRecentDurations(String recentDurations) {
+		this.recentDurations = recentDurations;
+	}
+}
@@ -0,0 +1,14 @@
+package cl.camodev.wosbot.almac.repo;
+
+import java.util.List;
+
+import cl.camodev.wosbot.almac.entity.TaskRuntimeStats;
+
+public interface ITaskRuntimeStatsRepository {
+
+	boolean addTaskRuntimeStats(TaskRuntimeStats stats);
+
+	boolean saveTaskRuntimeStats(TaskRuntimeStats stats);
+
+	List<TaskRuntimeStats> findByProfileId(Long profileId);
+}
@@ -0,0 +1,44 @@
+package cl.camodev.wosbot.almac.repo;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import cl.camodev.wosbot.almac.entity.TaskRuntimeStats;
+import cl.camodev.wosbot.almac.jpa.BotPersistence;
+
+public class TaskRuntimeStatsRepository implements ITaskRuntimeStatsRepository {
+	private final BotPersistence persistence = BotPersistence.getInstance();
+
+	private static TaskRuntimeStatsRepository instance;
+
+	private TaskRuntimeStatsRepository() {
+	}
+
+	public static TaskRuntimeStatsRepository getRepository() {
+		if (instance == null) {
+			instance = new TaskRuntimeStatsRepository();
+		}
+		return instance;
+	}
+
+	@Override
+	public boolean addTaskRuntimeStats(TaskRuntimeStats stats) {
+		return persistence.createEntity(stats);
+	}
+
+	@Override
+	public boolean saveTaskRuntimeStats(TaskRuntimeStats stats) {
+		return persistence.updateEntity(stats);
+	}
+
+	@Override
+	public List<TaskRuntimeStats> findByProfileId(Long profileId) {
+		String query = "SELECT s FROM TaskRuntimeStats s WHERE s.profile.id = :profileId";
+
+		Map<String, Object> parameters = new HashMap<>();
+		parameters.put("profileId", profileId);
+
+		return persistence.getQueryResults(query, TaskRuntimeStats.class, parameters);
+	}
+}
@@ -0,0 +1,292 @@
+package cl.camodev.wosbot.emulator;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+
+import cl.camodev.utiles.HostResources;
+import cl.camodev.wosbot.console.enumerable.EnumConfigurationKey;
+import cl.camodev.wosbot.console.enumerable.EnumTpMessageSeverity;
+import cl.camodev.wosbot.ot.DTOSlotLimitState;
+import cl.camodev.wosbot.serv.ISlotLimitChangeListener;
+import cl.camodev.wosbot.serv.impl.ServConfig;
+import cl.camodev.wosbot.serv.impl.ServLogs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Adjusts the number of concurrent emulator slots to the load of the host.
+ * <p>
+ * When {@link EnumConfigurationKey#EMULATOR_SLOTS_ADAPTIVE_BOOL} is enabled, the
+ * controller samples host CPU and memory through {@link HostResources}, together with
+ * the capture and input latency reported by every emulator, and moves the slot limit
+ * between {@link EnumConfigurationKey#EMULATOR_SLOTS_MIN_INT} and
+ * {@link EnumConfigurationKey#EMULATOR_SLOTS_MAX_INT} the AIMD way:
+ * <ul>
+ * <li>one more slot when the host has headroom and profiles are waiting for a slot;</li>
+ * <li>a multiplicative cut when the host is overloaded or emulators answer much slower
+ * than their own baseline.</li>
+ * </ul>
+ * A change needs several consecutive samples pointing the same way, more for growing
+ * than for shrinking, and is followed by a cooldown, so the limit does not flap.
+ * Shrinking never takes a slot away; it only stops handing out new ones until enough
+ * are released.
+ * <p>
+ * When disabled, the limit stays at {@link EnumConfigurationKey#MAX_RUNNING_EMULATORS_INT}.
+ * Every decision is logged and published to {@link ISlotLimitChangeListener}s.
+ */
+public class AdaptiveSlotController {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdaptiveSlotController.class);
+
+	private static final long SAMPLE_INTERVAL_MS = 15000;
+	private static final long CHANGE_COOLDOWN_MS = 60000;
+	private static final long LATENCY_STALE_MS = 120000;
+	private static final int INCREASE_STREAK = 4;
+	private static final int DECREASE_STREAK = 2;
+	private static final double DECREASE_FACTOR = 0.7;
+
+	private static final double CPU_HIGH = 0.90;
+	private static final double CPU_LOW = 0.65;
+	private static final double MEMORY_HIGH = 0.92;
+	private static final double MEMORY_LOW = 0.80;
+	private static final double LATENCY_DEGRADED_RATIO = 2.0;
+	private static final long CAPTURE_LATENCY_SLACK_MS = 300;
+	private static final long INPUT_LATENCY_SLACK_MS = 200;
+	private static final double LATENCY_WEIGHT = 0.2;
+
+	private final IntSupplier waitingProfiles;
+	private final IntConsumer applyLimit;
+	private final Map<String, Latency> latencies = new ConcurrentHashMap<>();
+	private final List<ISlotLimitChangeListener> listeners = new CopyOnWriteArrayList<>();
+	private ScheduledExecutorService executor;
+
+	private volatile int slotLimit;
+	private volatile DTOSlotLimitState lastState;
+	private int increaseStreak = 0;
+	private int decreaseStreak = 0;
+	private long lastChangeAt = 0;
+
+	/**
+	 * @param waitingProfiles number of profiles waiting for a slot
+	 * @param applyLimit      receives every new slot limit
+	 */
+	public AdaptiveSlotController(IntSupplier waitingProfiles, IntConsumer applyLimit) {
+		this.waitingProfiles = waitingProfiles;
+		this.applyLimit = applyLimit;
+	}
+
+	public synchronized void start() {
+		if (executor != null) {
+			return;
+		}
+		executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "adaptive-slot-controller");
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.scheduleWithFixedDelay(this::sampleSafely, SAMPLE_INTERVAL_MS, SAMPLE_INTERVAL_MS,
+				TimeUnit.MILLISECONDS);
+	}
+
+	public synchronized void stop() {
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+
+	/**
+	 * Starts over from the configured slot count, clamped to the adaptive bounds when
+	 * adaptive mode is on.
+	 *
+	 * @param configuredLimit value of {@link EnumConfigurationKey#MAX_RUNNING_EMULATORS_INT}
+	 */
+	public synchronized void reset(int configuredLimit) {
+		Bounds bounds = Bounds.read();
+		int limit = bounds.adaptive ? clamp(configuredLimit, bounds) : configuredLimit;
+		increaseStreak = 0;
+		decreaseStreak = 0;
+		lastChangeAt = System.currentTimeMillis();
+		latencies.clear();
+		change(limit, bounds, bounds.adaptive ? "adaptive, starting at " + limit : "fixed at " + limit);
+	}
+
+	public void recordCaptureLatency(String emulatorNumber, long latencyMs) {
+		latencies.computeIfAbsent(emulatorNumber, number -> new Latency()).recordCapture(latencyMs);
+	}
+
+	public void recordInputLatency(String emulatorNumber, long latencyMs) {
+		latencies.computeIfAbsent(emulatorNumber, number -> new Latency()).recordInput(latencyMs);
+	}
+
+	public int getSlotLimit() {
+		return slotLimit;
+	}
+
+	/**
+	 * @return last published state, or {@code null} before the first reset
+	 */
+	public DTOSlotLimitState getState() {
+		return lastState;
+	}
+
+	public void addListener(ISlotLimitChangeListener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(ISlotLimitChangeListener listener) {
+		listeners.remove(listener);
+	}
+
+	private void sampleSafely() {
+		try {
+			sample();
+		} catch (Exception e) {
+			logger.warn("Slot limit sampling failed: {}", e.getMessage());
+		}
+	}
+
+	private synchronized void sample() {
+		Bounds bounds = Bounds.read();
+		if (!bounds.adaptive) {
+			// Adaptive mode switched off while running, go back to the fixed count
+			int configuredLimit = configInt(ServConfig.getServices().getGlobalConfig(),
+					EnumConfigurationKey.MAX_RUNNING_EMULATORS_INT);
+			if (slotLimit != configuredLimit) {
+				change(configuredLimit, bounds, "fixed at " + configuredLimit);
+			}
+			return;
+		}
+		if (slotLimit < bounds.min || slotLimit > bounds.max) {
+			change(clamp(slotLimit, bounds), bounds, "bounds changed");
+			return;
+		}
+
+		long now = System.currentTimeMillis();
+		latencies.values().removeIf(latency -> now - latency.updatedAt > LATENCY_STALE_MS);
+
+		double cpu = HostResources.getCpuLoad();
+		double memory = HostResources.getMemoryPressure();
+		boolean latencyDegraded = latencies.values().stream().anyMatch(Latency::isDegraded);
+		boolean overloaded = cpu > CPU_HIGH || memory > MEMORY_HIGH || latencyDegraded;
+		boolean headroom = cpu < CPU_LOW && memory < MEMORY_LOW && !latencyDegraded
+				&& waitingProfiles.getAsInt() > 0;
+
+		decreaseStreak = overloaded ? decreaseStreak + 1 : 0;
+		increaseStreak = headroom ? increaseStreak + 1 : 0;
+		if (now - lastChangeAt < CHANGE_COOLDOWN_MS) {
+			return;
+		}
+
+		if (decreaseStreak >= DECREASE_STREAK && slotLimit > bounds.min) {
+			int newLimit = Math.max(bounds.min, Math.min(slotLimit - 1, (int) Math.floor(slotLimit * DECREASE_FACTOR)));
+			String reason = String.format("decrease %d -> %d: cpu %.0f%%, memory %.0f%%, latency degraded %s",
+					slotLimit, newLimit, cpu * 100, memory * 100, latencyDegraded);
+			change(newLimit, bounds, reason);
+		} else if (increaseStreak >= INCREASE_STREAK && slotLimit < bounds.max) {
+			int newLimit = slotLimit + 1;
+			String reason = String.format("increase %d -> %d: cpu %.0f%%, memory %.0f%%, %d profiles waiting",
+					slotLimit, newLimit, cpu * 100, memory * 100, waitingProfiles.getAsInt());
+			change(newLimit, bounds, reason);
+		}
+	}
+
+	private void change(int newLimit, Bounds bounds, String reason) {
+		slotLimit = newLimit;
+		lastChangeAt = System.currentTimeMillis();
+		increaseStreak = 0;
+		decreaseStreak = 0;
+		applyLimit.accept(newLimit);
+
+		long captureLatency = Math.round(latencies.values().stream().mapToDouble(l -> l.capture).max().orElse(0));
+		long inputLatency = Math.round(latencies.values().stream().mapToDouble(l -> l.input).max().orElse(0));
+		DTOSlotLimitState state = new DTOSlotLimitState(newLimit, bounds.min, bounds.max, bounds.adaptive,
+				HostResources.getCpuLoad(), HostResources.getMemoryPressure(), captureLatency, inputLatency, reason);
+		lastState = state;
+
+		String message = "Emulator slot limit " + newLimit + " (" + reason + ")";
+		logger.info(message);
+		ServLogs.getServices().appendLog(EnumTpMessageSeverity.INFO, "SlotController", "-", message);
+		listeners.forEach(listener -> listener.onSlotLimitChange(state));
+	}
+
+	private static int clamp(int limit, Bounds bounds) {
+		return Math.max(bounds.min, Math.min(bounds.max, limit));
+	}
+
+	private static int configInt(Map<String, String> config, EnumConfigurationKey key) {
+		return Optional.ofNullable(config)
+				.map(cfg -> cfg.get(key.name()))
+				.map(Integer::parseInt)
+				.orElse(Integer.parseInt(key.getDefaultValue()));
+	}
+
+	private static final class Bounds {
+		private final boolean adaptive;
+		private final int min;
+		private final int max;
+
+		private Bounds(boolean adaptive, int min, int max) {
+			this.adaptive = adaptive;
+			this.min = min;
+			this.max = max;
+		}
+
+		private static Bounds read() {
+			Map<String, String> config = ServConfig.getServices().getGlobalConfig();
+			boolean adaptive = Optional.ofNullable(config)
+					.map(cfg -> cfg.get(EnumConfigurationKey.EMULATOR_SLOTS_ADAPTIVE_BOOL.name()))
+					.map(Boolean::parseBoolean)
+					.orElse(Boolean.parseBoolean(EnumConfigurationKey.EMULATOR_SLOTS_ADAPTIVE_BOOL.getDefaultValue()));
+			int min = Math.max(1, configInt(config, EnumConfigurationKey.EMULATOR_SLOTS_MIN_INT));
+			int max = Math.max(min, configInt(config, EnumConfigurationKey.EMULATOR_SLOTS_MAX_INT));
+			return new Bounds(adaptive, min, max);
+		}
+	}
+
+	/**
+	 * Moving averages of one emulator's latencies, with a baseline that follows the
+	 * lowest average seen and only drifts up slowly.
+	 */
+	private static final class Latency {
+		private volatile double capture = 0;
+		private volatile double input = 0;
+		private double captureBaseline = 0;
+		private double inputBaseline = 0;
+		private volatile long updatedAt = System.currentTimeMillis();
+
+		private synchronized void recordCapture(long latencyMs) {
+			capture = capture == 0 ? latencyMs : capture + LATENCY_WEIGHT * (latencyMs - capture);
+			captureBaseline = baseline(captureBaseline, capture);
+			updatedAt = System.currentTimeMillis();
+		}
+
+		private synchronized void recordInput(long latencyMs) {
+			input = input == 0 ? latencyMs : input + LATENCY_WEIGHT * (latencyMs - input);
+			inputBaseline = baseline(inputBaseline, input);
+			updatedAt = System.currentTimeMillis();
+		}
+
+		private static double baseline(double baseline, double average) {
+			if (baseline == 0 || average < baseline) {
+				return average;
+			}
+			return baseline + 0.01 * (average - baseline);
+		}
+
+		private synchronized boolean isDegraded() {
+			return (captureBaseline > 0 && capture > captureBaseline * LATENCY_DEGRADED_RATIO
+					&& capture - captureBaseline > CAPTURE_LATENCY_SLACK_MS)
+					|| (inputBaseline > 0 && input > inputBaseline * LATENCY_DEGRADED_RATIO
+							&& input - inputBaseline > INPUT_LATENCY_SLACK_MS);
+		}
+	}
+}
@@ -0,0 +1,160 @@
+package cl.camodev.wosbot.emulator;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.android.ddmlib.AndroidDebugBridge;
+import com.android.ddmlib.IDevice;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Push-based registry of the devices known to the ADB bridge, keyed by serial.
+ * <p>
+ * The registry listens to ddmlib device-change events, so lookups never need a TTL
+ * or a scan of {@link AndroidDebugBridge#getDevices()}: a device is present from the
+ * moment ADB reports it and removed when ADB drops it. Threads that need a device to
+ * come online (after a connect or reconnect) wait on a condition that is signalled
+ * by those events instead of sleep-polling.
+ * <p>
+ * Other components subscribe through {@link #addListener} rather than registering
+ * their own ddmlib listener, so every consumer sees the same device view.
+ */
+public class AdbDeviceRegistry implements AndroidDebugBridge.IDeviceChangeListener {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdbDeviceRegistry.class);
+
+	private final Map<String, IDevice> devices = new ConcurrentHashMap<>();
+	private final List<AndroidDebugBridge.IDeviceChangeListener> listeners = new CopyOnWriteArrayList<>();
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition deviceStateChanged = lock.newCondition();
+
+	/**
+	 * Subscribes the registry to ddmlib device events. Must be called before the
+	 * bridge is created so the initial device list is captured as events.
+	 */
+	public void start() {
+		AndroidDebugBridge.addDeviceChangeListener(this);
+	}
+
+	/**
+	 * Unsubscribes the registry from ddmlib device events.
+	 */
+	public void shutdown() {
+		AndroidDebugBridge.removeDeviceChangeListener(this);
+		listeners.clear();
+	}
+
+	/**
+	 * Adds devices already known by the bridge, in case they were reported before
+	 * the registry was listening.
+	 *
+	 * @param bridge the current ADB bridge, may be {@code null}
+	 */
+	public void seed(AndroidDebugBridge bridge) {
+		if (bridge == null || !bridge.hasInitialDeviceList()) {
+			return;
+		}
+		for (IDevice device : bridge.getDevices()) {
+			devices.putIfAbsent(device.getSerialNumber(), device);
+		}
+		signal();
+	}
+
+	public void addListener(AndroidDebugBridge.IDeviceChangeListener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(AndroidDebugBridge.IDeviceChangeListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * @param serial device serial
+	 * @return the device if ADB reports it online, otherwise {@code null}
+	 */
+	public IDevice getOnlineDevice(String serial) {
+		IDevice device = devices.get(serial);
+		return device != null && device.isOnline() ? device : null;
+	}
+
+	/**
+	 * @param serial device serial
+	 * @return true if ADB knows the device, online or not
+	 */
+	public boolean isKnown(String serial) {
+		return devices.containsKey(serial);
+	}
+
+	/**
+	 * Waits until the device with the given serial is reported online.
+	 *
+	 * @param serial    device serial
+	 * @param timeoutMs maximum time to wait
+	 * @return the online device, or {@code null} if it did not come online in time
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public IDevice awaitOnline(String serial, long timeoutMs) throws InterruptedException {
+		long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+		lock.lock();
+		try {
+			IDevice device;
+			while ((device = getOnlineDevice(serial)) == null) {
+				if (remaining <= 0) {
+					return null;
+				}
+				remaining = deviceStateChanged.awaitNanos(remaining);
+			}
+			return device;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Forgets every device, used when the bridge is torn down.
+	 */
+	public void clear() {
+		devices.clear();
+	}
+
+	@Override
+	public void deviceConnected(IDevice device) {
+		devices.put(device.getSerialNumber(), device);
+		logger.debug("Device connected: {} ({})", device.getSerialNumber(), device.getState());
+		signal();
+		listeners.forEach(listener -> listener.deviceConnected(device));
+	}
+
+	@Override
+	public void deviceDisconnected(IDevice device) {
+		devices.remove(device.getSerialNumber(), device);
+		logger.debug("Device disconnected: {}", device.getSerialNumber());
+		signal();
+		listeners.forEach(listener -> listener.deviceDisconnected(device));
+	}
+
+	@Override
+	public void deviceChanged(IDevice device, int changeMask) {
+		devices.put(device.getSerialNumber(), device);
+		if ((changeMask & IDevice.CHANGE_STATE) != 0) {
+			logger.debug("Device state changed: {} ({})", device.getSerialNumber(), device.getState());
+			signal();
+		}
+		listeners.forEach(listener -> listener.deviceChanged(device, changeMask));
+	}
+
+	private void signal() {
+		lock.lock();
+		try {
+			deviceStateChanged.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+}
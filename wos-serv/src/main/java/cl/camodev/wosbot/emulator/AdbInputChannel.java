@@ -0,0 +1,196 @@
+package cl.camodev.wosbot.emulator;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Long-lived interactive ADB shell used to send input commands to one device.
+ * <p>
+ * Opening a shell through ddmlib costs a full ADB round trip per command. This
+ * channel keeps a single {@code adb -s <serial> shell} process open and writes
+ * commands to its stdin, so consecutive inputs only pay the device-side cost.
+ * <p>
+ * A batch is written as a single shell line followed by a unique marker echo.
+ * The batch is complete when the marker is read back, which also keeps batches
+ * from different callers from interleaving. Device-side delays between
+ * commands are expressed with {@link #sleep(long)} so that multi-tap sequences
+ * do not need one round trip per tap.
+ */
+public class AdbInputChannel {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdbInputChannel.class);
+	private static final String MARKER_PREFIX = "__wosbot_batch_";
+
+	private final String adbPath;
+	private final String serial;
+	private final BlockingQueue<String> output = new LinkedBlockingQueue<>();
+
+	private Process process;
+	private OutputStream stdin;
+	private long batchSequence = 0;
+
+	public AdbInputChannel(String adbPath, String serial) {
+		this.adbPath = adbPath;
+		this.serial = serial;
+	}
+
+	/**
+	 * Builds an {@code input tap} command.
+	 */
+	public static String tap(int x, int y) {
+		return "input tap " + x + " " + y;
+	}
+
+	/**
+	 * Builds a device-side sleep command.
+	 */
+	public static String sleep(long delayMs) {
+		return String.format(Locale.ROOT, "sleep %.3f", delayMs / 1000.0);
+	}
+
+	/**
+	 * Executes the commands as one atomic batch and waits until the device has run all of them.
+	 *
+	 * @param commands  shell commands executed in order
+	 * @param timeoutMs maximum time to wait for the batch to finish
+	 * @throws BatchNotSentException if the shell cannot be opened or the batch cannot be
+	 *                               written to it. None of the commands ran.
+	 * @throws IOException           if the shell dies or does not finish the batch in time
+	 *                               after it was written. Some of the commands may have
+	 *                               run. The channel is closed in both cases.
+	 */
+	public synchronized void execute(List<String> commands, long timeoutMs) throws IOException {
+		try {
+			ensureOpen();
+		} catch (IOException e) {
+			throw new BatchNotSentException("Cannot open ADB shell for " + serial, e);
+		}
+
+		String marker = MARKER_PREFIX + (++batchSequence);
+		String line = String.join("; ", commands) + "; echo " + marker + "\n";
+
+		try {
+			output.clear();
+			stdin.write(line.getBytes(StandardCharsets.UTF_8));
+			stdin.flush();
+		} catch (IOException e) {
+			// Without the trailing newline the shell never runs the line, so do not send "exit" after it
+			close(false);
+			throw new BatchNotSentException("Cannot write input batch to " + serial, e);
+		}
+
+		try {
+			long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+			while (true) {
+				long remaining = deadline - System.nanoTime();
+				if (remaining <= 0) {
+					throw new IOException("Timed out waiting for input batch on " + serial);
+				}
+				String received = output.poll(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(200)),
+						TimeUnit.NANOSECONDS);
+				if (received != null) {
+					if (received.trim().equals(marker)) {
+						return;
+					}
+					logger.trace("Input channel {} output: {}", serial, received);
+				} else if (!process.isAlive()) {
+					throw new IOException("ADB shell for " + serial + " exited with code " + process.exitValue());
+				}
+			}
+		} catch (IOException e) {
+			close();
+			throw e;
+		} catch (InterruptedException e) {
+			close();
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while waiting for input batch on " + serial, e);
+		}
+	}
+
+	/**
+	 * @return true if the underlying shell process is running
+	 */
+	public synchronized boolean isOpen() {
+		return process != null && process.isAlive();
+	}
+
+	/**
+	 * Closes the shell process. The channel can be reopened by the next {@link #execute(List, long)}.
+	 */
+	public synchronized void close() {
+		close(true);
+	}
+
+	private void close(boolean sendExit) {
+		if (process == null) {
+			return;
+		}
+		if (sendExit) {
+			try {
+				stdin.write("exit\n".getBytes(StandardCharsets.UTF_8));
+				stdin.flush();
+			} catch (IOException ignored) {
+				// Shell already gone
+			}
+		}
+		process.destroy();
+		process = null;
+		stdin = null;
+		output.clear();
+		logger.debug("Input channel closed for {}", serial);
+	}
+
+	/**
+	 * Thrown by {@link #execute(List, long)} when the batch never reached the shell, so
+	 * it is safe to send the same commands again another way.
+	 */
+	public static class BatchNotSentException extends IOException {
+		private static final long serialVersionUID = 1L;
+
+		public BatchNotSentException(String message, Throwable cause) {
+			super(message, cause);
+		}
+	}
+
+	private void ensureOpen() throws IOException {
+		if (isOpen()) {
+			return;
+		}
+
+		ProcessBuilder pb = new ProcessBuilder(adbPath, "-s", serial, "shell");
+		pb.directory(new File(adbPath).getParentFile());
+		pb.redirectErrorStream(true);
+		process = pb.start();
+		stdin = process.getOutputStream();
+		output.clear();
+
+		Process started = process;
+		Thread reader = new Thread(() -> {
+			try (BufferedReader br = new BufferedReader(
+					new InputStreamReader(started.getInputStream(), StandardCharsets.UTF_8))) {
+				String line;
+				while ((line = br.readLine()) != null) {
+					output.offer(line);
+				}
+			} catch (IOException ignored) {
+				// Stream closed together with the process
+			}
+		}, "adb-input-" + serial);
+		reader.setDaemon(true);
+		reader.start();
+
+		logger.debug("Input channel opened for {}", serial);
+	}
+}
@@ -0,0 +1,176 @@
+package cl.camodev.wosbot.emulator;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per-emulator circuit breaker for ADB actions.
+ * <p>
+ * A device that keeps failing is not retried by every caller in turn. After
+ * {@link #FAILURE_THRESHOLD} consecutive failed actions the breaker opens and every
+ * action on that emulator is rejected without touching ADB. Once the open period has
+ * elapsed the breaker becomes half-open and lets a single probe through: success
+ * closes it again, failure re-opens it with twice the previous open period, up to
+ * {@link #MAX_OPEN_MS}.
+ * <p>
+ * A failure here means that an action exhausted its own retries, not a single
+ * attempt.
+ */
+public class DeviceCircuitBreaker {
+
+	private static final Logger logger = LoggerFactory.getLogger(DeviceCircuitBreaker.class);
+
+	private static final int FAILURE_THRESHOLD = 2;
+	private static final long INITIAL_OPEN_MS = 30000;
+	private static final long MAX_OPEN_MS = 300000;
+
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+	/**
+	 * Asks the breaker whether an action may run. In half-open state only the first
+	 * caller gets through; it must report the outcome with {@link #recordSuccess} or
+	 * {@link #recordFailure}.
+	 *
+	 * @param emulatorNumber Emulator identifier
+	 * @return true if the action may run
+	 */
+	public boolean tryAcquire(String emulatorNumber) {
+		Circuit circuit = circuit(emulatorNumber);
+		synchronized (circuit) {
+			switch (circuit.state) {
+				case CLOSED:
+					return true;
+				case OPEN:
+					if (System.currentTimeMillis() < circuit.openUntil) {
+						return false;
+					}
+					transition(emulatorNumber, circuit, State.HALF_OPEN);
+					circuit.probeInFlight = true;
+					return true;
+				case HALF_OPEN:
+				default:
+					if (circuit.probeInFlight) {
+						return false;
+					}
+					circuit.probeInFlight = true;
+					return true;
+			}
+		}
+	}
+
+	/**
+	 * Records a successful action, closing the breaker.
+	 *
+	 * @param emulatorNumber Emulator identifier
+	 */
+	public void recordSuccess(String emulatorNumber) {
+		Circuit circuit = circuit(emulatorNumber);
+		synchronized (circuit) {
+			circuit.consecutiveFailures = 0;
+			circuit.openPeriod = INITIAL_OPEN_MS;
+			circuit.probeInFlight = false;
+			if (circuit.state != State.CLOSED) {
+				transition(emulatorNumber, circuit, State.CLOSED);
+			}
+		}
+	}
+
+	/**
+	 * Records a failed action. Opens the breaker when the threshold is reached or when
+	 * the half-open probe failed.
+	 *
+	 * @param emulatorNumber Emulator identifier
+	 * @return true if the breaker is open after this failure
+	 */
+	public boolean recordFailure(String emulatorNumber) {
+		Circuit circuit = circuit(emulatorNumber);
+		synchronized (circuit) {
+			circuit.consecutiveFailures++;
+			circuit.probeInFlight = false;
+			if (circuit.state == State.HALF_OPEN) {
+				circuit.openPeriod = Math.min(circuit.openPeriod * 2, MAX_OPEN_MS);
+				open(emulatorNumber, circuit);
+			} else if (circuit.state == State.CLOSED && circuit.consecutiveFailures >= FAILURE_THRESHOLD) {
+				open(emulatorNumber, circuit);
+			}
+			return circuit.state == State.OPEN;
+		}
+	}
+
+	/**
+	 * Releases a half-open probe that ended without a verdict, e.g. because it was
+	 * interrupted.
+	 *
+	 * @param emulatorNumber Emulator identifier
+	 */
+	public void release(String emulatorNumber) {
+		Circuit circuit = circuit(emulatorNumber);
+		synchronized (circuit) {
+			circuit.probeInFlight = false;
+		}
+	}
+
+	/**
+	 * Forgets the failures of an emulator, used after it has been relaunched.
+	 *
+	 * @param emulatorNumber Emulator identifier
+	 */
+	public void reset(String emulatorNumber) {
+		Circuit circuit = circuits.remove(emulatorNumber);
+		if (circuit != null && circuit.state != State.CLOSED) {
+			logger.info("Circuit for emulator {} reset from {}", emulatorNumber, circuit.state);
+		}
+	}
+
+	/**
+	 * @param emulatorNumber Emulator identifier
+	 * @return current state of the breaker
+	 */
+	public State getState(String emulatorNumber) {
+		Circuit circuit = circuits.get(emulatorNumber);
+		return circuit == null ? State.CLOSED : circuit.state;
+	}
+
+	/**
+	 * @param emulatorNumber Emulator identifier
+	 * @return milliseconds until an open breaker lets a probe through, 0 otherwise
+	 */
+	public long getRetryAfterMs(String emulatorNumber) {
+		Circuit circuit = circuits.get(emulatorNumber);
+		if (circuit == null || circuit.state != State.OPEN) {
+			return 0;
+		}
+		return Math.max(0, circuit.openUntil - System.currentTimeMillis());
+	}
+
+	private Circuit circuit(String emulatorNumber) {
+		return circuits.computeIfAbsent(emulatorNumber, number -> new Circuit());
+	}
+
+	private void open(String emulatorNumber, Circuit circuit) {
+		circuit.openUntil = System.currentTimeMillis() + circuit.openPeriod;
+		transition(emulatorNumber, circuit, State.OPEN);
+		logger.warn("Circuit for emulator {} opened for {} ms after {} consecutive failures", emulatorNumber,
+				circuit.openPeriod, circuit.consecutiveFailures);
+	}
+
+	private void transition(String emulatorNumber, Circuit circuit, State newState) {
+		logger.debug("Circuit for emulator {} {} -> {}", emulatorNumber, circuit.state, newState);
+		circuit.state = newState;
+	}
+
+	private static final class Circuit {
+		private volatile State state = State.CLOSED;
+		private int consecutiveFailures = 0;
+		private long openPeriod = INITIAL_OPEN_MS;
+		private long openUntil = 0;
+		private boolean probeInFlight = false;
+	}
+}
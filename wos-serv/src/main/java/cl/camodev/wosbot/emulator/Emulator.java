@@ -1,9 +1,16 @@
 package cl.camodev.wosbot.emulator;
 
 import java.io.*;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.concurrent.ConcurrentHashMap;
@@ -11,6 +18,9 @@ import java.util.concurrent.ConcurrentHashMap;
 import cl.camodev.utiles.UtilOCR;
 import cl.camodev.wosbot.console.enumerable.GameVersion;
 import cl.camodev.wosbot.ex.ADBConnectionException;
+import cl.camodev.wosbot.ex.DeviceCircuitOpenException;
+import cl.camodev.wosbot.ex.InputNotAcknowledgedException;
+import cl.camodev.wosbot.ot.DTOOcrResult;
 import cl.camodev.wosbot.ot.DTORawImage;
 import com.android.ddmlib.*;
 
@@ -35,30 +45,51 @@ import org.slf4j.LoggerFactory;
  * @author cacuna
  */
 public abstract class Emulator {
-	protected static final int MAX_RETRIES = 10;
-	protected static final int RETRY_DELAY_MS = 3000;
+	protected static final int MAX_ATTEMPTS = 4;
+	protected static final long BACKOFF_BASE_MS = 250;
+	protected static final long BACKOFF_MAX_MS = 2000;
 	protected static final int INIT_LOOPS = 10;
 	protected static final int INIT_DELAY_MS = 500;
 	private static final Logger logger = LoggerFactory.getLogger(Emulator.class);
 	protected String consolePath;
 	protected AndroidDebugBridge bridge = null;
 
-	// Cache for devices to avoid repeated lookups
-	private final ConcurrentHashMap<String, IDevice> deviceCache = new ConcurrentHashMap<>();
-	private final ConcurrentHashMap<String, Long> deviceCacheTimestamp = new ConcurrentHashMap<>();
-	private static final long DEVICE_CACHE_TTL = 30000; // 30 seconds cache TTL
+	// Devices reported by ADB, kept up to date by device-change events
+	private final AdbDeviceRegistry deviceRegistry = new AdbDeviceRegistry();
+	private static final long DEVICE_ONLINE_TIMEOUT = 5000;
 
-	// Cache for isRunning status to avoid repeated external process calls
-	private final ConcurrentHashMap<String, Boolean> runningStatusCache = new ConcurrentHashMap<>();
-	private final ConcurrentHashMap<String, Long> runningStatusTimestamp = new ConcurrentHashMap<>();
-	private static final long RUNNING_STATUS_CACHE_TTL = 5000; // 5 seconds cache TTL (shorter than device cache)
+	// Status of every instance from a single console call, shared by all profiles
+	private final Object statusSnapshotLock = new Object();
+	private Map<String, EmulatorStatus> statusSnapshot;
+	private long statusSnapshotValidUntil = 0;
+	private long statusSnapshotGeneration = 0;
+	private boolean statusRefreshing = false;
+	private volatile boolean consoleUnresponsive = false;
+	private static final long STATUS_SNAPSHOT_TTL = 2000;
+	private static final long STATUS_RETRY_AFTER_TIMEOUT = 30000;
+	private static final long CONSOLE_COMMAND_TIMEOUT = 10000;
+
+	// Health state per emulator, so actions do not fork the console to ask if it is running
+	private final EmulatorHealthMonitor healthMonitor = new EmulatorHealthMonitor(this);
+
+	// Rejects actions on devices that keep failing, see withRetries
+	private final DeviceCircuitBreaker circuitBreaker = new DeviceCircuitBreaker();
 
 	// Cache for last captured screenshot per emulator
 	private final ConcurrentHashMap<String, DTORawImage> lastScreenshotCache = new ConcurrentHashMap<>();
 
+	// Persistent input shells per device serial, see sendInput
+	private final ConcurrentHashMap<String, AdbInputChannel> inputChannels = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, Long> inputChannelFailures = new ConcurrentHashMap<>();
+	private static final long INPUT_CHANNEL_RETRY_COOLDOWN = 60000; // Wait before reopening a failed channel
+	private static final long INPUT_BATCH_BASE_TIMEOUT = 3000;
+	private static final long INPUT_COMMAND_TIMEOUT = 1000;
+
 	public Emulator(String consolePath) {
 		this.consolePath = consolePath;
+		deviceRegistry.start();
 		initializeBridge();
+		healthMonitor.start(deviceRegistry);
 	}
 
 	/**
@@ -98,9 +129,20 @@ public abstract class Emulator {
 			String adbPath = getProjectAdbPath();
 			logger.info("Initializing ADB bridge with path: {}", adbPath);
 			bridge = AndroidDebugBridge.createBridge(adbPath, true, 5000, TimeUnit.MILLISECONDS);
+			deviceRegistry.seed(bridge);
 		}
 	}
 
+	/**
+	 * Stops the background work owned by this instance (health watchdog, input channels).
+	 * Called when the emulator is replaced by a new configuration.
+	 */
+	public void shutdown() {
+		healthMonitor.shutdown();
+		deviceRegistry.shutdown();
+		closeInputChannels();
+	}
+
 	/**
 	 * Gets the device serial for the given emulator number.
 	 * Must be implemented by subclasses.
@@ -125,11 +167,196 @@ public abstract class Emulator {
 
 	/**
 	 * Checks if the emulator is running.
+	 * Served from the shared status snapshot (see {@link #queryAll()}), so asking about
+	 * several instances within the snapshot TTL costs a single console call. Falls back
+	 * to {@link #isInstanceRunning(String)} if the console cannot list its instances, and
+	 * to whether ADB sees the device online if the console hangs before it ever answered.
+	 * @param emulatorNumber Emulator identifier
+	 * @return true if running, false otherwise
+	 */
+	public boolean isRunning(String emulatorNumber) {
+		Map<String, EmulatorStatus> snapshot = getStatusSnapshot();
+		if (snapshot == null) {
+			if (consoleUnresponsive) {
+				// Asking the instance would hang on the same console
+				return deviceRegistry.getOnlineDevice(getDeviceSerial(emulatorNumber)) != null;
+			}
+			return isInstanceRunning(emulatorNumber);
+		}
+		EmulatorStatus status = snapshot.get(emulatorNumber);
+		return status != null && status.isRunning();
+	}
+
+	/**
+	 * Checks if a single emulator instance is running by asking the console about it.
 	 * Must be implemented by subclasses.
 	 * @param emulatorNumber Emulator identifier
 	 * @return true if running, false otherwise
 	 */
-	public abstract boolean isRunning(String emulatorNumber);
+	protected abstract boolean isInstanceRunning(String emulatorNumber);
+
+	/**
+	 * Lists the status of every instance known to the emulator console in one call.
+	 * Must be implemented by subclasses.
+	 * @return status per emulator number
+	 * @throws IOException if the console cannot be executed or its output cannot be parsed
+	 */
+	protected abstract Map<String, EmulatorStatus> listInstanceStatuses() throws IOException;
+
+	/**
+	 * Returns the status of every emulator instance. The result is a shared snapshot
+	 * refreshed at most once every {@link #STATUS_SNAPSHOT_TTL} ms, regardless of how
+	 * many profiles ask. While the console does not answer, the last snapshot it gave is
+	 * kept and the console is asked again every {@link #STATUS_RETRY_AFTER_TIMEOUT} ms.
+	 * @return status per emulator number; empty if the console could not be queried
+	 */
+	public Map<String, EmulatorStatus> queryAll() {
+		Map<String, EmulatorStatus> snapshot = getStatusSnapshot();
+		return snapshot != null ? snapshot : Collections.emptyMap();
+	}
+
+	private Map<String, EmulatorStatus> getStatusSnapshot() {
+		long generation;
+		synchronized (statusSnapshotLock) {
+			while (true) {
+				if (System.currentTimeMillis() < statusSnapshotValidUntil) {
+					return statusSnapshot;
+				}
+				if (!statusRefreshing) {
+					break;
+				}
+				// Another caller is asking the console, serve the last answer rather than queue behind it
+				if (statusSnapshot != null || consoleUnresponsive) {
+					return statusSnapshot;
+				}
+				try {
+					statusSnapshotLock.wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return null;
+				}
+			}
+			statusRefreshing = true;
+			generation = statusSnapshotGeneration;
+		}
+
+		Map<String, EmulatorStatus> refreshed = null;
+		boolean timedOut = false;
+		try {
+			refreshed = Collections.unmodifiableMap(new HashMap<>(listInstanceStatuses()));
+			logger.trace("Emulator status snapshot refreshed: {}", refreshed);
+		} catch (ConsoleTimeoutException e) {
+			logger.warn("Emulator console did not answer, keeping the last known instance status: {}",
+					e.getMessage());
+			timedOut = true;
+		} catch (IOException | RuntimeException e) {
+			logger.warn("Could not list emulator instances, falling back to per-instance checks: {}", e.getMessage());
+		} finally {
+			synchronized (statusSnapshotLock) {
+				statusRefreshing = false;
+				statusSnapshotLock.notifyAll();
+			}
+		}
+
+		synchronized (statusSnapshotLock) {
+			consoleUnresponsive = timedOut;
+			if (!timedOut) {
+				statusSnapshot = refreshed;
+			}
+			// An invalidation during the call means the answer may predate a launch or close
+			if (generation == statusSnapshotGeneration) {
+				statusSnapshotValidUntil = System.currentTimeMillis()
+						+ (timedOut ? STATUS_RETRY_AFTER_TIMEOUT : STATUS_SNAPSHOT_TTL);
+			}
+			return statusSnapshot;
+		}
+	}
+
+	/**
+	 * Drops the status snapshot so the next query asks the console again.
+	 */
+	protected void invalidateStatusSnapshot() {
+		synchronized (statusSnapshotLock) {
+			statusSnapshotValidUntil = 0;
+			statusSnapshotGeneration++;
+		}
+	}
+
+	/**
+	 * Runs an emulator console command and returns its output lines.
+	 * The output is drained on its own thread, so a console that hangs without closing
+	 * its output is still stopped after {@link #CONSOLE_COMMAND_TIMEOUT} ms.
+	 * @param command Command and arguments
+	 * @return Output lines
+	 * @throws ConsoleTimeoutException if the command does not finish in time
+	 * @throws IOException if the command cannot be run, fails or is interrupted
+	 */
+	protected List<String> readConsoleOutput(String[] command) throws IOException {
+		ProcessBuilder pb = new ProcessBuilder(command);
+		pb.directory(new File(consolePath).getParentFile());
+		pb.redirectErrorStream(true);
+		return readProcessOutput(pb, CONSOLE_COMMAND_TIMEOUT);
+	}
+
+	/**
+	 * Starts a process and returns its output lines, killing it if it has not finished
+	 * and closed its output within the given time.
+	 * @param pb Process to start
+	 * @param timeoutMs Time the process has to finish
+	 * @return Output lines
+	 * @throws ConsoleTimeoutException if the process does not finish in time
+	 * @throws IOException if the process cannot be run, fails or is interrupted
+	 */
+	static List<String> readProcessOutput(ProcessBuilder pb, long timeoutMs) throws IOException {
+		String commandLine = String.join(" ", pb.command());
+		Process process = pb.start();
+
+		FutureTask<List<String>> output = new FutureTask<>(() -> {
+			List<String> lines = new ArrayList<>();
+			try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					lines.add(line);
+				}
+			}
+			return lines;
+		});
+		Thread outputReader = new Thread(output, "emulator-console-output");
+		outputReader.setDaemon(true);
+		outputReader.start();
+
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+		try {
+			List<String> lines = output.get(timeoutMs, TimeUnit.MILLISECONDS);
+			if (!process.waitFor(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+				process.destroyForcibly();
+				throw new ConsoleTimeoutException("Console command timed out: " + commandLine);
+			}
+			return lines;
+		} catch (java.util.concurrent.TimeoutException e) {
+			// Killing the process closes its output, which also ends the reader thread
+			process.destroyForcibly();
+			throw new ConsoleTimeoutException("Console command timed out: " + commandLine);
+		} catch (ExecutionException e) {
+			process.destroyForcibly();
+			throw new IOException("Cannot read console output: " + e.getCause().getMessage(), e.getCause());
+		} catch (InterruptedException e) {
+			process.destroyForcibly();
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while running console command", e);
+		}
+	}
+
+	/**
+	 * Thrown by {@link #readConsoleOutput(String[])} when the console does not answer in time.
+	 */
+	protected static class ConsoleTimeoutException extends IOException {
+		private static final long serialVersionUID = 1L;
+
+		public ConsoleTimeoutException(String message) {
+			super(message);
+		}
+	}
 
 	/**
 	 * Waits for the ddmlib bridge to be ready.
@@ -145,37 +372,41 @@ public abstract class Emulator {
 
 	/**
 	 * Finds the IDevice instance for the given emulator number.
+	 * Served from the device registry; if ADB does not know the device yet, connects to it
+	 * and waits for the registry to report it online.
 	 * @param emulatorNumber Emulator identifier
 	 * @return IDevice instance or null if not found
 	 * @throws InterruptedException if interrupted while waiting
 	 */
 	protected IDevice findDevice(String emulatorNumber) throws InterruptedException {
-		waitForBridge();
 		String serial = getDeviceSerial(emulatorNumber);
 
-		// 1. First search in already connected devices (quick search)
-		for (IDevice device : bridge.getDevices()) {
-			if (serial.equals(device.getSerialNumber())) {
-				logger.debug("Device found in cache: {}", serial);
-				return device;
-			}
+		// 1. Device already reported online by ADB
+		IDevice device = deviceRegistry.getOnlineDevice(serial);
+		if (device != null) {
+			return device;
 		}
 
-		// 2. If not found, try direct connection
-		logger.info("Device not found in cache, connecting directly: " + serial);
+		// 2. Known but offline (booting, authorizing): give it a moment to come online
+		if (deviceRegistry.isKnown(serial)) {
+			logger.debug("Device {} known but offline, waiting for it", serial);
+			return deviceRegistry.awaitOnline(serial, DEVICE_ONLINE_TIMEOUT);
+		}
+
+		// 3. Unknown to ADB: connect directly and wait for the connect event
+		waitForBridge();
+		deviceRegistry.seed(bridge);
+		device = deviceRegistry.getOnlineDevice(serial);
+		if (device != null) {
+			return device;
+		}
+
+		logger.info("Device not found in registry, connecting directly: " + serial);
 		if (connectToDeviceBySerial(serial)) {
-			// 3. Force bridge update and search again
-			//forceDeviceDiscovery();
-
-			// 4. Search for the newly connected device
-			for (int i = 0; i < 5; i++) {
-				for (IDevice device : bridge.getDevices()) {
-					if (serial.equals(device.getSerialNumber())) {
-                        logger.info("Device connected and found: {}", serial);
-						return device;
-					}
-				}
-				Thread.sleep(1000); // Wait 1 second between attempts
+			device = deviceRegistry.awaitOnline(serial, DEVICE_ONLINE_TIMEOUT);
+			if (device != null) {
+				logger.info("Device connected and found: {}", serial);
+				return device;
 			}
 		}
 
@@ -183,6 +414,62 @@ public abstract class Emulator {
 		return null;
 	}
 
+	/**
+	 * Reconnects a single device without touching the ADB server, so other emulators
+	 * keep working while this one recovers. Network serials are disconnected and
+	 * connected again; local emulator serials use {@code adb reconnect}.
+	 * @param emulatorNumber Emulator identifier
+	 * @return the device once it is back online, or null if it did not come back in time
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	protected IDevice reconnectDevice(String emulatorNumber) throws InterruptedException {
+		String serial = getDeviceSerial(emulatorNumber);
+		logger.info("Reconnecting device {} for emulator {}", serial, emulatorNumber);
+
+		// The input shell is bound to the old connection
+		AdbInputChannel channel = inputChannels.remove(serial);
+		if (channel != null) {
+			channel.close();
+		}
+
+		if (serial.startsWith("emulator-")) {
+			runAdbCommand("-s", serial, "reconnect");
+		} else {
+			String address = extractAddressFromSerial(serial);
+			runAdbCommand("disconnect", address);
+			connectToDeviceBySerial(serial);
+		}
+		return deviceRegistry.awaitOnline(serial, DEVICE_ONLINE_TIMEOUT);
+	}
+
+	/**
+	 * Runs an adb client command and waits up to 10 seconds for it to finish. The output
+	 * is discarded by the operating system, so nothing blocks on reading it, and a
+	 * command still running after that is killed.
+	 * @param args adb arguments
+	 */
+	private void runAdbCommand(String... args) {
+		try {
+			String adbPath = getProjectAdbPath();
+			String[] command = new String[args.length + 1];
+			command[0] = adbPath;
+			System.arraycopy(args, 0, command, 1, args.length);
+			ProcessBuilder pb = new ProcessBuilder(command);
+			pb.directory(new File(adbPath).getParentFile());
+			pb.redirectErrorStream(true);
+			pb.redirectOutput(ProcessBuilder.Redirect.DISCARD);
+			Process process = pb.start();
+			if (!process.waitFor(10, TimeUnit.SECONDS)) {
+				logger.warn("adb {} did not finish in time, killing it", String.join(" ", args));
+				process.destroyForcibly();
+			}
+		} catch (IOException e) {
+			logger.warn("adb {} failed: {}", String.join(" ", args), e.getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
 	/**
 	 * Connects to a device by its serial.
 	 * @param serial Device serial string
@@ -219,7 +506,16 @@ public abstract class Emulator {
 	}
 
 	/**
-	 * Executes an action with retries for the given emulator.
+	 * Executes an action on the device of the given emulator.
+	 * <p>
+	 * A failed attempt is retried after an exponential backoff with jitter, and the
+	 * device is reconnected once halfway through. When every attempt fails the action
+	 * fails fast with an {@link ADBConnectionException} so the task queue can release
+	 * the emulator slot instead of holding it while the device is dead. Repeated
+	 * failures open the {@link DeviceCircuitBreaker} of the emulator, after which
+	 * actions are rejected immediately with a {@link DeviceCircuitOpenException} until
+	 * the breaker lets a probe through.
+	 *
 	 * @param emulatorNumber Emulator identifier
 	 * @param action Function to execute with IDevice
 	 * @param actionName Name for logging
@@ -227,114 +523,87 @@ public abstract class Emulator {
 	 * @return Result of the action
 	 */
 	protected <T> T withRetries(String emulatorNumber, Function<IDevice, T> action, String actionName) {
-		if (!isRunning(emulatorNumber)) {
+		if (!isRunningCached(emulatorNumber)) {
 			logger.error("Emulator {} is not running, cannot perform action {}", emulatorNumber, actionName);
 			throw new ADBConnectionException(
 					"Emulator " + emulatorNumber + " is not running, cannot perform action " + actionName);
 		}
 
-		// --- Phase 1: Initial attempts with ADB restarts ---
-		for (int attempt = 1; attempt <= MAX_RETRIES; attempt++) {
+		if (!circuitBreaker.tryAcquire(emulatorNumber)) {
+			long retryAfter = circuitBreaker.getRetryAfterMs(emulatorNumber);
+			throw new DeviceCircuitOpenException("Device for emulator " + emulatorNumber
+					+ " is unavailable, rejected " + actionName + " (retry in " + retryAfter + " ms)", retryAfter);
+		}
+
+		Exception lastError = null;
+		for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
 			try {
 				IDevice device = findDevice(emulatorNumber);
-				if (device == null) {
-					logger.error("Device not found for {}: {}", actionName, emulatorNumber);
-					if (attempt >= MAX_RETRIES / 2) {
-						logger.info("Attempting ADB restart as last resort (attempt {})", attempt);
-						restartAdb();
-					}
-					Thread.sleep(RETRY_DELAY_MS / 2);
-					continue;
-				}
-
-				if (!device.isOnline()) {
-					logger.warn("Device found but not online, waiting... (attempt {})", attempt);
-					Thread.sleep(2000);
-					continue;
+				if (device == null || !device.isOnline()) {
+					throw new ADBConnectionException("Device for emulator " + emulatorNumber + " is not online");
 				}
-				return action.apply(device);
+				T result = action.apply(device);
+				circuitBreaker.recordSuccess(emulatorNumber);
+				return result;
 			} catch (Exception e) {
-				logger.warn("Attempt {} of {} failed: {}", attempt, actionName, e.getMessage());
-				if (attempt >= MAX_RETRIES - 2) {
-					logger.warn("Multiple failures, attempting ADB restart (attempt {})", attempt);
-					try {
-						restartAdb();
-						Thread.sleep(RETRY_DELAY_MS);
-					} catch (InterruptedException ie) {
-						Thread.currentThread().interrupt();
-					}
-				} else {
-					try {
-						Thread.sleep(RETRY_DELAY_MS / 2);
-					} catch (InterruptedException ie) {
-						Thread.currentThread().interrupt();
-					}
+				InputNotAcknowledgedException notAcknowledged = findCause(e, InputNotAcknowledgedException.class);
+				if (notAcknowledged != null) {
+					// Retrying could repeat the inputs that already ran
+					logger.warn("{} on emulator {} failed after the input was sent, not retrying: {}", actionName,
+							emulatorNumber, notAcknowledged.getMessage());
+					healthMonitor.reportFailure(emulatorNumber);
+					circuitBreaker.recordFailure(emulatorNumber);
+					throw notAcknowledged;
 				}
+				lastError = e;
+				logger.warn("Attempt {}/{} of {} on emulator {} failed: {}", attempt, MAX_ATTEMPTS, actionName,
+						emulatorNumber, e.getMessage());
+				healthMonitor.reportFailure(emulatorNumber);
 			}
-		}
 
-		// --- Phase 2: If Phase 1 failed, restart emulator and try again ---
-		logger.warn(
-				"All {} initial attempts failed for {} on {}. Attempting emulator restart and new set of retries...",
-				MAX_RETRIES, actionName, emulatorNumber);
-		try {
-			logger.info("Attempting to restart the emulator for {} on {}", actionName, emulatorNumber);
-			closeEmulator(emulatorNumber);
-			Thread.sleep(5000); // Wait for emulator to close
-			launchEmulator(emulatorNumber);
-			Thread.sleep(15000); // Wait for emulator to launch and stabilize
-		} catch (Exception e) {
-			logger.error("Failed to restart emulator for {} on {}: {}", actionName, emulatorNumber, e.getMessage());
-			throw new ADBConnectionException("Emulator restart failed for " + actionName + " on " + emulatorNumber, e);
-		}
-
-		// --- Phase 3: Second set of attempts after emulator restart ---
-		for (int attempt = 1; attempt <= MAX_RETRIES; attempt++) {
+			if (attempt == MAX_ATTEMPTS) {
+				break;
+			}
 			try {
-				IDevice device = findDevice(emulatorNumber);
-				if (device == null) {
-					logger.error("Device not found after emulator restart for {}: {}", actionName, emulatorNumber);
-					if (attempt >= MAX_RETRIES / 2) {
-						logger.info("Attempting ADB restart as last resort after emulator restart (attempt {})",
-								attempt);
-						restartAdb();
-					}
-					Thread.sleep(RETRY_DELAY_MS / 2);
-					continue;
+				if (attempt == MAX_ATTEMPTS / 2) {
+					reconnectDevice(emulatorNumber);
 				}
+				Thread.sleep(backoffDelay(attempt));
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+				circuitBreaker.release(emulatorNumber);
+				throw new ADBConnectionException("Interrupted while retrying " + actionName + " on " + emulatorNumber, ie);
+			}
+		}
 
-				if (!device.isOnline()) {
-					logger.warn("Device found but not online after emulator restart, waiting... (attempt {})", attempt);
-					Thread.sleep(2000);
-					continue;
-				}
-				return action.apply(device);
-			} catch (Exception e) {
-				logger.warn("Attempt {} of {} failed after emulator restart: {}", attempt, actionName, e.getMessage());
-				if (attempt >= MAX_RETRIES - 2) {
-					logger.warn("Multiple failures after emulator restart, attempting ADB restart (attempt {})",
-							attempt);
-					try {
-						restartAdb();
-						Thread.sleep(RETRY_DELAY_MS);
-					} catch (InterruptedException ie) {
-						Thread.currentThread().interrupt();
-					}
-				} else {
-					try {
-						Thread.sleep(RETRY_DELAY_MS / 2);
-					} catch (InterruptedException ie) {
-						Thread.currentThread().interrupt();
-					}
-				}
+		if (circuitBreaker.recordFailure(emulatorNumber)) {
+			long retryAfter = circuitBreaker.getRetryAfterMs(emulatorNumber);
+			throw new DeviceCircuitOpenException("Device for emulator " + emulatorNumber + " failed " + actionName
+					+ " repeatedly, circuit opened (retry in " + retryAfter + " ms)", retryAfter, lastError);
+		}
+		throw new ADBConnectionException(
+				"All " + MAX_ATTEMPTS + " attempts failed for " + actionName + " on " + emulatorNumber, lastError);
+	}
+
+	private static <E extends Throwable> E findCause(Throwable error, Class<E> type) {
+		for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+			if (type.isInstance(cause)) {
+				return type.cast(cause);
 			}
 		}
+		return null;
+	}
 
-		// --- Phase 4: Final failure ---
-		logger.error("All attempts including emulator restart and final ADB restart failed for {} on {}", actionName,
-				emulatorNumber);
-		throw new ADBConnectionException("All attempts including ADB restart and device restart failed for "
-				+ actionName + " on " + emulatorNumber);
+	/**
+	 * Exponential backoff with equal jitter: half of the delay is fixed and the other
+	 * half random, so retries of several devices do not line up.
+	 *
+	 * @param attempt failed attempt number, starting at 1
+	 * @return delay in milliseconds before the next attempt
+	 */
+	private static long backoffDelay(int attempt) {
+		long delay = Math.min(BACKOFF_MAX_MS, BACKOFF_BASE_MS << Math.min(attempt - 1, 16));
+		return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
 	}
 
 	/**
@@ -466,18 +735,23 @@ public abstract class Emulator {
 			int minY = Math.min(point1.getY(), point2.getY());
 			int maxY = Math.max(point1.getY(), point2.getY());
 
+			// All taps go out as one batch with the delays executed device-side
+			List<String> commands = new ArrayList<>();
 			for (int i = 1; i <= tapCount; i++) {
 				int x = minX + random.nextInt(maxX - minX + 1);
 				int y = minY + random.nextInt(maxY - minY + 1);
-
-				try {
-					device.executeShellCommand("input tap " + x + " " + y, new NullOutputReceiver());
-                    // Detailed log with coordinates and tap count
-                    logger.debug("Tap {}/{} executed at ({},{}) on emulator {}", i, tapCount, x, y, emulatorNumber);
-					Thread.sleep(delayMs);
-				} catch (Exception ex) {
-					throw new RuntimeException(ex);
+				commands.add(AdbInputChannel.tap(x, y));
+				if (delayMs > 0) {
+					commands.add(AdbInputChannel.sleep(delayMs));
 				}
+                // Detailed log with coordinates and tap count
+                logger.debug("Tap {}/{} queued at ({},{}) on emulator {}", i, tapCount, x, y, emulatorNumber);
+			}
+
+			try {
+				sendInput(emulatorNumber, device, commands);
+			} catch (Exception ex) {
+				throw new RuntimeException(ex);
 			}
 			return Boolean.TRUE;
 		}, "tapAtRandomPoint x" + tapCount);
@@ -487,13 +761,16 @@ public abstract class Emulator {
 	 * Restarts the ADB bridge using the project's ADB executable.
 	 */
 	public void restartAdb() {
+		closeInputChannels();
 		AndroidDebugBridge.disconnectBridge(5000, TimeUnit.MILLISECONDS);
 		AndroidDebugBridge.terminate();
 		AndroidDebugBridge.init(false);
 
 		String adbPath = getProjectAdbPath();
 		logger.info("Restarting ADB bridge with path: {}", adbPath);
+		deviceRegistry.clear();
 		bridge = AndroidDebugBridge.createBridge(adbPath, true, 5000, TimeUnit.MILLISECONDS);
+		deviceRegistry.seed(bridge);
 		logger.info("ADB restarted successfully");
 	}
 
@@ -507,7 +784,7 @@ public abstract class Emulator {
 		withRetries(emulatorNumber, device -> {
 			try {
 				String command = String.format("input swipe %d %d %d %d", point.getX(), point.getY(), point2.getX(), point2.getY());
-				device.executeShellCommand(command, new NullOutputReceiver());
+				sendInput(emulatorNumber, device, List.of(command));
 				logger.debug("Swipe executed from ({},{}) to ({},{}) on emulator {}",
 						point.getX(), point.getY(), point2.getX(), point2.getY(), emulatorNumber);
 				return null;
@@ -524,7 +801,7 @@ public abstract class Emulator {
 	public void pressBackButton(String emulatorNumber) {
 		withRetries(emulatorNumber, device -> {
 			try {
-				device.executeShellCommand("input keyevent KEYCODE_BACK", new NullOutputReceiver());
+				sendInput(emulatorNumber, device, List.of("input keyevent KEYCODE_BACK"));
                 logger.debug("Back button pressed on emulator {}", emulatorNumber);
 				return null;
 			} catch (Exception e) {
@@ -548,7 +825,7 @@ public abstract class Emulator {
 
 				// Use input text command
 				String command = "input text \"" + escapedText + "\"";
-				device.executeShellCommand(command, new NullOutputReceiver());
+				sendInput(emulatorNumber, device, List.of(command));
 				logger.debug("Text written on emulator {}: {}", emulatorNumber, text);
 				return null;
 			} catch (Exception e) {
@@ -567,10 +844,12 @@ public abstract class Emulator {
 	public void clearText(String emulatorNumber, int count) {
 		withRetries(emulatorNumber, device -> {
 			try {
+				List<String> commands = new ArrayList<>();
 				for (int i = 0; i < count; i++) {
-					device.executeShellCommand("input keyevent KEYCODE_DEL", new NullOutputReceiver());
-					Thread.sleep(50); // Small delay between key presses
+					commands.add("input keyevent KEYCODE_DEL");
+					commands.add(AdbInputChannel.sleep(50)); // Small delay between key presses
 				}
+				sendInput(emulatorNumber, device, commands);
 				logger.debug("Cleared {} characters on emulator {}", count, emulatorNumber);
 				return null;
 			} catch (Exception e) {
@@ -579,6 +858,70 @@ public abstract class Emulator {
 		}, "clearText");
 	}
 
+	/**
+	 * Sends input commands to the device as one batch through its persistent input channel.
+	 * Commands built with {@link AdbInputChannel#sleep(long)} are delays executed device-side.
+	 * <p>
+	 * If the batch cannot be handed to the channel it is sent with one ddmlib shell call per
+	 * command instead, and the channel is not reopened for {@link #INPUT_CHANNEL_RETRY_COOLDOWN} ms.
+	 * A batch that reached the channel but was not confirmed is not sent again, because part
+	 * of it may already have run.
+	 * @param emulatorNumber Emulator identifier
+	 * @param device Device to send the input to
+	 * @param commands Shell commands executed in order
+	 * @throws InputNotAcknowledgedException if the batch was sent but not confirmed
+	 * @throws Exception if the fallback path fails
+	 */
+	protected void sendInput(String emulatorNumber, IDevice device, List<String> commands) throws Exception {
+		String serial = device.getSerialNumber();
+		Long lastFailure = inputChannelFailures.get(serial);
+
+		if (lastFailure == null || System.currentTimeMillis() - lastFailure > INPUT_CHANNEL_RETRY_COOLDOWN) {
+			AdbInputChannel channel = inputChannels.computeIfAbsent(serial,
+					key -> new AdbInputChannel(getProjectAdbPath(), key));
+			long timeoutMs = INPUT_BATCH_BASE_TIMEOUT;
+			for (String command : commands) {
+				timeoutMs += command.startsWith("sleep ") ? parseSleepMs(command) : INPUT_COMMAND_TIMEOUT;
+			}
+			try {
+				channel.execute(commands, timeoutMs);
+				inputChannelFailures.remove(serial);
+				return;
+			} catch (AdbInputChannel.BatchNotSentException e) {
+				inputChannels.remove(serial, channel);
+				inputChannelFailures.put(serial, System.currentTimeMillis());
+				logger.warn("Input channel failed on emulator {}, falling back to single shell commands: {}",
+						emulatorNumber, e.getMessage());
+			} catch (IOException e) {
+				inputChannels.remove(serial, channel);
+				inputChannelFailures.put(serial, System.currentTimeMillis());
+				throw new InputNotAcknowledgedException("Input batch on emulator " + emulatorNumber
+						+ " was not confirmed and is not replayed: " + e.getMessage(), e);
+			}
+		}
+
+		for (String command : commands) {
+			if (command.startsWith("sleep ")) {
+				Thread.sleep(parseSleepMs(command));
+			} else {
+				device.executeShellCommand(command, new NullOutputReceiver());
+			}
+		}
+	}
+
+	private long parseSleepMs(String sleepCommand) {
+		return Math.round(Double.parseDouble(sleepCommand.substring("sleep ".length())) * 1000);
+	}
+
+	/**
+	 * Closes every persistent input channel. Called when the ADB server is restarted.
+	 */
+	protected void closeInputChannels() {
+		inputChannels.values().forEach(AdbInputChannel::close);
+		inputChannels.clear();
+		inputChannelFailures.clear();
+	}
+
 	/**
 	 * Escapes special characters in text for safe shell input.
 	 * Handles spaces, quotes, and other special shell characters.
@@ -762,12 +1105,25 @@ public abstract class Emulator {
 	 * @throws TesseractException if OCR fails
 	 */
 	public String ocrRegionText(String emulatorNumber, DTOPoint p1, DTOPoint p2) throws IOException, TesseractException {
+		return ocrRegionResult(emulatorNumber, p1, p2).getText();
+	}
+
+	/**
+	 * Performs OCR on a region of the emulator screen and returns the engine confidence along with the text.
+	 * @param emulatorNumber Emulator identifier
+	 * @param p1 First corner
+	 * @param p2 Second corner
+	 * @return Recognized text with confidence
+	 * @throws IOException if image capture fails
+	 * @throws TesseractException if OCR fails
+	 */
+	public DTOOcrResult ocrRegionResult(String emulatorNumber, DTOPoint p1, DTOPoint p2) throws IOException, TesseractException {
 		DTORawImage rawImage = captureScreenshot(emulatorNumber);
 		if (rawImage == null)
 			throw new IOException("Could not capture image.");
 
         String language = (EmulatorManager.GAME == GameVersion.CHINA) ? "eng+chi_sim" : "eng";
-		return UtilOCR.ocrFromRegion(rawImage, p1, p2, language);
+		return UtilOCR.ocrResultFromRegion(rawImage, p1, p2, language);
 	}
 
 	/**
@@ -781,6 +1137,21 @@ public abstract class Emulator {
 	 * @throws TesseractException if OCR fails
 	 */
 	public String ocrRegionText(String emulatorNumber, DTOPoint p1, DTOPoint p2, DTOTesseractSettings settings) throws IOException, TesseractException {
+		return ocrRegionResult(emulatorNumber, p1, p2, settings).getText();
+	}
+
+	/**
+	 * Performs OCR on a region of the emulator screen with custom Tesseract settings and returns
+	 * the engine confidence along with the text.
+	 * @param emulatorNumber Emulator identifier
+	 * @param p1 First corner
+	 * @param p2 Second corner
+	 * @param settings Tesseract OCR configuration settings
+	 * @return Recognized text with confidence
+	 * @throws IOException if image capture fails
+	 * @throws TesseractException if OCR fails
+	 */
+	public DTOOcrResult ocrRegionResult(String emulatorNumber, DTOPoint p1, DTOPoint p2, DTOTesseractSettings settings) throws IOException, TesseractException {
 		DTORawImage rawImage;
 
 		// Check if we should reuse the last image
@@ -800,99 +1171,64 @@ public abstract class Emulator {
 		if (rawImage == null)
 			throw new IOException("Could not capture image.");
 
-		return UtilOCR.ocrFromRegion(rawImage, p1, p2, settings);
+		return UtilOCR.ocrResultFromRegion(rawImage, p1, p2, settings);
 	}
 
 	/**
-	 * Gets a cached device or finds it if not in cache or expired.
-	 * This significantly improves performance by avoiding repeated device lookups.
+	 * Gets the device for the emulator from the device registry, connecting to it if needed.
 	 * @param emulatorNumber Emulator identifier
 	 * @return IDevice instance or null if not found
 	 * @throws InterruptedException if interrupted while waiting
 	 */
 	protected IDevice getCachedDevice(String emulatorNumber) throws InterruptedException {
-		long currentTime = System.currentTimeMillis();
-
-		// Check if we have a cached device and it's still valid
-		IDevice cachedDevice = deviceCache.get(emulatorNumber);
-		Long cacheTime = deviceCacheTimestamp.get(emulatorNumber);
-
-		if (cachedDevice != null && cacheTime != null) {
-			// Check if cache is still valid (TTL not expired)
-			if ((currentTime - cacheTime) < DEVICE_CACHE_TTL) {
-				// Verify device is still online
-				if (cachedDevice.isOnline()) {
-					logger.trace("Using cached device for emulator {}", emulatorNumber);
-					return cachedDevice;
-				} else {
-					logger.debug("Cached device is offline, refreshing cache for emulator {}", emulatorNumber);
-				}
-			} else {
-				logger.trace("Device cache expired for emulator {}, refreshing", emulatorNumber);
-			}
-		}
-
-		// Cache miss or expired, find device and update cache
-		IDevice device = findDevice(emulatorNumber);
-		if (device != null) {
-			deviceCache.put(emulatorNumber, device);
-			deviceCacheTimestamp.put(emulatorNumber, currentTime);
-			logger.debug("Device cached for emulator {}", emulatorNumber);
-		}
-
-		return device;
+		return findDevice(emulatorNumber);
 	}
 
 	/**
-	 * Invalidates the device cache for a specific emulator.
-	 * Useful when a device disconnects or needs to be refreshed.
+	 * Checks if the emulator is running using its health state instead of forking the
+	 * emulator console on every call.
 	 * @param emulatorNumber Emulator identifier
+	 * @return true if running, false otherwise
+	 * @see EmulatorHealthMonitor
 	 */
-	protected void invalidateDeviceCache(String emulatorNumber) {
-		deviceCache.remove(emulatorNumber);
-		deviceCacheTimestamp.remove(emulatorNumber);
-		logger.debug("Device cache invalidated for emulator {}", emulatorNumber);
+	protected boolean isRunningCached(String emulatorNumber) {
+		return healthMonitor.isRunning(emulatorNumber);
 	}
 
 	/**
-	 * Checks if the emulator is running with caching to avoid repeated external process calls.
-	 * This wrapper method provides significant performance improvement for MEmu emulator.
+	 * Invalidates the known health of a specific emulator.
+	 * Should be called when launching or closing an emulator.
 	 * @param emulatorNumber Emulator identifier
-	 * @return true if running, false otherwise
 	 */
-	protected boolean isRunningCached(String emulatorNumber) {
-		long currentTime = System.currentTimeMillis();
-
-		// Check if we have a cached status and it's still valid
-		Boolean cachedStatus = runningStatusCache.get(emulatorNumber);
-		Long statusTime = runningStatusTimestamp.get(emulatorNumber);
-
-		if (cachedStatus != null && statusTime != null) {
-			// Check if cache is still valid (TTL not expired)
-			if ((currentTime - statusTime) < RUNNING_STATUS_CACHE_TTL) {
-				logger.trace("Using cached running status for emulator {}: {}", emulatorNumber, cachedStatus);
-				return cachedStatus;
-			}
-		}
+	protected void invalidateRunningStatusCache(String emulatorNumber) {
+		invalidateStatusSnapshot();
+		healthMonitor.invalidate(emulatorNumber);
+	}
 
-		// Cache miss or expired, call actual isRunning and update cache
-		boolean status = isRunning(emulatorNumber);
-		runningStatusCache.put(emulatorNumber, status);
-		runningStatusTimestamp.put(emulatorNumber, currentTime);
-		logger.trace("Running status cached for emulator {}: {}", emulatorNumber, status);
+	/**
+	 * Returns the current health of the emulator as tracked by the watchdog.
+	 * @param emulatorNumber Emulator identifier
+	 * @return current health
+	 */
+	public EmulatorHealth getHealth(String emulatorNumber) {
+		return healthMonitor.getHealth(emulatorNumber);
+	}
 
-		return status;
+	/**
+	 * Returns the state of the circuit breaker guarding the emulator's device.
+	 * @param emulatorNumber Emulator identifier
+	 * @return breaker state
+	 */
+	public DeviceCircuitBreaker.State getCircuitState(String emulatorNumber) {
+		return circuitBreaker.getState(emulatorNumber);
 	}
 
 	/**
-	 * Invalidates the running status cache for a specific emulator.
-	 * Should be called when launching or closing an emulator.
+	 * Closes the circuit breaker of an emulator, used after it has been relaunched.
 	 * @param emulatorNumber Emulator identifier
 	 */
-	protected void invalidateRunningStatusCache(String emulatorNumber) {
-		runningStatusCache.remove(emulatorNumber);
-		runningStatusTimestamp.remove(emulatorNumber);
-		logger.debug("Running status cache invalidated for emulator {}", emulatorNumber);
+	protected void resetCircuit(String emulatorNumber) {
+		circuitBreaker.reset(emulatorNumber);
 	}
 
 	/**
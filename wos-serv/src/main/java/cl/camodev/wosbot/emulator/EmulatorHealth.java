@@ -0,0 +1,15 @@
+package cl.camodev.wosbot.emulator;
+
+/**
+ * Health states tracked by {@link EmulatorHealthMonitor} for each emulator instance.
+ */
+public enum EmulatorHealth {
+	UNKNOWN,        // Never checked or invalidated; the next read checks synchronously
+	RUNNING,        // Emulator running and reachable
+	STOPPED,        // Emulator not running
+	UNRESPONSIVE;   // An action failed or the device dropped; the next read re-checks
+
+	public boolean isUsable() {
+		return this == RUNNING;
+	}
+}
@@ -0,0 +1,217 @@
+package cl.camodev.wosbot.emulator;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.android.ddmlib.AndroidDebugBridge;
+import com.android.ddmlib.IDevice;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per-emulator health state machine.
+ * <p>
+ * Checking whether an emulator runs forks the emulator console, which is far too
+ * expensive to do before every tap. This monitor keeps the last known
+ * {@link EmulatorHealth} of every emulator it has been asked about and keeps it
+ * current from two sources:
+ * <ul>
+ * <li>a background watchdog that periodically re-checks every tracked emulator;</li>
+ * <li>ddmlib device-change events, which mark a device running as soon as it comes
+ * online and schedule a re-check when it goes offline or disconnects.</li>
+ * </ul>
+ * Reads are O(1) while the emulator is {@link EmulatorHealth#RUNNING}. A synchronous
+ * check only happens when the state is {@link EmulatorHealth#UNKNOWN}, after a failure
+ * ({@link EmulatorHealth#UNRESPONSIVE}), or when a {@link EmulatorHealth#STOPPED} state
+ * is older than {@link #STOPPED_RECHECK_MS} so that launch loops notice a booting
+ * emulator quickly. Failed actions report back through {@link #reportFailure(String)},
+ * which also triggers a background refresh.
+ */
+public class EmulatorHealthMonitor implements AndroidDebugBridge.IDeviceChangeListener {
+
+	private static final Logger logger = LoggerFactory.getLogger(EmulatorHealthMonitor.class);
+
+	private static final long WATCHDOG_INTERVAL_MS = 10000;
+	private static final long STOPPED_RECHECK_MS = 3000;
+
+	private final Emulator emulator;
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+	private final Map<String, String> emulatorBySerial = new ConcurrentHashMap<>();
+	private final ScheduledExecutorService watchdog;
+	private AdbDeviceRegistry deviceRegistry;
+
+	public EmulatorHealthMonitor(Emulator emulator) {
+		this.emulator = emulator;
+		this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "emulator-health-watchdog");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Starts the watchdog and subscribes to the device events of the registry.
+	 *
+	 * @param deviceRegistry registry forwarding ddmlib device events
+	 */
+	public void start(AdbDeviceRegistry deviceRegistry) {
+		this.deviceRegistry = deviceRegistry;
+		deviceRegistry.addListener(this);
+		watchdog.scheduleWithFixedDelay(this::refreshAll, WATCHDOG_INTERVAL_MS, WATCHDOG_INTERVAL_MS,
+				TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Stops the watchdog and unsubscribes from device events.
+	 */
+	public void shutdown() {
+		if (deviceRegistry != null) {
+			deviceRegistry.removeListener(this);
+		}
+		watchdog.shutdownNow();
+	}
+
+	/**
+	 * @param emulatorNumber Emulator identifier
+	 * @return true if the emulator is considered running
+	 */
+	public boolean isRunning(String emulatorNumber) {
+		return getHealth(emulatorNumber).isUsable();
+	}
+
+	/**
+	 * Returns the current health, checking synchronously only if it is unknown, follows
+	 * a failure, or a stopped state is stale.
+	 *
+	 * @param emulatorNumber Emulator identifier
+	 * @return current health of the emulator
+	 */
+	public EmulatorHealth getHealth(String emulatorNumber) {
+		Entry entry = track(emulatorNumber);
+		EmulatorHealth state = entry.state;
+		if (state == EmulatorHealth.UNKNOWN || state == EmulatorHealth.UNRESPONSIVE
+				|| (state == EmulatorHealth.STOPPED && System.currentTimeMillis() - entry.checkedAt > STOPPED_RECHECK_MS)) {
+			return refresh(emulatorNumber);
+		}
+		return state;
+	}
+
+	/**
+	 * Records that an action on the emulator failed. The state becomes
+	 * {@link EmulatorHealth#UNRESPONSIVE} until a refresh settles it.
+	 *
+	 * @param emulatorNumber Emulator identifier
+	 */
+	public void reportFailure(String emulatorNumber) {
+		Entry entry = track(emulatorNumber);
+		if (entry.state != EmulatorHealth.UNRESPONSIVE) {
+			transition(emulatorNumber, entry, EmulatorHealth.UNRESPONSIVE, "action failed");
+			watchdog.execute(() -> refresh(emulatorNumber));
+		}
+	}
+
+	/**
+	 * Forgets the known state, so the next read checks synchronously. Used after the
+	 * emulator is launched or closed.
+	 *
+	 * @param emulatorNumber Emulator identifier
+	 */
+	public void invalidate(String emulatorNumber) {
+		transition(emulatorNumber, track(emulatorNumber), EmulatorHealth.UNKNOWN, "invalidated");
+	}
+
+	/**
+	 * Checks the emulator through its console and updates the state.
+	 *
+	 * @param emulatorNumber Emulator identifier
+	 * @return the refreshed health
+	 */
+	public EmulatorHealth refresh(String emulatorNumber) {
+		Entry entry = track(emulatorNumber);
+		EmulatorHealth newState;
+		try {
+			newState = emulator.isRunning(emulatorNumber) ? EmulatorHealth.RUNNING : EmulatorHealth.STOPPED;
+		} catch (RuntimeException e) {
+			logger.warn("Health check failed for emulator {}: {}", emulatorNumber, e.getMessage());
+			newState = EmulatorHealth.STOPPED;
+		}
+		transition(emulatorNumber, entry, newState, "checked");
+		return newState;
+	}
+
+	private void refreshAll() {
+		for (String emulatorNumber : entries.keySet()) {
+			try {
+				refresh(emulatorNumber);
+			} catch (Exception e) {
+				logger.warn("Watchdog refresh failed for emulator {}: {}", emulatorNumber, e.getMessage());
+			}
+		}
+	}
+
+	private Entry track(String emulatorNumber) {
+		return entries.computeIfAbsent(emulatorNumber, number -> {
+			emulatorBySerial.put(emulator.getDeviceSerial(number), number);
+			return new Entry();
+		});
+	}
+
+	private void transition(String emulatorNumber, Entry entry, EmulatorHealth newState, String reason) {
+		EmulatorHealth oldState;
+		synchronized (entry) {
+			oldState = entry.state;
+			entry.state = newState;
+			entry.checkedAt = System.currentTimeMillis();
+		}
+		if (oldState != newState) {
+			logger.debug("Emulator {} health {} -> {} ({})", emulatorNumber, oldState, newState, reason);
+		}
+	}
+
+	// ========================================================================
+	// DDMLIB DEVICE EVENTS
+	// ========================================================================
+
+	@Override
+	public void deviceConnected(IDevice device) {
+		onDeviceEvent(device);
+	}
+
+	@Override
+	public void deviceDisconnected(IDevice device) {
+		String emulatorNumber = emulatorBySerial.get(device.getSerialNumber());
+		if (emulatorNumber != null) {
+			// ADB losing the device does not prove the emulator stopped, ask the console
+			transition(emulatorNumber, entries.get(emulatorNumber), EmulatorHealth.UNRESPONSIVE, "device disconnected");
+			watchdog.execute(() -> refresh(emulatorNumber));
+		}
+	}
+
+	@Override
+	public void deviceChanged(IDevice device, int changeMask) {
+		if ((changeMask & IDevice.CHANGE_STATE) != 0) {
+			onDeviceEvent(device);
+		}
+	}
+
+	private void onDeviceEvent(IDevice device) {
+		String emulatorNumber = emulatorBySerial.get(device.getSerialNumber());
+		if (emulatorNumber == null) {
+			return;
+		}
+		if (device.isOnline()) {
+			transition(emulatorNumber, entries.get(emulatorNumber), EmulatorHealth.RUNNING, "device online");
+		} else {
+			transition(emulatorNumber, entries.get(emulatorNumber), EmulatorHealth.UNRESPONSIVE, "device offline");
+			watchdog.execute(() -> refresh(emulatorNumber));
+		}
+	}
+
+	private static final class Entry {
+		private volatile EmulatorHealth state = EmulatorHealth.UNKNOWN;
+		private volatile long checkedAt = 0;
+	}
+}
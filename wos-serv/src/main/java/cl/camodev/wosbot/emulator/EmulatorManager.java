@@ -2,28 +2,35 @@ package cl.camodev.wosbot.emulator;
 
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.LongAdder;
 
+import cl.camodev.utiles.FrameDiffUtil;
 import cl.camodev.utiles.ImageSearchUtil;
 import cl.camodev.utiles.UtilOCR;
 import cl.camodev.wosbot.console.enumerable.EnumConfigurationKey;
+import cl.camodev.wosbot.console.enumerable.EnumSlotPolicy;
 import cl.camodev.wosbot.console.enumerable.EnumTemplates;
 import cl.camodev.wosbot.console.enumerable.GameVersion;
 import cl.camodev.wosbot.emulator.impl.LDPlayerEmulator;
 import cl.camodev.wosbot.emulator.impl.MEmuEmulator;
 import cl.camodev.wosbot.emulator.impl.MuMuEmulator;
+import cl.camodev.wosbot.emulator.policy.SlotSchedulingPolicy;
 import cl.camodev.wosbot.ot.*;
+import cl.camodev.wosbot.serv.ISlotLimitChangeListener;
 import cl.camodev.wosbot.serv.impl.ServConfig;
 import cl.camodev.wosbot.serv.impl.ServProfiles;
-import cl.camodev.wosbot.serv.task.WaitingThread;
+import cl.camodev.wosbot.serv.impl.ServScheduler;
+import cl.camodev.wosbot.serv.task.TaskDeadline;
+import cl.camodev.wosbot.serv.task.TaskQueue;
 import net.sourceforge.tess4j.TesseractException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,12 +41,17 @@ public class EmulatorManager {
 
     public static GameVersion GAME = GameVersion.GLOBAL;
     private static EmulatorManager instance;
-    private final ReentrantLock lock = new ReentrantLock();
-    private final Condition permitsAvailable = lock.newCondition();
-    private final PriorityQueue<WaitingThread> waitingQueue = new PriorityQueue<>();
     private Emulator emulator;
     private int MAX_RUNNING_EMULATORS = 3;
-    private final Set<Thread> activeSlots = new HashSet<>();
+    private final EmulatorSlotManager slotManager = new EmulatorSlotManager(MAX_RUNNING_EMULATORS);
+
+    // Moves the slot limit with the host load when adaptive slots are enabled
+    private final AdaptiveSlotController slotController = new AdaptiveSlotController(this::getWaitingCount,
+            this::setSlotLimit);
+
+    // Screen captures and OCR reads per emulator, read before and after each task
+    private final ConcurrentHashMap<String, LongAdder> captureCounts = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder> ocrCounts = new ConcurrentHashMap<>();
 
     private EmulatorManager() {
 
@@ -78,6 +90,13 @@ public class EmulatorManager {
                 .ofNullable(globalConfig.get(EnumConfigurationKey.MAX_RUNNING_EMULATORS_INT.name()))
                 .map(Integer::parseInt)
                 .orElse(Integer.parseInt(EnumConfigurationKey.MAX_RUNNING_EMULATORS_INT.getDefaultValue()));
+        slotController.reset(MAX_RUNNING_EMULATORS);
+        slotController.start();
+
+        EnumSlotPolicy slotPolicy = EnumSlotPolicy
+                .fromConfig(globalConfig.get(EnumConfigurationKey.EMULATOR_SLOT_POLICY_STRING.name()));
+        slotManager.setPolicy(SlotSchedulingPolicy.create(slotPolicy, this::getEarliestTaskMillis));
+        logger.info("Emulator slot policy set to {}", slotPolicy.getDisplayName());
         try {
             EmulatorType emulatorType = EmulatorType.valueOf(savedActiveEmulator);
             String consolePath = globalConfig.get(emulatorType.getConfigKey());
@@ -87,6 +106,11 @@ public class EmulatorManager {
                         "No path found for the selected emulator: " + emulatorType.getDisplayName());
             }
 
+            if (this.emulator != null) {
+                // Stop the background work of the previous instance before replacing it
+                this.emulator.shutdown();
+            }
+
             switch (emulatorType) {
                 case MUMU:
                     this.emulator = new MuMuEmulator(consolePath);
@@ -125,7 +149,12 @@ public class EmulatorManager {
      */
     public DTORawImage captureScreenshotViaADB(String emulatorNumber) {
         checkEmulatorInitialized();
-        return emulator.captureScreenshot(emulatorNumber);
+        TaskDeadline.check();
+        long start = System.currentTimeMillis();
+        DTORawImage image = emulator.captureScreenshot(emulatorNumber);
+        countCapture(emulatorNumber);
+        slotController.recordCaptureLatency(emulatorNumber, System.currentTimeMillis() - start);
+        return image;
     }
 
     /**
@@ -133,13 +162,16 @@ public class EmulatorManager {
      */
     public void tapAtPoint(String emulatorNumber, DTOPoint point) {
         checkEmulatorInitialized();
+        TaskDeadline.check();
 
         // Get profile name and log the tap
         String profileName = getProfileNameForEmulator(emulatorNumber);
         logger.info("{} - Tapping at ({},{}) for emulator {}",
                 profileName, point.getX(), point.getY(), emulatorNumber);
 
+        long start = System.currentTimeMillis();
         emulator.tapAtRandomPoint(emulatorNumber, point, point);
+        slotController.recordInputLatency(emulatorNumber, System.currentTimeMillis() - start);
     }
 
     /**
@@ -147,13 +179,17 @@ public class EmulatorManager {
      */
     public boolean tapAtRandomPoint(String emulatorNumber, DTOPoint point1, DTOPoint point2) {
         checkEmulatorInitialized();
+        TaskDeadline.check();
 
         // Get profile name and log the tap
         String profileName = getProfileNameForEmulator(emulatorNumber);
         logger.info("{} - Random tapping in area ({},{}) to ({},{}) for emulator {}",
                 profileName, point1.getX(), point1.getY(), point2.getX(), point2.getY(), emulatorNumber);
 
-        return emulator.tapAtRandomPoint(emulatorNumber, point1, point2);
+        long start = System.currentTimeMillis();
+        boolean result = emulator.tapAtRandomPoint(emulatorNumber, point1, point2);
+        slotController.recordInputLatency(emulatorNumber, System.currentTimeMillis() - start);
+        return result;
     }
 
     /**
@@ -162,6 +198,7 @@ public class EmulatorManager {
     public boolean tapAtRandomPoint(String emulatorNumber, DTOPoint point1, DTOPoint point2, int tapCount,
             int delayMs) {
         checkEmulatorInitialized();
+        TaskDeadline.check();
 
         // Get profile name and log the tap
         String profileName = getProfileNameForEmulator(emulatorNumber);
@@ -176,6 +213,7 @@ public class EmulatorManager {
      */
     public void executeSwipe(String emulatorNumber, DTOPoint start, DTOPoint end) {
         checkEmulatorInitialized();
+        TaskDeadline.check();
 
         // Get profile name and log the swipe
         String profileName = getProfileNameForEmulator(emulatorNumber);
@@ -198,6 +236,7 @@ public class EmulatorManager {
      */
     public void tapBackButton(String emulatorNumber) {
         checkEmulatorInitialized();
+        TaskDeadline.check();
 
         // Get profile name and log the back button press
         String profileName = getProfileNameForEmulator(emulatorNumber);
@@ -207,12 +246,190 @@ public class EmulatorManager {
         emulator.pressBackButton(emulatorNumber);
     }
 
+    /**
+     * Taps at a random point within an area and waits for the screen to react
+     * instead of sleeping for a fixed delay.
+     *
+     * @param emulatorNumber Emulator identifier
+     * @param point1         First corner of the tap area
+     * @param point2         Second corner of the tap area
+     * @param settings       What to wait for, and the wait bounds
+     * @return whether the screen reacted in time, with latency metrics
+     */
+    public DTOScreenAwaitResult tapAndAwait(String emulatorNumber, DTOPoint point1, DTOPoint point2,
+            DTOScreenAwaitSettings settings) {
+        return performAndAwait(emulatorNumber, () -> tapAtRandomPoint(emulatorNumber, point1, point2), settings,
+                "tap");
+    }
+
+    /**
+     * Presses the back button and waits for the screen to react.
+     *
+     * @param emulatorNumber Emulator identifier
+     * @param settings       What to wait for, and the wait bounds
+     * @return whether the screen reacted in time, with latency metrics
+     */
+    public DTOScreenAwaitResult tapBackButtonAndAwait(String emulatorNumber, DTOScreenAwaitSettings settings) {
+        return performAndAwait(emulatorNumber, () -> tapBackButton(emulatorNumber), settings, "back");
+    }
+
+    /**
+     * Captures a baseline frame, runs the input and waits for the screen to react.
+     */
+    private DTOScreenAwaitResult performAndAwait(String emulatorNumber, Runnable input,
+            DTOScreenAwaitSettings settings, String inputName) {
+        checkEmulatorInitialized();
+        TaskDeadline.check();
+        DTORawImage baseline = null;
+        try {
+            baseline = emulator.captureScreenshot(emulatorNumber);
+            countCapture(emulatorNumber);
+        } catch (RuntimeException e) {
+            // The input still has to be sent; awaitScreen takes its first frame as the baseline
+            logger.debug("Emulator {} - baseline capture before {} failed: {}", emulatorNumber, inputName,
+                    e.getMessage());
+        }
+        input.run();
+        DTOScreenAwaitResult result = awaitScreen(emulatorNumber, baseline, settings);
+        logger.debug("Emulator {} - {} awaited {}: {}", emulatorNumber, inputName, settings.getCondition(), result);
+        return result;
+    }
+
+    /**
+     * Polls frame diffs against {@code baseline} until the condition in {@code settings}
+     * is met or the timeout expires. The elapsed time is measured from the call, so the
+     * input should be sent right before calling this.
+     * <p>
+     * Frames that cannot be compared (a failed capture, or a size change) are skipped
+     * rather than counted as a change. If there is no baseline, the first frame captured
+     * becomes the baseline, so a change that already happened is only noticed through
+     * the timeout.
+     *
+     * @param emulatorNumber Emulator identifier
+     * @param baseline       Frame captured before the input, may be {@code null}
+     * @param settings       What to wait for, and the wait bounds
+     * @return whether the condition was met, with latency metrics
+     */
+    public DTOScreenAwaitResult awaitScreen(String emulatorNumber, DTORawImage baseline,
+            DTOScreenAwaitSettings settings) {
+        checkEmulatorInitialized();
+        long start = System.nanoTime();
+        int frames = 0;
+        double ratio = 0d;
+        boolean changed = false;
+        int stableCount = 0;
+        DTORawImage reference = baseline;
+        DTORawImage previous = baseline;
+
+        try {
+            sleepWithinDeadline(settings.getMinWaitMs());
+
+            while (elapsedMs(start) < settings.getTimeoutMs()) {
+                TaskDeadline.check();
+                DTORawImage frame = emulator.captureScreenshot(emulatorNumber);
+                countCapture(emulatorNumber);
+                frames++;
+
+                if (frame == null) {
+                    // Nothing to compare, try the next frame
+                } else if (reference == null) {
+                    reference = frame;
+                } else if (!changed) {
+                    double frameRatio = regionChangedRatio(reference, frame, settings);
+                    if (frameRatio != FrameDiffUtil.NOT_COMPARABLE) {
+                        ratio = frameRatio;
+                        if (ratio >= settings.getChangeThreshold()) {
+                            changed = true;
+                            if (settings.getCondition() == DTOScreenAwaitSettings.Condition.CHANGE) {
+                                return new DTOScreenAwaitResult(true, elapsedMs(start), frames, ratio);
+                            }
+                        }
+                    }
+                } else {
+                    // Settling: compare consecutive frames until enough of them are identical
+                    double frameRatio = regionChangedRatio(previous, frame, settings);
+                    if (frameRatio == FrameDiffUtil.NOT_COMPARABLE) {
+                        stableCount = 0;
+                    } else {
+                        ratio = frameRatio;
+                        stableCount = ratio < settings.getChangeThreshold() ? stableCount + 1 : 0;
+                        if (stableCount >= settings.getStableFrames()) {
+                            return new DTOScreenAwaitResult(true, elapsedMs(start), frames, ratio);
+                        }
+                    }
+                }
+                if (frame != null) {
+                    previous = frame;
+                }
+
+                if (settings.getPollIntervalMs() > 0) {
+                    sleepWithinDeadline(settings.getPollIntervalMs());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return new DTOScreenAwaitResult(false, elapsedMs(start), frames, ratio);
+    }
+
+    /**
+     * Sleeps no longer than the execution budget of the running task allows.
+     *
+     * @throws cl.camodev.wosbot.ex.TaskDeadlineExceededError if the budget is spent
+     */
+    private static void sleepWithinDeadline(long millis) throws InterruptedException {
+        TaskDeadline.check();
+        Thread.sleep(Math.min(millis, TaskDeadline.remainingMillis()));
+        TaskDeadline.check();
+    }
+
+    private double regionChangedRatio(DTORawImage previous, DTORawImage current, DTOScreenAwaitSettings settings) {
+        if (!settings.hasArea()) {
+            return FrameDiffUtil.changedRatio(previous, current);
+        }
+        DTOPoint p1 = settings.getArea().topLeft();
+        DTOPoint p2 = settings.getArea().bottomRight();
+        return FrameDiffUtil.changedRatio(previous, current,
+                Math.min(p1.getX(), p2.getX()), Math.min(p1.getY(), p2.getY()),
+                Math.abs(p2.getX() - p1.getX()) + 1, Math.abs(p2.getY() - p1.getY()) + 1);
+    }
+
+    /**
+     * @return screen captures taken on the emulator since the application started
+     */
+    public long getCaptureCount(String emulatorNumber) {
+        LongAdder count = captureCounts.get(emulatorNumber);
+        return count != null ? count.sum() : 0;
+    }
+
+    /**
+     * @return OCR reads done on the emulator since the application started
+     */
+    public long getOcrReadCount(String emulatorNumber) {
+        LongAdder count = ocrCounts.get(emulatorNumber);
+        return count != null ? count.sum() : 0;
+    }
+
+    private void countCapture(String emulatorNumber) {
+        captureCounts.computeIfAbsent(emulatorNumber, number -> new LongAdder()).increment();
+    }
+
+    private void countOcrRead(String emulatorNumber) {
+        ocrCounts.computeIfAbsent(emulatorNumber, number -> new LongAdder()).increment();
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
     /**
      * Executes OCR on a screen region and extracts text.
      */
     public String ocrRegionText(String emulatorNumber, DTOPoint p1, DTOPoint p2)
             throws IOException, TesseractException {
         checkEmulatorInitialized();
+        TaskDeadline.check();
+        countOcrRead(emulatorNumber);
         return emulator.ocrRegionText(emulatorNumber, p1, p2);
     }
 
@@ -231,9 +448,34 @@ public class EmulatorManager {
     public String ocrRegionText(String emulatorNumber, DTOPoint p1, DTOPoint p2, DTOTesseractSettings settings)
             throws IOException, TesseractException {
         checkEmulatorInitialized();
+        TaskDeadline.check();
+        countOcrRead(emulatorNumber);
         return emulator.ocrRegionText(emulatorNumber, p1, p2, settings);
     }
 
+    /**
+     * Executes OCR on a screen region and returns the text together with the
+     * engine confidence.
+     *
+     * @param emulatorNumber Emulator identifier
+     * @param p1             First corner of the region
+     * @param p2             Second corner of the region
+     * @param settings       Tesseract OCR configuration settings, or null for the defaults
+     * @return Recognized text with confidence
+     * @throws IOException        if image capture fails
+     * @throws TesseractException if OCR fails
+     */
+    public DTOOcrResult ocrRegionResult(String emulatorNumber, DTOPoint p1, DTOPoint p2, DTOTesseractSettings settings)
+            throws IOException, TesseractException {
+        checkEmulatorInitialized();
+        TaskDeadline.check();
+        countOcrRead(emulatorNumber);
+        if (settings == null) {
+            return emulator.ocrRegionResult(emulatorNumber, p1, p2);
+        }
+        return emulator.ocrRegionResult(emulatorNumber, p1, p2, settings);
+    }
+
     /**
      * Helper method to get profile name from emulator number
      */
@@ -506,7 +748,9 @@ public class EmulatorManager {
     public int[] analyzeRegionColors(String emulatorNumber, DTOPoint topLeft, DTOPoint bottomRight, int stepSize) {
         try {
             // Take a single screenshot as DTORawImage, then convert only when needed
+            TaskDeadline.check();
             DTORawImage rawImage = emulator.captureScreenshot(emulatorNumber);
+            countCapture(emulatorNumber);
             BufferedImage image = UtilOCR.convertRawImageToBufferedImage(rawImage);
 
             int[] counts = new int[3]; // [background, green, red]
@@ -544,6 +788,8 @@ public class EmulatorManager {
     public void launchEmulator(String emulatorNumber) {
         checkEmulatorInitialized();
         emulator.launchEmulator(emulatorNumber);
+        emulator.invalidateRunningStatusCache(emulatorNumber);
+        emulator.resetCircuit(emulatorNumber);
     }
 
     /**
@@ -552,6 +798,7 @@ public class EmulatorManager {
     public void closeEmulator(String emulatorNumber) {
         checkEmulatorInitialized();
         emulator.closeEmulator(emulatorNumber);
+        emulator.invalidateRunningStatusCache(emulatorNumber);
     }
 
     public void launchApp(String emulatorNumber, String packageName) {
@@ -573,6 +820,7 @@ public class EmulatorManager {
      */
     public void writeText(String emulatorNumber, String text) {
         checkEmulatorInitialized();
+        TaskDeadline.check();
 
         // Get profile name and log the text input
         String profileName = getProfileNameForEmulator(emulatorNumber);
@@ -591,6 +839,7 @@ public class EmulatorManager {
      */
     public void clearText(String emulatorNumber, int count) {
         checkEmulatorInitialized();
+        TaskDeadline.check();
 
         // Get profile name and log the action
         String profileName = getProfileNameForEmulator(emulatorNumber);
@@ -600,9 +849,13 @@ public class EmulatorManager {
         emulator.clearText(emulatorNumber, count);
     }
 
+    /**
+     * Checks if the emulator is running. Served from the emulator health state, so
+     * it does not fork the emulator console on every call.
+     */
     public boolean isRunning(String emulatorNumber) {
         checkEmulatorInitialized();
-        return emulator.isRunning(emulatorNumber);
+        return emulator.isRunningCached(emulatorNumber);
     }
 
     public boolean isPackageRunning(String emulatorNumber, String packageName) {
@@ -616,119 +869,148 @@ public class EmulatorManager {
     }
 
     public void adquireEmulatorSlot(DTOProfiles profile, PositionCallback callback) throws InterruptedException {
-        Thread currentThread = Thread.currentThread();
-        lock.lock();
-        try {
-            // Check if this thread already has an active slot
-            if (activeSlots.contains(currentThread)) {
-                if (emulator.isRunning(profile.getEmulatorNumber())) {
-                    logger.info("Profile {} already has an active slot, continuing without acquiring a new one.",
-                            profile.getName());
-                    logSlotHolders();
-                    profile.setQueuePosition(0);
-                    return;
-                } else {
-                    activeSlots.remove(currentThread);
-                    // MAX_RUNNING_EMULATORS++;
-                    logger.info(
-                            "Profile {} had a slot, but emulator was not running, removing from slot holders and placing in queue. ",
-                            profile.getName());
-                    logSlotHolders();
-                }
-            }
-
-            // If a slot is available and no one is waiting, it is acquired immediately.
-            logger.info("Profile " + profile.getName() + " is requesting queue slot.");
-            if (activeSlots.size() < MAX_RUNNING_EMULATORS && waitingQueue.isEmpty()) {
-                logger.info("Profile " + profile.getName() + " acquired slot immediately.");
-                logger.debug("Current slot holders: " + activeSlots);
+        // Check if this thread already has an active slot
+        if (slotManager.holdsSlot()) {
+            if (emulator.isRunningCached(profile.getEmulatorNumber())) {
+                logger.info("Profile {} already has an active slot, continuing without acquiring a new one.",
+                        profile.getName());
                 profile.setQueuePosition(0);
-                // MAX_RUNNING_EMULATORS--;
-                activeSlots.add(currentThread); // Track this thread as having a slot
-                logSlotHolders();
                 return;
             }
+            slotManager.release();
+            logger.info(
+                    "Profile {} had a slot, but emulator was not running, removing from slot holders and placing in queue. ",
+                    profile.getName());
+        }
 
-            // Create the object representing the current thread with its priority
-            WaitingThread currentWaiting = new WaitingThread(currentThread, profile);
-            waitingQueue.add(currentWaiting);
+        logger.info("Profile " + profile.getName() + " is requesting queue slot.");
+        slotManager.acquire(profile, callback);
+    }
 
-            // Wait with a timeout to be able to notify the position periodically.
-            while (waitingQueue.peek() != currentWaiting || activeSlots.size() >= MAX_RUNNING_EMULATORS) {
-                // Wait for up to 1 second.
-                permitsAvailable.await(1, TimeUnit.SECONDS);
+    public void releaseEmulatorSlot(DTOProfiles profile) {
+        logger.info("Profile {} is releasing queue slot.", profile.getName());
+        profile.setQueuePosition(Integer.MAX_VALUE);
 
-                // Query and notify the current position of the thread in the queue.
-                int position = getPosition(currentWaiting);
-                profile.setQueuePosition(position);
-                callback.onPositionUpdate(currentThread, position);
-            }
-            logger.info("Profile {} acquired slot", profile.getName());
-            logger.debug("Current slot holders: " + activeSlots);
-            // It's the turn and a slot is available.
-            waitingQueue.poll(); // Remove the thread from the queue.
-            profile.setQueuePosition(0);
-            // MAX_RUNNING_EMULATORS--; // Acquire the slot.
-            activeSlots.add(currentThread); // Track this thread as having a slot
-            logSlotHolders();
-            // Notify other threads to re-evaluate the condition.
-            permitsAvailable.signalAll();
-        } finally {
-            lock.unlock();
+        if (slotManager.release()) {
+            logger.info("Thread {} released its slot", Thread.currentThread().getName());
+        } else {
+            logger.warn("Thread {} tried to release a slot it didn't have", Thread.currentThread().getName());
         }
     }
 
-    private void logSlotHolders() {
-        String listOfProfiles = activeSlots.stream()
-                .map(Thread::getName)
-                .map(name -> name.contains("-") ? name.substring(name.indexOf('-') + 1) : name)
-                .toList().toString();
-        logger.info("Current slot holders: {}/{}. {}", activeSlots.size(), MAX_RUNNING_EMULATORS, listOfProfiles);
+    /**
+     * @return true if the calling queue thread holds an emulator slot
+     */
+    public boolean holdsEmulatorSlot() {
+        return slotManager.holdsSlot();
+    }
 
+    /**
+     * Books an emulator slot for a time-critical window of the profile. The slot is
+     * claimed {@link EnumConfigurationKey#EMULATOR_RESERVATION_LEAD_SECONDS_INT} before
+     * the window so the emulator is ready when it opens.
+     *
+     * @param profile profile the window belongs to
+     * @param label   what the slot is booked for, replaces an earlier booking with the same label
+     * @param start   start of the window
+     * @param length  length of the window
+     */
+    public void reserveEmulatorSlot(DTOProfiles profile, String label, LocalDateTime start, Duration length) {
+        int leadSeconds = Optional
+                .ofNullable(ServConfig.getServices().getGlobalConfig())
+                .map(cfg -> cfg.get(EnumConfigurationKey.EMULATOR_RESERVATION_LEAD_SECONDS_INT.name()))
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(EnumConfigurationKey.EMULATOR_RESERVATION_LEAD_SECONDS_INT.getDefaultValue()));
+        slotManager.reserve(new SlotReservation(profile.getId(), profile.getName(), label,
+                start.minusSeconds(leadSeconds), start, start.plus(length)));
     }
 
-    public void releaseEmulatorSlot(DTOProfiles profile) {
-        Thread currentThread = Thread.currentThread();
-        lock.lock();
-        try {
-            logger.info("Profile {} is releasing queue slot.", profile.getName());
-            profile.setQueuePosition(Integer.MAX_VALUE);
-
-            // Only increment MAX_RUNNING_EMULATORS if this thread actually had a slot
-            if (activeSlots.remove(currentThread)) {
-                // MAX_RUNNING_EMULATORS++;
-                logger.info("Thread {} released its slot, slots available: {}", currentThread.getName(),
-                        MAX_RUNNING_EMULATORS);
-            } else {
-                logger.warn("Thread {} tried to release a slot it didn't have", currentThread.getName());
-            }
-            logSlotHolders();
-            permitsAvailable.signalAll();
-        } finally {
-            lock.unlock();
-        }
+    public void cancelSlotReservation(DTOProfiles profile, String label) {
+        slotManager.cancelReservation(profile.getId(), label);
     }
 
-    private int getPosition(WaitingThread waitingThread) {
-        int position = 1;
-        for (WaitingThread wt : waitingQueue) {
-            if (wt.equals(waitingThread)) {
-                return position;
-            }
-            position++;
-        }
-        return 0;
+    public void cancelSlotReservations(DTOProfiles profile) {
+        slotManager.cancelReservations(profile.getId());
+    }
+
+    /**
+     * @param profile profile about to start a task
+     * @param until   expected end of the task
+     * @return the earliest reservation the task would get in the way of, if any
+     */
+    public Optional<SlotReservation> findConflictingReservation(DTOProfiles profile, LocalDateTime until) {
+        return slotManager.findConflictingReservation(profile.getId(), until);
+    }
+
+    /**
+     * @return booked slot reservations, by start time
+     */
+    public List<SlotReservation> getSlotReservations() {
+        return slotManager.getReservations();
+    }
+
+    /**
+     * @return ids of the profiles waiting for a slot, in the order they will get one
+     */
+    public List<Long> getWaitingProfileIds() {
+        return slotManager.getWaitingProfileIds();
+    }
+
+    /**
+     * @return ids of the profiles currently holding a slot
+     */
+    public Set<Long> getSlotHolderProfileIds() {
+        return slotManager.getHolderProfileIds();
+    }
+
+    public int getMaxRunningEmulators() {
+        return slotManager.getLimit();
+    }
+
+    /**
+     * @return scheduled time of the earliest task of the profile in epoch milliseconds,
+     *         or {@link Long#MAX_VALUE} if the profile has no queued task
+     */
+    private long getEarliestTaskMillis(Long profileId) {
+        TaskQueue queue = ServScheduler.getServices().getQueueManager().getQueue(profileId);
+        LocalDateTime next = queue != null ? queue.getNextTaskTime() : null;
+        return next != null ? next.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : Long.MAX_VALUE;
+    }
+
+    private int getWaitingCount() {
+        return slotManager.getWaitingCount();
+    }
+
+    /**
+     * Changes the number of concurrent slots. Lowering it does not take slots away,
+     * new ones are only handed out once enough have been released.
+     */
+    private void setSlotLimit(int slotLimit) {
+        slotManager.setLimit(slotLimit);
+    }
+
+    /**
+     * @return last slot limit decision, or {@code null} before the emulator manager is initialized
+     */
+    public DTOSlotLimitState getSlotLimitState() {
+        return slotController.getState();
+    }
+
+    public void registrySlotLimitListener(ISlotLimitChangeListener listener) {
+        slotController.addListener(listener);
+    }
+
+    /**
+     * @param emulatorNumber Emulator identifier
+     * @return state of the circuit breaker guarding the emulator's device
+     */
+    public DeviceCircuitBreaker.State getCircuitState(String emulatorNumber) {
+        checkEmulatorInitialized();
+        return emulator.getCircuitState(emulatorNumber);
     }
 
     public void resetQueueState() {
-        lock.lock();
-        try {
-            waitingQueue.clear();
-            activeSlots.clear(); // Clear the set of active slots
-            permitsAvailable.signalAll();
-        } finally {
-            lock.unlock();
-        }
+        slotManager.reset();
     }
 
 }
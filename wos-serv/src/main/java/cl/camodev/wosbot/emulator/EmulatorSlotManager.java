@@ -0,0 +1,491 @@
+package cl.camodev.wosbot.emulator;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import cl.camodev.wosbot.emulator.policy.PrioritySlotPolicy;
+import cl.camodev.wosbot.emulator.policy.SlotSchedulingPolicy;
+import cl.camodev.wosbot.ot.DTOProfiles;
+import cl.camodev.wosbot.serv.task.WaitingThread;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fair priority permit system for emulator slots.
+ * <p>
+ * Which waiter is served first is decided by a pluggable {@link SlotSchedulingPolicy},
+ * static profile priority by default.
+ * <p>
+ * Waiters do not poll. Each waiting thread parks on its own and is only woken when
+ * it is handed a slot: releasing a slot (or raising the limit) assigns it directly to
+ * the first waiter in policy order, so no other thread wakes up and nobody can
+ * barge in between the release and the hand-off.
+ * <p>
+ * Queue positions are recomputed only when the queue changes, and a waiter's
+ * {@link PositionCallback} is invoked only when its own position changed. Callbacks
+ * run outside the internal lock.
+ * <p>
+ * The manager also keeps a calendar of {@link SlotReservation}s for time-critical
+ * tasks. While a reservation claims its slot, that slot is withheld from every other
+ * profile, and the reserving profile is served before any other waiter. Queues ask
+ * {@link #findConflictingReservation(Long, LocalDateTime)} before starting a task, so
+ * that they give their slot up instead of starting work that would overlap a window.
+ */
+public class EmulatorSlotManager {
+
+	private static final Logger logger = LoggerFactory.getLogger(EmulatorSlotManager.class);
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Map<Thread, Long> holders = new HashMap<>(); // slot holder thread -> profile id
+	private final List<WaitingThread> waiters = new ArrayList<>();
+	private SlotSchedulingPolicy policy = new PrioritySlotPolicy();
+	private final Map<String, SlotReservation> reservations = new LinkedHashMap<>(); // by profile id and label
+	private final ScheduledExecutorService calendar;
+	private int limit;
+
+	public EmulatorSlotManager(int limit) {
+		this.limit = limit;
+		this.calendar = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "emulator-slot-calendar");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Blocks until the current thread holds a slot.
+	 *
+	 * @param profile  profile requesting the slot
+	 * @param callback receives the queue position each time it changes, may be {@code null}
+	 * @throws InterruptedException if interrupted, or if the queue was reset, while waiting
+	 */
+	public void acquire(DTOProfiles profile, PositionCallback callback) throws InterruptedException {
+		Thread currentThread = Thread.currentThread();
+		WaitingThread waiter;
+		List<WaitingThread> moved;
+
+		lock.lock();
+		try {
+			if (holders.containsKey(currentThread)) {
+				profile.setQueuePosition(0);
+				return;
+			}
+			waiter = new WaitingThread(currentThread, profile, callback);
+			waiters.add(waiter);
+			moved = grantAvailable();
+			if (waiter.isGranted()) {
+				logger.info("Profile {} acquired slot immediately.", profile.getName());
+			} else if (moved.isEmpty()) {
+				moved = updatePositions();
+			}
+		} finally {
+			lock.unlock();
+		}
+		notifyPositions(moved);
+		if (waiter.isGranted()) {
+			profile.setQueuePosition(0);
+			return;
+		}
+
+		while (!waiter.isGranted()) {
+			LockSupport.park(this);
+			if (waiter.isGranted()) {
+				break;
+			}
+			if (waiter.isCancelled() || Thread.interrupted()) {
+				abandon(waiter);
+				if (waiter.isGranted()) {
+					// Granted while giving up, keep the slot and restore the interrupt
+					Thread.currentThread().interrupt();
+					break;
+				}
+				throw new InterruptedException("Stopped waiting for an emulator slot");
+			}
+		}
+		profile.setQueuePosition(0);
+		logger.info("Profile {} acquired slot", profile.getName());
+	}
+
+	/**
+	 * Releases the slot of the current thread and hands it to the next waiter.
+	 *
+	 * @return true if the current thread held a slot
+	 */
+	public boolean release() {
+		List<WaitingThread> moved;
+		boolean held;
+		lock.lock();
+		try {
+			Long profileId = holders.remove(Thread.currentThread());
+			held = profileId != null;
+			if (held) {
+				policy.onReleased(profileId, System.currentTimeMillis());
+			}
+			moved = grantAvailable();
+			logHolders();
+		} finally {
+			lock.unlock();
+		}
+		notifyPositions(moved);
+		return held;
+	}
+
+	/**
+	 * @return true if the current thread holds a slot
+	 */
+	public boolean holdsSlot() {
+		lock.lock();
+		try {
+			return holders.containsKey(Thread.currentThread());
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Changes the number of slots. Extra slots are handed out at once; lowering the
+	 * limit does not take slots away.
+	 */
+	public void setLimit(int limit) {
+		List<WaitingThread> moved;
+		lock.lock();
+		try {
+			this.limit = limit;
+			moved = grantAvailable();
+			logHolders();
+		} finally {
+			lock.unlock();
+		}
+		notifyPositions(moved);
+	}
+
+	public int getLimit() {
+		return limit;
+	}
+
+	/**
+	 * Replaces the policy ordering the waiters, and reorders the current ones.
+	 */
+	public void setPolicy(SlotSchedulingPolicy policy) {
+		List<WaitingThread> moved;
+		lock.lock();
+		try {
+			this.policy = policy;
+			moved = updatePositions();
+		} finally {
+			lock.unlock();
+		}
+		notifyPositions(moved);
+	}
+
+	/**
+	 * @return ids of the profiles waiting for a slot, in the order they will get one
+	 */
+	public List<Long> getWaitingProfileIds() {
+		lock.lock();
+		try {
+			return waiters.stream().sorted(grantOrder(LocalDateTime.now())).map(WaitingThread::getProfileId).toList();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public int getWaitingCount() {
+		lock.lock();
+		try {
+			return waiters.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @return ids of the profiles currently holding a slot
+	 */
+	public Set<Long> getHolderProfileIds() {
+		lock.lock();
+		try {
+			return Set.copyOf(holders.values());
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Books a slot for a future window, replacing any reservation the profile already
+	 * holds under the same label.
+	 *
+	 * @param reservation window to book
+	 */
+	public void reserve(SlotReservation reservation) {
+		LocalDateTime now = LocalDateTime.now();
+		if (reservation.isExpired(now)) {
+			cancelReservation(reservation.getProfileId(), reservation.getLabel());
+			return;
+		}
+		List<WaitingThread> moved;
+		lock.lock();
+		try {
+			SlotReservation previous = reservations.put(key(reservation.getProfileId(), reservation.getLabel()),
+					reservation);
+			if (previous == null || !previous.getStart().equals(reservation.getStart())) {
+				logger.info("Slot reserved for {} from {} (claimed from {})", reservation,
+						reservation.getStart(), reservation.getClaimStart());
+			}
+			moved = grantAvailable();
+		} finally {
+			lock.unlock();
+		}
+		notifyPositions(moved);
+		// Claims change the waiting order when they start and free capacity when they end
+		scheduleTick(Duration.between(now, reservation.getClaimStart()));
+		scheduleTick(Duration.between(now, reservation.getEnd()));
+	}
+
+	public void cancelReservation(Long profileId, String label) {
+		removeReservations(entry -> entry.getKey().equals(key(profileId, label)));
+	}
+
+	public void cancelReservations(Long profileId) {
+		removeReservations(entry -> entry.getValue().getProfileId().equals(profileId));
+	}
+
+	/**
+	 * @return booked reservations, by start time
+	 */
+	public List<SlotReservation> getReservations() {
+		lock.lock();
+		try {
+			return reservations.values().stream()
+					.sorted(Comparator.comparing(SlotReservation::getStart))
+					.toList();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Looks for a reservation that a task started now by the profile, and running until
+	 * {@code until}, would get in the way of. That is either a reservation of the profile
+	 * itself, or a reservation of a profile without a slot when there are not enough free
+	 * slots left for every such reservation.
+	 *
+	 * @param profileId profile about to start a task
+	 * @param until     expected end of the task
+	 * @return the earliest reservation in the way, if any
+	 */
+	public Optional<SlotReservation> findConflictingReservation(Long profileId, LocalDateTime until) {
+		LocalDateTime now = LocalDateTime.now();
+		lock.lock();
+		try {
+			Optional<SlotReservation> own = reservations.values().stream()
+					.filter(reservation -> reservation.getProfileId().equals(profileId))
+					.filter(reservation -> reservation.overlaps(now, until))
+					.min(Comparator.comparing(SlotReservation::getStart));
+			if (own.isPresent()) {
+				return own;
+			}
+
+			List<SlotReservation> others = reservations.values().stream()
+					.filter(reservation -> !reservation.getProfileId().equals(profileId))
+					.filter(reservation -> !holders.containsValue(reservation.getProfileId()))
+					.filter(reservation -> reservation.overlaps(now, until))
+					.sorted(Comparator.comparing(SlotReservation::getClaimStart))
+					.toList();
+			long claimants = others.stream().map(SlotReservation::getProfileId).distinct().count();
+			if (claimants > Math.max(0, limit - holders.size())) {
+				return Optional.of(others.get(0));
+			}
+			return Optional.empty();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Drops every holder and reservation and cancels every waiter, whose acquire then
+	 * fails with an {@link InterruptedException}.
+	 */
+	public void reset() {
+		lock.lock();
+		try {
+			holders.clear();
+			reservations.clear();
+			waiters.forEach(waiter -> {
+				waiter.cancel();
+				LockSupport.unpark(waiter.getThread());
+			});
+			waiters.clear();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void abandon(WaitingThread waiter) {
+		List<WaitingThread> moved;
+		lock.lock();
+		try {
+			if (!waiters.remove(waiter)) {
+				return;
+			}
+			moved = updatePositions();
+		} finally {
+			lock.unlock();
+		}
+		notifyPositions(moved);
+	}
+
+	private void removeReservations(Predicate<Map.Entry<String, SlotReservation>> filter) {
+		List<WaitingThread> moved;
+		lock.lock();
+		try {
+			if (!reservations.entrySet().removeIf(filter)) {
+				return;
+			}
+			moved = grantAvailable();
+		} finally {
+			lock.unlock();
+		}
+		notifyPositions(moved);
+	}
+
+	private void scheduleTick(Duration delay) {
+		if (delay.isNegative()) {
+			return;
+		}
+		try {
+			calendar.schedule(this::onCalendarTick, delay.toMillis() + 1, TimeUnit.MILLISECONDS);
+		} catch (RuntimeException e) {
+			logger.warn("Could not schedule slot calendar check: {}", e.getMessage());
+		}
+	}
+
+	private void onCalendarTick() {
+		List<WaitingThread> moved;
+		lock.lock();
+		try {
+			LocalDateTime now = LocalDateTime.now();
+			reservations.values().removeIf(reservation -> reservation.isExpired(now));
+			moved = grantAvailable();
+			if (moved.isEmpty()) {
+				moved = updatePositions();
+			}
+		} finally {
+			lock.unlock();
+		}
+		notifyPositions(moved);
+	}
+
+	private static String key(Long profileId, String label) {
+		return profileId + ":" + label;
+	}
+
+	/**
+	 * @return true if a reservation of the profile claims its slot now. Must be called
+	 *         with the lock held.
+	 */
+	private boolean isClaiming(Long profileId, LocalDateTime now) {
+		return reservations.values().stream()
+				.anyMatch(reservation -> reservation.getProfileId().equals(profileId) && reservation.isClaiming(now));
+	}
+
+	/**
+	 * A profile may take a slot if one is left after the claims of the other profiles
+	 * that do not hold a slot yet. Must be called with the lock held.
+	 */
+	private boolean canTakeSlot(Long profileId, LocalDateTime now) {
+		long claims = reservations.values().stream()
+				.filter(reservation -> reservation.isClaiming(now))
+				.map(SlotReservation::getProfileId)
+				.filter(id -> !id.equals(profileId) && !holders.containsValue(id))
+				.distinct()
+				.count();
+		return holders.size() + claims < limit;
+	}
+
+	/**
+	 * Claiming profiles first, then the order of the scheduling policy.
+	 */
+	private Comparator<WaitingThread> grantOrder(LocalDateTime now) {
+		return Comparator.comparing((WaitingThread waiter) -> !isClaiming(waiter.getProfileId(), now))
+				.thenComparing(policy.order(System.currentTimeMillis()));
+	}
+
+	/**
+	 * Hands free slots to the first waiters allowed to take one. Must be called with the
+	 * lock held.
+	 *
+	 * @return waiters whose position changed
+	 */
+	private List<WaitingThread> grantAvailable() {
+		LocalDateTime now = LocalDateTime.now();
+		boolean granted = false;
+		while (holders.size() < limit && !waiters.isEmpty()) {
+			Optional<WaitingThread> candidate = waiters.stream()
+					.filter(waiter -> canTakeSlot(waiter.getProfileId(), now))
+					.min(grantOrder(now));
+			if (candidate.isEmpty()) {
+				break;
+			}
+			WaitingThread next = candidate.get();
+			waiters.remove(next);
+			holders.put(next.getThread(), next.getProfileId());
+			policy.onGranted(next, System.currentTimeMillis());
+			next.updatePosition(0);
+			next.grant();
+			LockSupport.unpark(next.getThread());
+			granted = true;
+		}
+		return granted ? updatePositions() : List.of();
+	}
+
+	/**
+	 * Recomputes the 1-based position of every waiter. Must be called with the lock held.
+	 *
+	 * @return waiters whose position changed
+	 */
+	private List<WaitingThread> updatePositions() {
+		List<WaitingThread> sorted = new ArrayList<>(waiters);
+		sorted.sort(grantOrder(LocalDateTime.now()));
+		List<WaitingThread> moved = new ArrayList<>();
+		for (int i = 0; i < sorted.size(); i++) {
+			if (sorted.get(i).updatePosition(i + 1)) {
+				moved.add(sorted.get(i));
+			}
+		}
+		return moved;
+	}
+
+	private void notifyPositions(List<WaitingThread> moved) {
+		for (WaitingThread waiter : moved) {
+			try {
+				waiter.notifyPosition();
+			} catch (Exception e) {
+				logger.warn("Position callback failed for profile {}: {}", waiter.getProfileId(), e.getMessage());
+			}
+		}
+	}
+
+	private void logHolders() {
+		String listOfProfiles = holders.keySet().stream()
+				.map(Thread::getName)
+				.map(name -> name.contains("-") ? name.substring(name.indexOf('-') + 1) : name)
+				.toList().toString();
+		logger.info("Current slot holders: {}/{}. {} ({} waiting)", holders.size(), limit, listOfProfiles,
+				waiters.size());
+	}
+}
@@ -0,0 +1,14 @@
+package cl.camodev.wosbot.emulator;
+
+/**
+ * State of an emulator instance as reported by the emulator console.
+ */
+public enum EmulatorStatus {
+	STOPPED,        // Instance exists but is not running
+	STARTING,       // Emulator process started, Android not booted yet
+	RUNNING;        // Android booted and ready
+
+	public boolean isRunning() {
+		return this == RUNNING;
+	}
+}
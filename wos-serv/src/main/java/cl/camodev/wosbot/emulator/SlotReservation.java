@@ -0,0 +1,81 @@
+package cl.camodev.wosbot.emulator;
+
+import java.time.LocalDateTime;
+
+/**
+ * Emulator slot booked by a profile for a future time window.
+ * <p>
+ * From {@link #getClaimStart()} until {@link #getEnd()} the reservation claims one slot
+ * for its profile: other profiles cannot take that slot, and the profile jumps ahead
+ * of every other waiter. The claim starts a lead time before the window so that the
+ * emulator can boot and the game can load before the window opens.
+ */
+public final class SlotReservation {
+
+	private final Long profileId;
+	private final String profileName;
+	private final String label;
+	private final LocalDateTime claimStart;
+	private final LocalDateTime start;
+	private final LocalDateTime end;
+
+	public SlotReservation(Long profileId, String profileName, String label, LocalDateTime claimStart,
+			LocalDateTime start, LocalDateTime end) {
+		this.profileId = profileId;
+		this.profileName = profileName;
+		this.label = label;
+		this.claimStart = claimStart;
+		this.start = start;
+		this.end = end;
+	}
+
+	public Long getProfileId() {
+		return profileId;
+	}
+
+	public String getProfileName() {
+		return profileName;
+	}
+
+	/**
+	 * @return what the slot is booked for, unique per profile
+	 */
+	public String getLabel() {
+		return label;
+	}
+
+	public LocalDateTime getClaimStart() {
+		return claimStart;
+	}
+
+	public LocalDateTime getStart() {
+		return start;
+	}
+
+	public LocalDateTime getEnd() {
+		return end;
+	}
+
+	/**
+	 * @return true if the reservation claims its slot at the given time
+	 */
+	public boolean isClaiming(LocalDateTime time) {
+		return !time.isBefore(claimStart) && time.isBefore(end);
+	}
+
+	/**
+	 * @return true if the claim overlaps the period from {@code from} to {@code to}
+	 */
+	public boolean overlaps(LocalDateTime from, LocalDateTime to) {
+		return claimStart.isBefore(to) && end.isAfter(from);
+	}
+
+	public boolean isExpired(LocalDateTime time) {
+		return !end.isAfter(time);
+	}
+
+	@Override
+	public String toString() {
+		return profileName + " " + label + " [" + start + " - " + end + "]";
+	}
+}
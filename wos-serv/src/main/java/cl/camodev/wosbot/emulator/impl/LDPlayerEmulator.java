@@ -4,8 +4,12 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import cl.camodev.wosbot.emulator.Emulator;
+import cl.camodev.wosbot.emulator.EmulatorStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,7 +43,32 @@ public class LDPlayerEmulator extends Emulator {
     }
 
     @Override
-    public boolean isRunning(String emulatorNumber) {
+    protected Map<String, EmulatorStatus> listInstanceStatuses() throws IOException {
+        // list2 columns: index,title,top window handle,bind window handle,android started,pid,vbox pid,...
+        String[] command = { consolePath + File.separator + "ldconsole.exe", "list2" };
+        return parseInstanceStatuses(readConsoleOutput(command));
+    }
+
+    static Map<String, EmulatorStatus> parseInstanceStatuses(List<String> lines) throws IOException {
+        Map<String, EmulatorStatus> statuses = new HashMap<>();
+        for (String line : lines) {
+            String[] columns = line.trim().split(",");
+            if (columns.length < 6 || !columns[0].matches("\\d+")) {
+                continue;
+            }
+            boolean androidStarted = "1".equals(columns[4].trim());
+            boolean processStarted = !"-1".equals(columns[5].trim()) && !"0".equals(columns[5].trim());
+            statuses.put(columns[0], androidStarted ? EmulatorStatus.RUNNING
+                    : processStarted ? EmulatorStatus.STARTING : EmulatorStatus.STOPPED);
+        }
+        if (statuses.isEmpty()) {
+            throw new IOException("ldconsole list2 returned no instances");
+        }
+        return statuses;
+    }
+
+    @Override
+    protected boolean isInstanceRunning(String emulatorNumber) {
         try {
             String[] command = { consolePath + File.separator + "ldconsole.exe", "isrunning", "--index", emulatorNumber };
             ProcessBuilder pb = new ProcessBuilder(command);
@@ -4,8 +4,12 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import cl.camodev.wosbot.emulator.Emulator;
+import cl.camodev.wosbot.emulator.EmulatorStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,7 +42,29 @@ public class MEmuEmulator extends Emulator {
 	}
 
 	@Override
-	public boolean isRunning(String emulatorNumber) {
+	protected Map<String, EmulatorStatus> listInstanceStatuses() throws IOException {
+		// listvms columns: index,title,top-level window handle,running status,pid
+		String[] command = { consolePath + File.separator + "memuc", "listvms" };
+		return parseInstanceStatuses(readConsoleOutput(command));
+	}
+
+	static Map<String, EmulatorStatus> parseInstanceStatuses(List<String> lines) throws IOException {
+		Map<String, EmulatorStatus> statuses = new HashMap<>();
+		for (String line : lines) {
+			String[] columns = line.trim().split(",");
+			if (columns.length < 4 || !columns[0].matches("\\d+")) {
+				continue;
+			}
+			statuses.put(columns[0], "1".equals(columns[3].trim()) ? EmulatorStatus.RUNNING : EmulatorStatus.STOPPED);
+		}
+		if (statuses.isEmpty()) {
+			throw new IOException("memuc listvms returned no instances");
+		}
+		return statuses;
+	}
+
+	@Override
+	protected boolean isInstanceRunning(String emulatorNumber) {
 		try {
 			String[] command = { consolePath + File.separator + "memuc", "isvmrunning", "-i", emulatorNumber };
 			ProcessBuilder pb = new ProcessBuilder(command);
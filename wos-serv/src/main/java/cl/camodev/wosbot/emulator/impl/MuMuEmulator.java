@@ -4,13 +4,23 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import cl.camodev.wosbot.emulator.Emulator;
+import cl.camodev.wosbot.emulator.EmulatorStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class MuMuEmulator extends Emulator {
 	private static final Logger logger = LoggerFactory.getLogger(MuMuEmulator.class);
+	private static final Pattern INSTANCE_OBJECT = Pattern.compile("\\{[^{}]*\\}");
+	private static final Pattern INDEX_FIELD = Pattern.compile("\"index\"\\s*:\\s*\"?(\\d+)\"?");
+	private static final Pattern ANDROID_STARTED = Pattern.compile("\"is_android_started\"\\s*:\\s*true");
+	private static final Pattern PROCESS_STARTED = Pattern.compile("\"is_process_started\"\\s*:\\s*true");
 
 	public MuMuEmulator(String consolePath) {
 		super(consolePath);
@@ -38,7 +48,40 @@ public class MuMuEmulator extends Emulator {
 	}
 
 	@Override
-	public boolean isRunning(String emulatorNumber) {
+	protected Map<String, EmulatorStatus> listInstanceStatuses() throws IOException {
+		// "info -v all" prints one JSON object per instance (keyed by index when there are several)
+		String[] command = { consolePath + File.separator + "MuMuManager.exe", "info", "-v", "all" };
+		return parseInstanceStatuses(readConsoleOutput(command));
+	}
+
+	static Map<String, EmulatorStatus> parseInstanceStatuses(List<String> lines) throws IOException {
+		String output = String.join("", lines);
+		Map<String, EmulatorStatus> statuses = new HashMap<>();
+		Matcher instance = INSTANCE_OBJECT.matcher(output);
+		while (instance.find()) {
+			String json = instance.group();
+			Matcher index = INDEX_FIELD.matcher(json);
+			if (!index.find()) {
+				continue;
+			}
+			EmulatorStatus status;
+			if (ANDROID_STARTED.matcher(json).find()) {
+				status = EmulatorStatus.RUNNING;
+			} else if (PROCESS_STARTED.matcher(json).find()) {
+				status = EmulatorStatus.STARTING;
+			} else {
+				status = EmulatorStatus.STOPPED;
+			}
+			statuses.put(index.group(1), status);
+		}
+		if (statuses.isEmpty()) {
+			throw new IOException("MuMuManager info returned no instances");
+		}
+		return statuses;
+	}
+
+	@Override
+	protected boolean isInstanceRunning(String emulatorNumber) {
 		try {
 			String[] command = { consolePath + File.separator + "MuMuManager.exe", "api", "-v", emulatorNumber, "player_state" };
 			ProcessBuilder pb = new ProcessBuilder(command);
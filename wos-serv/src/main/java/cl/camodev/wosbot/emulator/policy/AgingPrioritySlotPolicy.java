@@ -0,0 +1,30 @@
+package cl.camodev.wosbot.emulator.policy;
+
+import java.util.Comparator;
+
+/**
+ * Profile priority raised by the time spent waiting: every {@code agingIntervalMs}
+ * of waiting is worth one priority level. A low priority profile overtakes a profile
+ * one level above it after waiting one interval longer, so no profile waits forever.
+ */
+public class AgingPrioritySlotPolicy implements SlotSchedulingPolicy {
+
+	public static final long DEFAULT_AGING_INTERVAL_MS = 60000;
+
+	private final long agingIntervalMs;
+
+	public AgingPrioritySlotPolicy(long agingIntervalMs) {
+		this.agingIntervalMs = Math.max(1, agingIntervalMs);
+	}
+
+	@Override
+	public Comparator<SlotRequest> order(long now) {
+		return Comparator.comparingDouble((SlotRequest request) -> -effectivePriority(request, now))
+				.thenComparing(SlotRequest::getArrivalTime);
+	}
+
+	private double effectivePriority(SlotRequest request, long now) {
+		long waited = Math.max(0, now - request.getWaitingSince());
+		return SlotSchedulingPolicy.priorityOf(request) + (double) waited / agingIntervalMs;
+	}
+}
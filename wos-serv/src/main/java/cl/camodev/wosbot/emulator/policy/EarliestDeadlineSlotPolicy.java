@@ -0,0 +1,35 @@
+package cl.camodev.wosbot.emulator.policy;
+
+import java.util.Comparator;
+import java.util.function.ToLongFunction;
+
+/**
+ * Earliest deadline first: the profile whose earliest task has been due the longest
+ * is served first, then by priority and arrival. Waiting times stay bounded by the
+ * backlog in front of a task, whatever the profile priorities.
+ */
+public class EarliestDeadlineSlotPolicy implements SlotSchedulingPolicy {
+
+	private final ToLongFunction<Long> deadlineOf;
+
+	/**
+	 * @param deadlineOf earliest due task of a profile in epoch milliseconds, or
+	 *                   {@link Long#MAX_VALUE} if the profile has none
+	 */
+	public EarliestDeadlineSlotPolicy(ToLongFunction<Long> deadlineOf) {
+		this.deadlineOf = deadlineOf;
+	}
+
+	@Override
+	public Comparator<SlotRequest> order(long now) {
+		return Comparator.comparingLong(this::deadline)
+				.thenComparingLong(request -> -SlotSchedulingPolicy.priorityOf(request))
+				.thenComparing(SlotRequest::getArrivalTime);
+	}
+
+	private long deadline(SlotRequest request) {
+		long deadline = deadlineOf.applyAsLong(request.getProfileId());
+		// Without a known task the request is due since it started waiting
+		return deadline == Long.MAX_VALUE ? request.getWaitingSince() : deadline;
+	}
+}
@@ -0,0 +1,56 @@
+package cl.camodev.wosbot.emulator.policy;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Weighted fair share of slot time. Each profile accumulates the time it held a slot
+ * divided by its weight (its priority, at least 1), and the profile with the least
+ * weighted usage is served first. Over time every profile gets slot time in
+ * proportion to its weight, so higher priority profiles get more without starving
+ * the others.
+ * <p>
+ * A profile seen for the first time starts at the lowest usage of the known
+ * profiles, so that it does not take over the slots to catch up.
+ */
+public class FairShareSlotPolicy implements SlotSchedulingPolicy {
+
+	private final Map<Long, Double> weightedUsage = new HashMap<>();
+	private final Map<Long, Grant> grants = new HashMap<>();
+
+	@Override
+	public Comparator<SlotRequest> order(long now) {
+		double floor = weightedUsage.values().stream().mapToDouble(Double::doubleValue).min().orElse(0d);
+		return Comparator.comparingDouble((SlotRequest request) -> weightedUsage.getOrDefault(
+				request.getProfileId(), floor))
+				.thenComparingLong(request -> -SlotSchedulingPolicy.priorityOf(request))
+				.thenComparing(SlotRequest::getArrivalTime);
+	}
+
+	@Override
+	public void onGranted(SlotRequest request, long now) {
+		double floor = weightedUsage.values().stream().mapToDouble(Double::doubleValue).min().orElse(0d);
+		weightedUsage.putIfAbsent(request.getProfileId(), floor);
+		grants.put(request.getProfileId(), new Grant(now, Math.max(1L, SlotSchedulingPolicy.priorityOf(request))));
+	}
+
+	@Override
+	public void onReleased(Long profileId, long now) {
+		Grant grant = grants.remove(profileId);
+		if (grant != null) {
+			double held = Math.max(0, now - grant.grantedAt);
+			weightedUsage.merge(profileId, held / grant.weight, Double::sum);
+		}
+	}
+
+	private static final class Grant {
+		private final long grantedAt;
+		private final long weight;
+
+		private Grant(long grantedAt, long weight) {
+			this.grantedAt = grantedAt;
+			this.weight = weight;
+		}
+	}
+}
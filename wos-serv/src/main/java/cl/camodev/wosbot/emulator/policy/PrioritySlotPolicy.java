@@ -0,0 +1,19 @@
+package cl.camodev.wosbot.emulator.policy;
+
+import java.util.Comparator;
+
+/**
+ * Static profile priority, highest first, then arrival order. Low priority profiles
+ * can wait indefinitely while higher priority ones keep coming back.
+ */
+public class PrioritySlotPolicy implements SlotSchedulingPolicy {
+
+	private static final Comparator<SlotRequest> ORDER = Comparator
+			.comparingLong((SlotRequest request) -> -SlotSchedulingPolicy.priorityOf(request))
+			.thenComparing(SlotRequest::getArrivalTime);
+
+	@Override
+	public Comparator<SlotRequest> order(long now) {
+		return ORDER;
+	}
+}
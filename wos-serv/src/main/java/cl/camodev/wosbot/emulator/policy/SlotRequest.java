@@ -0,0 +1,24 @@
+package cl.camodev.wosbot.emulator.policy;
+
+/**
+ * A profile waiting for an emulator slot, as seen by a {@link SlotSchedulingPolicy}.
+ */
+public interface SlotRequest {
+
+	Long getProfileId();
+
+	/**
+	 * @return profile priority, higher values are served first by priority based policies
+	 */
+	Long getPriority();
+
+	/**
+	 * @return monotonic arrival stamp, used to break ties in arrival order
+	 */
+	Long getArrivalTime();
+
+	/**
+	 * @return time the request started waiting, in epoch milliseconds
+	 */
+	long getWaitingSince();
+}
@@ -0,0 +1,56 @@
+package cl.camodev.wosbot.emulator.policy;
+
+import java.util.Comparator;
+import java.util.function.ToLongFunction;
+
+import cl.camodev.wosbot.console.enumerable.EnumSlotPolicy;
+
+/**
+ * Decides which waiting profile gets the next free emulator slot.
+ * <p>
+ * Policies are called by the slot manager with its lock held, so they do not need to
+ * be thread-safe. Times are epoch milliseconds.
+ */
+public interface SlotSchedulingPolicy {
+
+	/**
+	 * @param now current time
+	 * @return order of the waiting requests at {@code now}, first is served first
+	 */
+	Comparator<SlotRequest> order(long now);
+
+	/**
+	 * Called when a request is handed a slot.
+	 */
+	default void onGranted(SlotRequest request, long now) {
+	}
+
+	/**
+	 * Called when a profile releases its slot.
+	 */
+	default void onReleased(Long profileId, long now) {
+	}
+
+	/**
+	 * @param type       policy to create
+	 * @param deadlineOf earliest due task of a profile in epoch milliseconds, or
+	 *                   {@link Long#MAX_VALUE} if none, used by {@link EnumSlotPolicy#EARLIEST_DEADLINE}
+	 * @return new policy instance
+	 */
+	static SlotSchedulingPolicy create(EnumSlotPolicy type, ToLongFunction<Long> deadlineOf) {
+		switch (type) {
+			case PRIORITY_AGING:
+				return new AgingPrioritySlotPolicy(AgingPrioritySlotPolicy.DEFAULT_AGING_INTERVAL_MS);
+			case EARLIEST_DEADLINE:
+				return new EarliestDeadlineSlotPolicy(deadlineOf);
+			case FAIR_SHARE:
+				return new FairShareSlotPolicy();
+			default:
+				return new PrioritySlotPolicy();
+		}
+	}
+
+	static long priorityOf(SlotRequest request) {
+		return request.getPriority() != null ? request.getPriority() : 0L;
+	}
+}
@@ -0,0 +1,32 @@
+package cl.camodev.wosbot.ex;
+
+/**
+ * Thrown when an emulator action is rejected because the circuit breaker of its
+ * device is open. The caller should give up the emulator slot and come back after
+ * {@link #getRetryAfterMs()}.
+ */
+public class DeviceCircuitOpenException extends ADBConnectionException {
+    /**
+     *
+     */
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterMs;
+
+    public DeviceCircuitOpenException(String message, long retryAfterMs) {
+        super(message);
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    public DeviceCircuitOpenException(String message, long retryAfterMs, Throwable cause) {
+        super(message, cause);
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    /**
+     * @return milliseconds until the breaker lets a probe request through
+     */
+    public long getRetryAfterMs() {
+        return retryAfterMs;
+    }
+}
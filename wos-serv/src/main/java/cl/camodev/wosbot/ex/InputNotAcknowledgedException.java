@@ -0,0 +1,17 @@
+package cl.camodev.wosbot.ex;
+
+/**
+ * Thrown when an input batch was handed to the device but its completion was never
+ * confirmed. Some of its commands may already have run, so the batch is neither
+ * replayed nor retried: sending it again could repeat taps, swipes or text.
+ */
+public class InputNotAcknowledgedException extends ADBConnectionException {
+    /**
+     *
+     */
+    private static final long serialVersionUID = 1L;
+
+    public InputNotAcknowledgedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,20 @@
+package cl.camodev.wosbot.ex;
+
+/**
+ * Thrown at the next sleep, screen capture or input of a task that has used up its
+ * execution budget.
+ * <p>
+ * It is an {@link Error} so that the {@code catch (Exception e)} blocks inside task
+ * flows, which retry or carry on after a failed step, let it through to the task
+ * queue instead of looping on it.
+ */
+public class TaskDeadlineExceededError extends Error {
+	/**
+	 *
+	 */
+	private static final long serialVersionUID = 1L;
+
+	public TaskDeadlineExceededError(String message) {
+		super(message);
+	}
+}
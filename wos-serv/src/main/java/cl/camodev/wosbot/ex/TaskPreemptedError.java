@@ -0,0 +1,19 @@
+package cl.camodev.wosbot.ex;
+
+/**
+ * Thrown at a checkpoint of a long task when a more urgent task of the same profile
+ * is due. The task queue runs the urgent task and then the preempted one again.
+ * <p>
+ * Like {@link TaskDeadlineExceededError} it is an {@link Error}, so the
+ * {@code catch (Exception e)} blocks inside task flows let it through.
+ */
+public class TaskPreemptedError extends Error {
+	/**
+	 *
+	 */
+	private static final long serialVersionUID = 1L;
+
+	public TaskPreemptedError(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,8 @@
+package cl.camodev.wosbot.serv;
+
+import cl.camodev.wosbot.ot.DTOSlotLimitState;
+
+public interface ISlotLimitChangeListener {
+
+	public void onSlotLimitChange(DTOSlotLimitState state);
+}
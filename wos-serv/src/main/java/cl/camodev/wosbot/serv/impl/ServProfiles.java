@@ -18,6 +18,7 @@ import cl.camodev.wosbot.ot.DTOProfiles;
 import cl.camodev.wosbot.serv.IProfileDataChangeListener;
 import cl.camodev.wosbot.serv.IProfileStatusChangeListener;
 import cl.camodev.wosbot.serv.IServProfile;
+import cl.camodev.wosbot.serv.task.TaskContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -161,6 +162,8 @@ public class ServProfiles implements IServProfile {
 
 			boolean success = iProfileRepository.deleteProfile(existingProfile);
 			if (success) {
+				TaskContext.release(profile.getId());
+				ServTaskRuntimeStats.getServices().release(profile.getId());
 				notifyProfileDataChange(profile);
 			}
 			return success;
@@ -324,6 +324,8 @@ public class ServScheduler {
 			config.setValue(filePath);
 			iConfigRepository.saveConfig(config);
 		}
+		// Running queues pick up the new value right away
+		queueManager.wakeQueues();
 	}
 
 	public TaskQueueManager getQueueManager() {
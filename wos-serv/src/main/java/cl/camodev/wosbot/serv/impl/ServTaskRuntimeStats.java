@@ -0,0 +1,234 @@
+package cl.camodev.wosbot.serv.impl;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import cl.camodev.wosbot.almac.entity.Profile;
+import cl.camodev.wosbot.almac.entity.TaskRuntimeStats;
+import cl.camodev.wosbot.almac.entity.TpDailyTask;
+import cl.camodev.wosbot.almac.repo.DailyTaskRepository;
+import cl.camodev.wosbot.almac.repo.IDailyTaskRepository;
+import cl.camodev.wosbot.almac.repo.IProfileRepository;
+import cl.camodev.wosbot.almac.repo.ITaskRuntimeStatsRepository;
+import cl.camodev.wosbot.almac.repo.ProfileRepository;
+import cl.camodev.wosbot.almac.repo.TaskRuntimeStatsRepository;
+import cl.camodev.wosbot.console.enumerable.TpDailyTaskEnum;
+import cl.camodev.wosbot.ot.DTOTaskRuntimeStats;
+
+/**
+ * Keeps how long each task type takes on each profile, how often it succeeds and how
+ * many screen captures and OCR reads it needs.
+ * <p>
+ * Durations are kept for the last {@value #MAX_DURATIONS} runs only, so the
+ * percentiles follow changes in the game or the emulator. Statistics of a profile
+ * are loaded from the database the first time they are needed and written back after
+ * every run.
+ */
+public class ServTaskRuntimeStats {
+
+	private static final Logger logger = LoggerFactory.getLogger(ServTaskRuntimeStats.class);
+	private static final int MAX_DURATIONS = 32;
+
+	private static ServTaskRuntimeStats instance;
+
+	private final ITaskRuntimeStatsRepository iTaskRuntimeStatsRepository = TaskRuntimeStatsRepository.getRepository();
+	private final IDailyTaskRepository iDailyTaskRepository = DailyTaskRepository.getRepository();
+	private final IProfileRepository iProfileRepository = ProfileRepository.getRepository();
+	private final Map<Long, Map<TpDailyTaskEnum, Entry>> statsByProfile = new ConcurrentHashMap<>();
+
+	private ServTaskRuntimeStats() {
+
+	}
+
+	public static synchronized ServTaskRuntimeStats getServices() {
+		if (instance == null) {
+			instance = new ServTaskRuntimeStats();
+		}
+		return instance;
+	}
+
+	/**
+	 * Adds one run of a task and persists the updated statistics.
+	 *
+	 * @param durationMs how long the run took
+	 * @param success    whether it finished without an error
+	 * @param captures   screen captures taken during the run
+	 * @param ocrReads   OCR reads done during the run
+	 */
+	public void recordExecution(Long profileId, TpDailyTaskEnum task, long durationMs, boolean success, long captures,
+			long ocrReads) {
+		if (profileId == null || task == null) {
+			return;
+		}
+		Entry entry = entriesOf(profileId).computeIfAbsent(task, type -> new Entry(null));
+		synchronized (entry) {
+			entry.add(durationMs, success, captures, ocrReads);
+			persist(profileId, task, entry);
+		}
+	}
+
+	/**
+	 * @return 95th percentile duration of the task on the profile, or
+	 *         {@code defaultMs} if it never ran there
+	 */
+	public long estimateRuntime(Long profileId, TpDailyTaskEnum task, long defaultMs) {
+		Entry entry = profileId != null && task != null ? entriesOf(profileId).get(task) : null;
+		if (entry == null) {
+			return defaultMs;
+		}
+		synchronized (entry) {
+			return entry.durations.isEmpty() ? defaultMs : entry.percentile(0.95);
+		}
+	}
+
+	/**
+	 * @return statistics of the task on the profile, or {@code null} if it never ran there
+	 */
+	public DTOTaskRuntimeStats getStats(Long profileId, TpDailyTaskEnum task) {
+		Entry entry = entriesOf(profileId).get(task);
+		if (entry == null) {
+			return null;
+		}
+		synchronized (entry) {
+			return entry.toDTO(profileId, task);
+		}
+	}
+
+	/**
+	 * @return statistics of every task that ran on the profile
+	 */
+	public List<DTOTaskRuntimeStats> getStats(Long profileId) {
+		return entriesOf(profileId).keySet().stream()
+				.map(task -> getStats(profileId, task))
+				.filter(Objects::nonNull)
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Drops the cached statistics of a deleted profile. Its rows go with the profile.
+	 */
+	public void release(Long profileId) {
+		statsByProfile.remove(profileId);
+	}
+
+	private Map<TpDailyTaskEnum, Entry> entriesOf(Long profileId) {
+		return statsByProfile.computeIfAbsent(profileId, this::load);
+	}
+
+	private Map<TpDailyTaskEnum, Entry> load(Long profileId) {
+		Map<TpDailyTaskEnum, Entry> entries = new EnumMap<>(TpDailyTaskEnum.class);
+		try {
+			for (TaskRuntimeStats stats : iTaskRuntimeStatsRepository.findByProfileId(profileId)) {
+				try {
+					entries.put(TpDailyTaskEnum.fromId(stats.getTask().getId()), new Entry(stats));
+				} catch (IllegalArgumentException e) {
+					// Task type no longer exists
+				}
+			}
+		} catch (Exception e) {
+			logger.error("Error loading task runtime statistics of profile {}: {}", profileId, e.getMessage());
+		}
+		return new ConcurrentHashMap<>(entries);
+	}
+
+	private void persist(Long profileId, TpDailyTaskEnum task, Entry entry) {
+		try {
+			if (entry.entity == null) {
+				Profile profile = iProfileRepository.getProfileById(profileId);
+				TpDailyTask tpDailyTask = iDailyTaskRepository.findTpDailyTaskById(task.getId());
+				if (profile == null || tpDailyTask == null) {
+					return;
+				}
+				entry.entity = new TaskRuntimeStats(profile, tpDailyTask);
+				entry.copyTo(entry.entity);
+				if (!iTaskRuntimeStatsRepository.addTaskRuntimeStats(entry.entity)) {
+					entry.entity = null;
+				}
+			} else {
+				entry.copyTo(entry.entity);
+				iTaskRuntimeStatsRepository.saveTaskRuntimeStats(entry.entity);
+			}
+		} catch (Exception e) {
+			logger.error("Error saving runtime statistics of {} for profile {}: {}", task, profileId, e.getMessage());
+		}
+	}
+
+	private static final class Entry {
+		private final Deque<Long> durations = new ArrayDeque<>();
+		private TaskRuntimeStats entity;
+		private long runs;
+		private long successes;
+		private long captures;
+		private long ocrReads;
+
+		private Entry(TaskRuntimeStats entity) {
+			this.entity = entity;
+			if (entity == null) {
+				return;
+			}
+			runs = entity.getRuns();
+			successes = entity.getSuccesses();
+			captures = entity.getCaptures();
+			ocrReads = entity.getOcrReads();
+			String recent = entity.getRecentDurations();
+			if (recent != null && !recent.isBlank()) {
+				for (String value : recent.split(",")) {
+					try {
+						durations.addLast(Long.parseLong(value.trim()));
+					} catch (NumberFormatException e) {
+						// A damaged sample only costs that sample
+					}
+				}
+			}
+		}
+
+		private void add(long durationMs, boolean success, long captureCount, long ocrReadCount) {
+			runs++;
+			if (success) {
+				successes++;
+			}
+			captures += captureCount;
+			ocrReads += ocrReadCount;
+			durations.addLast(Math.max(0, durationMs));
+			while (durations.size() > MAX_DURATIONS) {
+				durations.removeFirst();
+			}
+		}
+
+		/**
+		 * @return nearest-rank percentile of the recent durations, 0 if there are none
+		 */
+		private long percentile(double fraction) {
+			if (durations.isEmpty()) {
+				return 0;
+			}
+			long[] sorted = durations.stream().mapToLong(Long::longValue).toArray();
+			Arrays.sort(sorted);
+			int rank = (int) Math.ceil(fraction * sorted.length);
+			return sorted[Math.max(0, rank - 1)];
+		}
+
+		private void copyTo(TaskRuntimeStats stats) {
+			stats.setRuns(runs);
+			stats.setSuccesses(successes);
+			stats.setCaptures(captures);
+			stats.setOcrReads(ocrReads);
+			stats.setRecentDurations(durations.stream().map(String::valueOf).collect(Collectors.joining(",")));
+		}
+
+		private DTOTaskRuntimeStats toDTO(Long profileId, TpDailyTaskEnum task) {
+			return new DTOTaskRuntimeStats(profileId, task.getId(), runs, successes, percentile(0.5), percentile(0.95),
+					captures, ocrReads);
+		}
+	}
+}
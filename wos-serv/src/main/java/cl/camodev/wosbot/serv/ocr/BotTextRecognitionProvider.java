@@ -1,5 +1,6 @@
 package cl.camodev.wosbot.serv.ocr;
 
+import cl.camodev.wosbot.ot.DTOOcrResult;
 import cl.camodev.wosbot.ot.DTOPoint;
 import cl.camodev.wosbot.ot.DTOTesseractSettings;
 import cl.camodev.wosbot.emulator.EmulatorManager;
@@ -40,4 +41,12 @@ public class BotTextRecognitionProvider implements TextRecognitionProvider {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DTOOcrResult ocrRegionResult(DTOPoint p1, DTOPoint p2, DTOTesseractSettings settings) throws IOException, TesseractException {
+        return emulatorManager.ocrRegionResult(emulatorNumber, p1, p2, settings);
+    }
+
 }
\ No newline at end of file
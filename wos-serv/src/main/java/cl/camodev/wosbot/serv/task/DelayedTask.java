@@ -8,9 +8,12 @@ import cl.camodev.wosbot.console.enumerable.EnumTpMessageSeverity;
 import cl.camodev.wosbot.console.enumerable.TpDailyTaskEnum;
 import cl.camodev.wosbot.emulator.EmulatorManager;
 import cl.camodev.wosbot.ex.HomeNotFoundException;
-import cl.camodev.wosbot.logging.ProfileLogger;
+import cl.camodev.wosbot.ex.TaskDeadlineExceededError;
+import cl.camodev.wosbot.ex.TaskPreemptedError;
 import cl.camodev.wosbot.ot.DTOPoint;
 import cl.camodev.wosbot.ot.DTOProfiles;
+import cl.camodev.wosbot.ot.DTOScreenAwaitResult;
+import cl.camodev.wosbot.ot.DTOScreenAwaitSettings;
 import cl.camodev.wosbot.ot.DTOTesseractSettings;
 import cl.camodev.wosbot.serv.impl.ServLogs;
 import cl.camodev.wosbot.serv.impl.ServProfiles;
@@ -19,17 +22,16 @@ import cl.camodev.wosbot.serv.impl.StaminaService;
 import cl.camodev.wosbot.serv.ocr.BotTextRecognitionProvider;
 import cl.camodev.wosbot.serv.task.constants.CommonOCRSettings;
 import cl.camodev.wosbot.serv.task.helper.*;
-import cl.camodev.wosbot.serv.task.impl.ArenaTask;
-import cl.camodev.wosbot.serv.task.impl.BearTrapTask;
 import cl.camodev.wosbot.serv.task.impl.InitializeTask;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.Objects;
 import java.util.concurrent.Delayed;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * Abstract base class for all game automation tasks.
@@ -58,8 +60,9 @@ import java.util.concurrent.TimeUnit;
  * 
  * <p>
  * <b>Helper Classes:</b>
- * All helper instances are initialized eagerly in the constructor and available
- * to subclasses for use in task implementations.
+ * Helper instances come from the profile's {@link TaskContext}, which builds them
+ * once and shares them between all tasks of the profile. They are available to
+ * subclasses for use in task implementations.
  * 
  * @author WoS Bot
  * @see TaskQueue
@@ -89,7 +92,10 @@ public abstract class DelayedTask implements Runnable, Delayed {
     protected EmulatorManager emuManager = EmulatorManager.getInstance();
     protected ServScheduler servScheduler = ServScheduler.getServices();
     protected ServLogs servLogs = ServLogs.getServices();
-    private ProfileLogger logger;
+    private final TaskContext context;
+    private Supplier<EnumStartLocation> nextStartLocation;
+    private Supplier<DelayedTask> urgentTask;
+    private boolean resuming;
 
     // ========================================================================
     // HELPER INSTANCES
@@ -116,7 +122,7 @@ public abstract class DelayedTask implements Runnable, Delayed {
     protected static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss");
 
     /**
-     * Constructs a new DelayedTask with all helper instances initialized.
+     * Constructs a new DelayedTask bound to the shared helpers of its profile.
      * 
      * @param profile The profile this task will execute for
      * @param tpTask  The task type enum
@@ -127,25 +133,22 @@ public abstract class DelayedTask implements Runnable, Delayed {
         this.scheduledTime = LocalDateTime.now();
         this.EMULATOR_NUMBER = profile.getEmulatorNumber();
         this.tpTask = tpTask;
-        this.logger = new ProfileLogger(this.getClass(), profile);
-
-        // Initialize OCR providers and helpers
-        this.provider = new BotTextRecognitionProvider(emuManager, EMULATOR_NUMBER);
-        this.integerHelper = new TextRecognitionRetrier<>(provider);
-        this.durationHelper = new TextRecognitionRetrier<>(provider);
-        this.stringHelper = new TextRecognitionRetrier<>(provider);
-
-        // Initialize game helpers
-        this.templateSearchHelper = new TemplateSearchHelper(emuManager, EMULATOR_NUMBER, profile);
-        this.navigationHelper = new NavigationHelper(emuManager, EMULATOR_NUMBER, profile);
-        this.marchHelper = new MarchHelper(emuManager, EMULATOR_NUMBER, stringHelper, profile);
-        this.staminaHelper = new StaminaHelper(emuManager, EMULATOR_NUMBER, integerHelper, durationHelper, profile,
-                marchHelper);
-        this.intelScreenHelper = new IntelScreenHelper(emuManager, EMULATOR_NUMBER, templateSearchHelper,
-                navigationHelper, profile);
-        this.allianceHelper = new AllianceHelper(emuManager, EMULATOR_NUMBER, templateSearchHelper, navigationHelper,
-                profile);
-        this.eventHelper = new EventHelper(emuManager, EMULATOR_NUMBER, profile);
+        this.context = TaskContext.of(profile);
+
+        // OCR providers and helpers are shared by all tasks of the profile
+        this.provider = context.provider();
+        this.integerHelper = context.integerHelper();
+        this.durationHelper = context.durationHelper();
+        this.stringHelper = context.stringHelper();
+
+        // Game helpers
+        this.templateSearchHelper = context.templateSearchHelper();
+        this.navigationHelper = context.navigationHelper();
+        this.marchHelper = context.marchHelper();
+        this.staminaHelper = context.staminaHelper();
+        this.intelScreenHelper = context.intelScreenHelper();
+        this.allianceHelper = context.allianceHelper();
+        this.eventHelper = context.eventHelper();
     }
 
     /**
@@ -178,6 +181,44 @@ public abstract class DelayedTask implements Runnable, Delayed {
         return EnumStartLocation.ANY;
     }
 
+    /**
+     * Specifies the emulator slot window of a time-critical task.
+     *
+     * <p>
+     * Override this for tasks that must start at their scheduled time. When a
+     * window is returned, the task queue books an emulator slot from the
+     * scheduled time for that long, and other profiles avoid starting tasks
+     * that would still hold the slot when the window opens.
+     *
+     * @return Length of the window starting at the scheduled time, or null if
+     *         the task can wait for a slot like any other
+     */
+    protected Duration getSlotReservation() {
+        return null;
+    }
+
+    /**
+     * Specifies how long a run of the task may keep the emulator.
+     *
+     * <p>
+     * Once the budget is spent the task is stopped at its next sleep, screen
+     * capture or input, and the queue gives its emulator slot back. The default
+     * is the budget of the task type, extended to cover the slot window of
+     * tasks that book one. Override this for tasks whose run time depends on
+     * their parameters.
+     *
+     * @return Longest time a run of this task may take
+     * @see TaskDeadline
+     */
+    protected Duration getExecutionBudget() {
+        Duration budget = tpTask.getExecutionBudget();
+        Duration reservation = getSlotReservation();
+        if (reservation != null && reservation.plusMinutes(10).compareTo(budget) > 0) {
+            return reservation.plusMinutes(10);
+        }
+        return budget;
+    }
+
     /**
      * Main task execution entry point.
      * 
@@ -217,10 +258,73 @@ public abstract class DelayedTask implements Runnable, Delayed {
             shouldUpdateConfig = false;
         }
 
+        // The next task navigates to its own start screen, so returning first is only
+        // worth it when it starts somewhere else or nothing follows
+        EnumStartLocation next = nextStartLocation != null ? nextStartLocation.get() : null;
+        if (next != null && next.follows(getRequiredStartLocation())) {
+            logDebug("Next task starts on " + next + ", skipping return to screen");
+            return;
+        }
+
         sleepTask(2000); // Brief delay before cleanup
         navigationHelper.ensureCorrectScreenLocation(EnumStartLocation.ANY);
     }
 
+    /**
+     * Sets how {@link #run()} finds out where the task that follows it starts, so that
+     * it can leave the screen as it is when that task starts on the same one.
+     *
+     * @param nextStartLocation supplies the start location of the next ready task, or
+     *                          {@code null} if none is ready
+     */
+    void setNextStartLocation(Supplier<EnumStartLocation> nextStartLocation) {
+        this.nextStartLocation = nextStartLocation;
+    }
+
+    /**
+     * Sets how {@link #checkpoint(String)} finds a due task that is more urgent than
+     * this one.
+     *
+     * @param urgentTask supplies the due task of a higher priority class, or
+     *                   {@code null} if there is none
+     */
+    void setUrgentTask(Supplier<DelayedTask> urgentTask) {
+        this.urgentTask = urgentTask;
+    }
+
+    void setResuming(boolean resuming) {
+        this.resuming = resuming;
+    }
+
+    /**
+     * @return true if the previous run of this task was preempted at a checkpoint
+     */
+    protected boolean isResuming() {
+        return resuming;
+    }
+
+    /**
+     * Preemption point for long tasks.
+     *
+     * <p>
+     * If a task of a higher priority class is due, for example a Bear Trap or
+     * Arena window, the run ends here. The queue runs the urgent task and then
+     * this task again, on the same instance, so fields keep the progress made
+     * so far and {@link #isResuming()} returns true. Call this between whole
+     * steps, at points the task can start over from. How long an urgent task
+     * waits is bounded by the longest stretch between checkpoints, and in the
+     * worst case by {@link #getExecutionBudget()}.
+     *
+     * @param step What the task is about to do, for the log
+     * @throws TaskPreemptedError if an urgent task is due
+     */
+    protected void checkpoint(String step) {
+        DelayedTask urgent = urgentTask != null ? urgentTask.get() : null;
+        if (urgent != null) {
+            throw new TaskPreemptedError(taskName + " yielded to " + urgent.getTaskName() + " before " + step);
+        }
+    }
+
     /**
      * Task-specific execution logic.
      * 
@@ -286,6 +390,7 @@ public abstract class DelayedTask implements Runnable, Delayed {
                 5, // Max retry attempts
                 200L, // Delay between retries
                 settings,
+                CommonOCRSettings.NUMBER_CONFIDENCE,
                 text -> NumberValidators.matchesPattern(text, CommonOCRSettings.NUMBER_PATTERN),
                 text -> NumberConverters.regexToInt(text, CommonOCRSettings.NUMBER_PATTERN));
 
@@ -368,18 +473,73 @@ public abstract class DelayedTask implements Runnable, Delayed {
     }
 
     /**
-     * Sleeps for the specified duration.
+     * Taps at the specified point and waits until the screen has reacted and stopped
+     * moving. Replaces {@code tapPoint(point); sleepTask(maxWaitMs)}: it returns as soon
+     * as the new screen is still, and never waits longer than the fixed sleep did.
+     * 
+     * @param point     The point to tap
+     * @param maxWaitMs Longest wait, normally the fixed sleep it replaces
+     * @return true if the screen settled before {@code maxWaitMs}
+     */
+    public boolean tapPointAndAwait(DTOPoint point, long maxWaitMs) {
+        return tapRandomPointAndAwait(point, point, DTOScreenAwaitSettings.settle(maxWaitMs));
+    }
+
+    /**
+     * Taps at a random point within the specified rectangle and waits for the
+     * screen to react as described by {@code settings}.
+     * 
+     * @param p1       First corner of the rectangle
+     * @param p2       Opposite corner of the rectangle
+     * @param settings What to wait for (change or settle, region) and the wait bounds
+     * @return true if the condition was met before the timeout
+     */
+    public boolean tapRandomPointAndAwait(DTOPoint p1, DTOPoint p2, DTOScreenAwaitSettings settings) {
+        DTOScreenAwaitResult result = emuManager.tapAndAwait(EMULATOR_NUMBER, p1, p2, settings);
+        logAwaitResult("Tap", result);
+        return result.isSatisfied();
+    }
+
+    /**
+     * Taps the back button and waits for the screen to react as described by
+     * {@code settings}.
+     * 
+     * @param settings What to wait for (change or settle, region) and the wait bounds
+     * @return true if the condition was met before the timeout
+     */
+    public boolean tapBackButtonAndAwait(DTOScreenAwaitSettings settings) {
+        DTOScreenAwaitResult result = emuManager.tapBackButtonAndAwait(EMULATOR_NUMBER, settings);
+        logAwaitResult("Back button", result);
+        return result.isSatisfied();
+    }
+
+    private void logAwaitResult(String input, DTOScreenAwaitResult result) {
+        if (result.isSatisfied()) {
+            logDebug(input + " reacted after " + result.getElapsedMs() + " ms (" + result.getFramesCaptured()
+                    + " frames)");
+        } else {
+            logDebug(input + " did not react within " + result.getElapsedMs() + " ms ("
+                    + result.getFramesCaptured() + " frames)");
+        }
+    }
+
+    /**
+     * Sleeps for the specified duration, or until the execution budget of the
+     * task runs out.
      * 
      * @param millis Duration to sleep in milliseconds
-     * @throws RuntimeException if interrupted
+     * @throws RuntimeException           if interrupted
+     * @throws TaskDeadlineExceededError if the execution budget is spent
      */
     protected void sleepTask(long millis) {
+        TaskDeadline.check();
         try {
-            Thread.sleep(millis);
+            Thread.sleep(Math.min(millis, TaskDeadline.remainingMillis()));
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new RuntimeException("Task was interrupted during sleep", e);
         }
+        TaskDeadline.check();
     }
 
     // ========================================================================
@@ -388,31 +548,31 @@ public abstract class DelayedTask implements Runnable, Delayed {
 
     public void logInfo(String message) {
         String prefixedMessage = profile.getName() + " - " + message;
-        logger.info(prefixedMessage);
+        context.logger(getClass()).info(prefixedMessage);
         servLogs.appendLog(EnumTpMessageSeverity.INFO, taskName, profile.getName(), message);
     }
 
     public void logWarning(String message) {
         String prefixedMessage = profile.getName() + " - " + message;
-        logger.warn(prefixedMessage);
+        context.logger(getClass()).warn(prefixedMessage);
         servLogs.appendLog(EnumTpMessageSeverity.WARNING, taskName, profile.getName(), message);
     }
 
     public void logError(String message) {
         String prefixedMessage = profile.getName() + " - " + message;
-        logger.error(prefixedMessage);
+        context.logger(getClass()).error(prefixedMessage);
         servLogs.appendLog(EnumTpMessageSeverity.ERROR, taskName, profile.getName(), message);
     }
 
     public void logError(String message, Throwable t) {
         String prefixedMessage = profile.getName() + " - " + message;
-        logger.error(prefixedMessage, t);
+        context.logger(getClass()).error(prefixedMessage, t);
         servLogs.appendLog(EnumTpMessageSeverity.ERROR, taskName, profile.getName(), message);
     }
 
     public void logDebug(String message) {
         String prefixedMessage = profile.getName() + " - " + message;
-        logger.debug(prefixedMessage);
+        context.logger(getClass()).debug(prefixedMessage);
         servLogs.appendLog(EnumTpMessageSeverity.DEBUG, taskName, profile.getName(), message);
     }
 
@@ -458,58 +618,32 @@ public abstract class DelayedTask implements Runnable, Delayed {
 
     @Override
     public long getDelay(TimeUnit unit) {
-        long diff = scheduledTime.toEpochSecond(ZoneOffset.UTC) -
-                LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
-        return unit.convert(diff, TimeUnit.SECONDS);
+        return unit.convert(getScheduledMillis() - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
     }
 
+    /**
+     * @return scheduled time as epoch milliseconds
+     */
+    public long getScheduledMillis() {
+        return scheduledTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Orders by scheduled time, then by priority class. Does not read the clock, so
+     * the order of two tasks only changes when one of them is rescheduled. The queue
+     * itself orders through {@link TaskSchedule}.
+     */
     @Override
     public int compareTo(Delayed o) {
         if (this == o)
             return 0;
+        if (!(o instanceof DelayedTask other))
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), o.getDelay(TimeUnit.MILLISECONDS));
 
-        // Priority 1: InitializeTask has absolute highest priority
-        boolean thisInit = this instanceof InitializeTask;
-        boolean otherInit = o instanceof InitializeTask;
-        if (thisInit && !otherInit)
-            return -1;
-        if (!thisInit && otherInit)
-            return 1;
-
-        // Get delays
-        long thisDelay = this.getDelay(TimeUnit.NANOSECONDS);
-        long otherDelay = o.getDelay(TimeUnit.NANOSECONDS);
-
-        boolean thisReady = thisDelay <= 0;
-        boolean otherReady = otherDelay <= 0;
-
-        // Priority 2: Tasks with delay <= 0 (ready) have higher priority
-        if (thisReady && !otherReady)
-            return -1;
-        if (!thisReady && otherReady)
-            return 1;
-
-        // If both ready, prioritize by task type
-        if (thisReady && otherReady) {
-            // Priority 3: BearTrapTask
-            boolean thisBearTrap = this instanceof BearTrapTask;
-            boolean otherBearTrap = o instanceof BearTrapTask;
-            if (thisBearTrap && !otherBearTrap)
-                return -1;
-            if (!thisBearTrap && otherBearTrap)
-                return 1;
-
-            // Priority 4: ArenaTask
-            boolean thisArena = this instanceof ArenaTask;
-            boolean otherArena = o instanceof ArenaTask;
-            if (thisArena && !otherArena)
-                return -1;
-            if (!thisArena && otherArena)
-                return 1;
-        }
-
-        // Priority 5: Compare by scheduled time
-        return Long.compare(thisDelay, otherDelay);
+        int cmp = Long.compare(getScheduledMillis(), other.getScheduledMillis());
+        if (cmp != 0)
+            return cmp;
+        return tpTask.getPriorityClass().compareTo(other.tpTask.getPriorityClass());
     }
 
     // ========================================================================
@@ -0,0 +1,240 @@
+package cl.camodev.wosbot.serv.task;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import cl.camodev.utiles.HostResources;
+import cl.camodev.wosbot.console.enumerable.EnumConfigurationKey;
+import cl.camodev.wosbot.console.enumerable.EnumTpMessageSeverity;
+import cl.camodev.wosbot.emulator.DeviceCircuitBreaker;
+import cl.camodev.wosbot.emulator.EmulatorManager;
+import cl.camodev.wosbot.ot.DTOProfiles;
+import cl.camodev.wosbot.serv.impl.ServConfig;
+import cl.camodev.wosbot.serv.impl.ServLogs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Boots the emulator of the next profile before it gets an emulator slot.
+ * <p>
+ * Without it, a profile only starts its emulator once a slot is released, and the
+ * slot sits idle while the emulator boots. Every few seconds the planner looks at the
+ * profiles waiting for a slot and at the queues whose next task is due within the
+ * configured lead time, and launches the emulator of the most urgent ones so that
+ * {@code InitializeTask} finds it already running when the slot is handed over.
+ * <p>
+ * Pre-launching is bounded by a host budget:
+ * <ul>
+ * <li>at most {@link EnumConfigurationKey#EMULATOR_PRELAUNCH_MAX_INT} emulators booted ahead of a slot
+ * (0 disables the planner);</li>
+ * <li>no more than that many emulators running above the slot count;</li>
+ * <li>at least {@link EnumConfigurationKey#EMULATOR_PRELAUNCH_MIN_FREE_MEMORY_MB_INT} of free memory.</li>
+ * </ul>
+ * An emulator that did not get a slot within {@link #PRELAUNCH_EXPIRY_MS} and is no
+ * longer due soon is closed again.
+ */
+public class EmulatorPreLaunchPlanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmulatorPreLaunchPlanner.class);
+
+    private static final long PLAN_INTERVAL_MS = 5000;
+    private static final long PRELAUNCH_EXPIRY_MS = 600000;
+
+    private final TaskQueueManager queueManager;
+    private final EmulatorManager emuManager = EmulatorManager.getInstance();
+    private final Map<Long, PreLaunch> preLaunched = new ConcurrentHashMap<>(); // by profile id
+    private ScheduledExecutorService executor;
+
+    public EmulatorPreLaunchPlanner(TaskQueueManager queueManager) {
+        this.queueManager = queueManager;
+    }
+
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "emulator-prelaunch-planner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::planSafely, PLAN_INTERVAL_MS, PLAN_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        preLaunched.clear();
+    }
+
+    private void planSafely() {
+        try {
+            plan();
+        } catch (Exception e) {
+            logger.warn("Pre-launch planning failed: {}", e.getMessage());
+        }
+    }
+
+    private void plan() {
+        int maxPreLaunched = configInt(EnumConfigurationKey.EMULATOR_PRELAUNCH_MAX_INT);
+        long leadSeconds = configInt(EnumConfigurationKey.EMULATOR_PRELAUNCH_LEAD_SECONDS_INT);
+        long minFreeMemoryMb = configInt(EnumConfigurationKey.EMULATOR_PRELAUNCH_MIN_FREE_MEMORY_MB_INT);
+
+        Set<Long> slotHolders = emuManager.getSlotHolderProfileIds();
+        LocalDateTime horizon = LocalDateTime.now().plusSeconds(leadSeconds);
+
+        settle(slotHolders, horizon);
+        if (maxPreLaunched <= 0) {
+            return;
+        }
+
+        int runningEmulators = countRunningEmulators();
+        for (TaskQueue queue : candidates(slotHolders, horizon)) {
+            if (preLaunched.size() >= maxPreLaunched
+                    || runningEmulators >= emuManager.getMaxRunningEmulators() + maxPreLaunched) {
+                return;
+            }
+            long freeMemoryMb = HostResources.getFreeMemoryMb();
+            if (freeMemoryMb < minFreeMemoryMb) {
+                logger.debug("Skipping pre-launch, free memory {} MB below budget {} MB", freeMemoryMb,
+                        minFreeMemoryMb);
+                return;
+            }
+
+            DTOProfiles profile = queue.getProfile();
+            logInfo(profile, "Pre-launching emulator " + profile.getEmulatorNumber() + ", next task in "
+                    + Duration.between(LocalDateTime.now(), queue.getNextTaskTime()).toSeconds() + "s");
+            preLaunched.put(profile.getId(), new PreLaunch(profile.getEmulatorNumber()));
+            try {
+                emuManager.launchEmulator(profile.getEmulatorNumber());
+                runningEmulators++;
+            } catch (Exception e) {
+                logger.warn("Pre-launch of emulator {} failed: {}", profile.getEmulatorNumber(), e.getMessage());
+                preLaunched.remove(profile.getId());
+            }
+        }
+    }
+
+    /**
+     * Profiles whose emulator is worth booting now: waiting profiles first, in slot
+     * order, then the other queues by next task time.
+     */
+    private List<TaskQueue> candidates(Set<Long> slotHolders, LocalDateTime horizon) {
+        List<TaskQueue> ordered = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (Long profileId : emuManager.getWaitingProfileIds()) {
+            TaskQueue queue = queueManager.getQueue(profileId);
+            if (queue != null && seen.add(profileId)) {
+                ordered.add(queue);
+            }
+        }
+        queueManager.getQueues().stream()
+                .filter(queue -> queue.getNextTaskTime() != null)
+                .sorted(Comparator.comparing(TaskQueue::getNextTaskTime))
+                .filter(queue -> seen.add(queue.getProfile().getId()))
+                .forEach(ordered::add);
+
+        Set<String> claimedEmulators = new HashSet<>();
+        List<TaskQueue> candidates = new ArrayList<>();
+        for (TaskQueue queue : ordered) {
+            DTOProfiles profile = queue.getProfile();
+            LocalDateTime next = queue.getNextTaskTime();
+            if (!queue.isRunning() || next == null || next.isAfter(horizon)
+                    || slotHolders.contains(profile.getId())
+                    || preLaunched.containsKey(profile.getId())
+                    || !claimedEmulators.add(profile.getEmulatorNumber())
+                    || emuManager.getCircuitState(profile.getEmulatorNumber()) == DeviceCircuitBreaker.State.OPEN
+                    || emuManager.isRunning(profile.getEmulatorNumber())) {
+                continue;
+            }
+            candidates.add(queue);
+        }
+        return candidates;
+    }
+
+    /**
+     * Reports pre-launched emulators whose profile got its slot, and closes the ones
+     * that waited too long and are no longer due.
+     */
+    private void settle(Set<Long> slotHolders, LocalDateTime horizon) {
+        preLaunched.entrySet().removeIf(entry -> {
+            Long profileId = entry.getKey();
+            PreLaunch preLaunch = entry.getValue();
+            TaskQueue queue = queueManager.getQueue(profileId);
+            if (queue == null) {
+                return true;
+            }
+
+            long warmSeconds = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - preLaunch.launchedAt);
+            if (slotHolders.contains(profileId)) {
+                logInfo(queue.getProfile(), "Slot acquired " + warmSeconds
+                        + "s after pre-launching emulator " + preLaunch.emulatorNumber);
+                return true;
+            }
+
+            LocalDateTime next = queue.getNextTaskTime();
+            boolean stillDue = next != null && !next.isAfter(horizon);
+            if (System.currentTimeMillis() - preLaunch.launchedAt > PRELAUNCH_EXPIRY_MS && !stillDue) {
+                logInfo(queue.getProfile(), "Closing pre-launched emulator " + preLaunch.emulatorNumber
+                        + ", no slot after " + warmSeconds + "s");
+                try {
+                    emuManager.closeEmulator(preLaunch.emulatorNumber);
+                } catch (Exception e) {
+                    logger.warn("Closing pre-launched emulator {} failed: {}", preLaunch.emulatorNumber,
+                            e.getMessage());
+                }
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private int countRunningEmulators() {
+        Set<String> emulators = new HashSet<>();
+        queueManager.getQueues().forEach(queue -> emulators.add(queue.getProfile().getEmulatorNumber()));
+        return (int) emulators.stream().filter(emuManager::isRunning).count();
+    }
+
+    /**
+     * @return true if emulators may be booted before their profile holds a slot.
+     *         Off by default, see {@link EnumConfigurationKey#EMULATOR_PRELAUNCH_MAX_INT}.
+     */
+    static boolean isEnabled() {
+        return configInt(EnumConfigurationKey.EMULATOR_PRELAUNCH_MAX_INT) > 0;
+    }
+
+    private static int configInt(EnumConfigurationKey key) {
+        return Optional
+                .ofNullable(ServConfig.getServices().getGlobalConfig())
+                .map(cfg -> cfg.get(key.name()))
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(key.getDefaultValue()));
+    }
+
+    private void logInfo(DTOProfiles profile, String message) {
+        logger.info("{} - {}", profile.getName(), message);
+        ServLogs.getServices().appendLog(EnumTpMessageSeverity.INFO, "PreLaunchPlanner", profile.getName(), message);
+    }
+
+    private static final class PreLaunch {
+        private final String emulatorNumber;
+        private final long launchedAt = System.currentTimeMillis();
+
+        private PreLaunch(String emulatorNumber) {
+            this.emulatorNumber = emulatorNumber;
+        }
+    }
+}
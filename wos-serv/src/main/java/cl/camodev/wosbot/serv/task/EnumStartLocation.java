@@ -3,5 +3,13 @@ package cl.camodev.wosbot.serv.task;
 public enum EnumStartLocation {
     HOME,
     WORLD,
-    ANY
+    ANY;
+
+    /**
+     * @return true if a task starting here can run right after a task that started on
+     *         {@code previous}, without navigating in between
+     */
+    public boolean follows(EnumStartLocation previous) {
+        return this == ANY || previous == ANY || this == previous;
+    }
 }
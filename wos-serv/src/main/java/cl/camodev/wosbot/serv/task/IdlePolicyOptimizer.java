@@ -0,0 +1,264 @@
+package cl.camodev.wosbot.serv.task;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import cl.camodev.utiles.HostResources;
+import cl.camodev.wosbot.console.enumerable.IdleBehavior;
+import cl.camodev.wosbot.emulator.EmulatorManager;
+import cl.camodev.wosbot.ot.DTOProfiles;
+import cl.camodev.wosbot.serv.impl.ServScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Chooses how a profile idles during a long gap between tasks.
+ * <p>
+ * Every option is priced in seconds of lost emulator-slot time:
+ * <ul>
+ * <li>{@link IdleBehavior#CLOSE_EMULATOR} frees the slot and the memory, and pays a full
+ * relaunch (emulator boot and game start) when the profile comes back;</li>
+ * <li>{@link IdleBehavior#SEND_TO_BACKGROUND} keeps the emulator and the slot, and pays the
+ * time needed to bring the game back;</li>
+ * <li>{@link IdleBehavior#KEEP_WARM} keeps everything running and pays almost nothing on
+ * return, but also burns CPU while idle.</li>
+ * </ul>
+ * Holding the emulator costs the whole gap when other profiles need a slot during it,
+ * plus a share of the gap that grows with host memory pressure (and CPU load for a warm
+ * game). Return costs are measured by {@code InitializeTask} for each profile and each
+ * behavior, and kept as moving averages.
+ * <p>
+ * Each decision is logged with its expected saving over the configured fixed behavior
+ * and, once the profile is back, with the saving it actually achieved.
+ */
+public class IdlePolicyOptimizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdlePolicyOptimizer.class);
+
+    private static final double EWMA_WEIGHT = 0.3;
+    private static final double MEMORY_PRESSURE_FLOOR = 0.80; // Holding memory costs nothing below this
+    private static final double CPU_LOAD_FLOOR = 0.70;
+    private static final double WARM_CPU_WEIGHT = 0.5; // Share of the gap a warm game costs at full CPU load
+
+    private static IdlePolicyOptimizer instance;
+
+    private final Map<Long, EnumMap<IdleBehavior, Double>> returnCosts = new ConcurrentHashMap<>();
+    private final Map<Long, Decision> pendingDecisions = new ConcurrentHashMap<>();
+
+    private IdlePolicyOptimizer() {
+    }
+
+    public static synchronized IdlePolicyOptimizer getInstance() {
+        if (instance == null) {
+            instance = new IdlePolicyOptimizer();
+        }
+        return instance;
+    }
+
+    /**
+     * Chooses the cheapest idle behavior for the gap.
+     *
+     * @param profile    idling profile
+     * @param delayUntil time of the next task
+     * @param baseline   fixed behavior the choice is compared against
+     * @return decision holding the behavior to apply
+     */
+    public Decision decide(DTOProfiles profile, LocalDateTime delayUntil, IdleBehavior baseline) {
+        Decision decision = evaluate(profile, delayUntil, baseline);
+        pendingDecisions.put(profile.getId(), decision);
+        log(profile, decision);
+        return decision;
+    }
+
+    /**
+     * Prices the behaviors again for the rest of a gap in which the profile kept its
+     * emulator. Another profile may have come to need a slot since the gap started,
+     * which makes holding cost the whole remaining gap.
+     *
+     * @param profile    idling profile
+     * @param delayUntil time of the next task
+     * @return decision to close the emulator, replacing the one taken for the gap, or
+     *         empty to keep the emulator
+     */
+    public Optional<Decision> reconsider(DTOProfiles profile, LocalDateTime delayUntil) {
+        Decision current = pendingDecisions.get(profile.getId());
+        if (current == null || !current.getBehavior().keepsEmulatorRunning()) {
+            return Optional.empty();
+        }
+        Decision decision = evaluate(profile, delayUntil, current.getBaseline());
+        if (decision.getBehavior().keepsEmulatorRunning()) {
+            return Optional.empty();
+        }
+        pendingDecisions.put(profile.getId(), decision);
+        log(profile, decision);
+        return Optional.of(decision);
+    }
+
+    private Decision evaluate(DTOProfiles profile, LocalDateTime delayUntil, IdleBehavior baseline) {
+        long gapSeconds = Math.max(0, Duration.between(LocalDateTime.now(), delayUntil).toSeconds());
+        boolean slotDemand = hasSlotDemand(profile, delayUntil);
+        double memoryPenalty = penalty(HostResources.getMemoryPressure(), MEMORY_PRESSURE_FLOOR);
+        double cpuPenalty = penalty(HostResources.getCpuLoad(), CPU_LOAD_FLOOR) * WARM_CPU_WEIGHT;
+
+        EnumMap<IdleBehavior, Double> costs = new EnumMap<>(IdleBehavior.class);
+        for (IdleBehavior behavior : List.of(IdleBehavior.CLOSE_EMULATOR, IdleBehavior.SEND_TO_BACKGROUND,
+                IdleBehavior.KEEP_WARM)) {
+            costs.put(behavior, expectedCost(profile.getId(), behavior, gapSeconds, slotDemand, memoryPenalty,
+                    cpuPenalty));
+        }
+
+        IdleBehavior chosen = costs.entrySet().stream()
+                .min(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse(baseline);
+        return new Decision(chosen, baseline, gapSeconds, slotDemand, costs, memoryPenalty, cpuPenalty);
+    }
+
+    private static void log(DTOProfiles profile, Decision decision) {
+        EnumMap<IdleBehavior, Double> costs = decision.expectedCosts;
+        logger.info("{} - Idle policy for {}s gap: {} (costs close={}s, background={}s, warm={}s; slot demand={}, "
+                + "memory penalty={}, cpu penalty={}), expected saving over {}: {}s",
+                profile.getName(), decision.getGapSeconds(), decision.getBehavior(),
+                Math.round(costs.get(IdleBehavior.CLOSE_EMULATOR)),
+                Math.round(costs.get(IdleBehavior.SEND_TO_BACKGROUND)), Math.round(costs.get(IdleBehavior.KEEP_WARM)),
+                decision.slotDemand, String.format("%.2f", decision.memoryPenalty),
+                String.format("%.2f", decision.cpuPenalty), decision.getBaseline(),
+                Math.round(decision.getExpectedSaving()));
+    }
+
+    /**
+     * Records how long the profile took to get back to the home screen. The measure
+     * updates the return cost of the behavior used for the last idle period, or of a
+     * cold start if the emulator had to be launched without a pending decision.
+     *
+     * @param profile          profile that finished initializing
+     * @param launchedEmulator true if the emulator had to be launched
+     * @param elapsedMs        time from the start of initialization to the home screen
+     */
+    public void recordStartup(DTOProfiles profile, boolean launchedEmulator, long elapsedMs) {
+        double elapsedSeconds = elapsedMs / 1000d;
+        Decision decision = pendingDecisions.remove(profile.getId());
+        IdleBehavior measured = decision != null ? decision.getBehavior()
+                : launchedEmulator ? IdleBehavior.CLOSE_EMULATOR : null;
+        if (measured == null) {
+            return;
+        }
+        returnCosts.computeIfAbsent(profile.getId(), id -> new EnumMap<>(IdleBehavior.class))
+                .merge(measured, elapsedSeconds, (old, sample) -> old + EWMA_WEIGHT * (sample - old));
+
+        if (decision != null) {
+            long actualGap = Math.max(0, Duration.between(decision.decidedAt, LocalDateTime.now()).toSeconds());
+            double actualCost = elapsedSeconds + holdCost(decision.getBehavior(), actualGap, decision.slotDemand, 0, 0);
+            double baselineCost = returnCost(profile.getId(), decision.getBaseline())
+                    + holdCost(decision.getBaseline(), actualGap, decision.slotDemand, 0, 0);
+            logger.info("{} - Idle policy {} returned in {}s after {}s; expected saving {}s, actual saving {}s",
+                    profile.getName(), decision.getBehavior(), Math.round(elapsedSeconds), actualGap,
+                    Math.round(decision.getExpectedSaving()), Math.round(baselineCost - actualCost));
+        }
+    }
+
+    private double expectedCost(Long profileId, IdleBehavior behavior, long gapSeconds, boolean slotDemand,
+            double memoryPenalty, double cpuPenalty) {
+        return returnCost(profileId, behavior) + holdCost(behavior, gapSeconds, slotDemand, memoryPenalty, cpuPenalty);
+    }
+
+    private static double holdCost(IdleBehavior behavior, long gapSeconds, boolean slotDemand, double memoryPenalty,
+            double cpuPenalty) {
+        if (!behavior.keepsEmulatorRunning()) {
+            return 0;
+        }
+        double share = Math.min(1d, (slotDemand ? 1d : 0d) + memoryPenalty
+                + (behavior == IdleBehavior.KEEP_WARM ? cpuPenalty : 0d));
+        return gapSeconds * share;
+    }
+
+    /**
+     * @return measured seconds from the end of an idle period with this behavior to
+     *         the home screen, or a default before the first measure
+     */
+    public double returnCost(Long profileId, IdleBehavior behavior) {
+        EnumMap<IdleBehavior, Double> measured = returnCosts.get(profileId);
+        if (measured != null && measured.containsKey(behavior)) {
+            return measured.get(behavior);
+        }
+        switch (behavior) {
+            case CLOSE_EMULATOR:
+                return 120;
+            case SEND_TO_BACKGROUND:
+                return 25;
+            default:
+                return 5;
+        }
+    }
+
+    /**
+     * True if another profile is waiting for a slot, or is out of a slot and has a
+     * task due before this profile's gap ends.
+     */
+    private static boolean hasSlotDemand(DTOProfiles profile, LocalDateTime delayUntil) {
+        EmulatorManager emuManager = EmulatorManager.getInstance();
+        if (!emuManager.getWaitingProfileIds().isEmpty()) {
+            return true;
+        }
+        Set<Long> slotHolders = emuManager.getSlotHolderProfileIds();
+        return ServScheduler.getServices().getQueueManager().getQueues().stream()
+                .filter(queue -> !queue.getProfile().getId().equals(profile.getId()))
+                .filter(queue -> !slotHolders.contains(queue.getProfile().getId()))
+                .map(TaskQueue::getNextTaskTime)
+                .anyMatch(next -> next != null && next.isBefore(delayUntil));
+    }
+
+    private static double penalty(double value, double floor) {
+        return Math.max(0d, Math.min(1d, (value - floor) / (1d - floor)));
+    }
+
+    /**
+     * Idle behavior chosen for one gap, with the costs it was chosen from.
+     */
+    public static final class Decision {
+        private final IdleBehavior behavior;
+        private final IdleBehavior baseline;
+        private final long gapSeconds;
+        private final boolean slotDemand;
+        private final EnumMap<IdleBehavior, Double> expectedCosts;
+        private final double memoryPenalty;
+        private final double cpuPenalty;
+        private final LocalDateTime decidedAt = LocalDateTime.now();
+
+        private Decision(IdleBehavior behavior, IdleBehavior baseline, long gapSeconds, boolean slotDemand,
+                EnumMap<IdleBehavior, Double> expectedCosts, double memoryPenalty, double cpuPenalty) {
+            this.behavior = behavior;
+            this.baseline = baseline;
+            this.gapSeconds = gapSeconds;
+            this.slotDemand = slotDemand;
+            this.expectedCosts = expectedCosts;
+            this.memoryPenalty = memoryPenalty;
+            this.cpuPenalty = cpuPenalty;
+        }
+
+        public IdleBehavior getBehavior() {
+            return behavior;
+        }
+
+        public IdleBehavior getBaseline() {
+            return baseline;
+        }
+
+        public long getGapSeconds() {
+            return gapSeconds;
+        }
+
+        /**
+         * @return expected slot-seconds saved compared to the baseline behavior
+         */
+        public double getExpectedSaving() {
+            return expectedCosts.getOrDefault(baseline, 0d) - expectedCosts.getOrDefault(behavior, 0d);
+        }
+    }
+}
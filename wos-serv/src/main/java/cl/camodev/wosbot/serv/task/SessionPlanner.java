@@ -0,0 +1,148 @@
+package cl.camodev.wosbot.serv.task;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import cl.camodev.wosbot.console.enumerable.EnumConfigurationKey;
+import cl.camodev.wosbot.console.enumerable.IdleBehavior;
+import cl.camodev.wosbot.emulator.EmulatorManager;
+import cl.camodev.wosbot.ot.DTOProfiles;
+import cl.camodev.wosbot.serv.impl.ServConfig;
+import cl.camodev.wosbot.serv.impl.ServScheduler;
+import cl.camodev.wosbot.serv.task.planner.PlannedTask;
+import cl.camodev.wosbot.serv.task.planner.ProfileTimeline;
+import cl.camodev.wosbot.serv.task.planner.SessionPlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decides, across all profiles, when a profile keeps its emulator slot between tasks.
+ * <p>
+ * On its own a queue releases its slot when the next task is further away than the
+ * max idle time. With {@link EnumConfigurationKey#EMULATOR_SESSION_PLANNER_BOOL} set,
+ * the queue asks this planner instead: it packs the upcoming tasks of every running
+ * queue into a {@link SessionPlan} and keeps the slot only if the plan runs the next
+ * task in the current session. The launch time of each profile is the relaunch cost
+ * measured by {@link IdlePolicyOptimizer}.
+ * <p>
+ * With {@link EnumConfigurationKey#EMULATOR_SESSION_TRACE_BOOL} set, every executed
+ * task is appended to {@value #TRACE_FILE}, which {@code SessionPlanSimulator} in the
+ * test sources replays to compare the planner with the fixed idle limit.
+ */
+public class SessionPlanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionPlanner.class);
+
+    static final String TRACE_FILE = "log/session-trace.csv";
+    private static final long PLANNING_HORIZON_MS = 3 * 60 * 60 * 1000L;
+
+    private static SessionPlanner instance;
+
+    private SessionPlanner() {
+    }
+
+    public static synchronized SessionPlanner getInstance() {
+        if (instance == null) {
+            instance = new SessionPlanner();
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return configBool(EnumConfigurationKey.EMULATOR_SESSION_PLANNER_BOOL);
+    }
+
+    /**
+     * @return plan of all running queues at this moment
+     */
+    public SessionPlan plan() {
+        List<TaskQueue> running = ServScheduler.getServices().getQueueManager().getQueues().stream()
+                .filter(TaskQueue::isRunning)
+                .toList();
+        return plan(running, System.currentTimeMillis());
+    }
+
+    /**
+     * @return plan of the given queues, whether they run yet or not
+     */
+    SessionPlan plan(Collection<TaskQueue> queues, long now) {
+        EmulatorManager emuManager = EmulatorManager.getInstance();
+        Set<Long> slotHolders = emuManager.getSlotHolderProfileIds();
+        List<Long> waiting = emuManager.getWaitingProfileIds();
+        List<ProfileTimeline> timelines = new ArrayList<>();
+        for (TaskQueue queue : queues) {
+            DTOProfiles profile = queue.getProfile();
+            if (profile == null) {
+                continue;
+            }
+            long launchMs = Math.round(IdlePolicyOptimizer.getInstance()
+                    .returnCost(profile.getId(), IdleBehavior.CLOSE_EMULATOR) * 1000);
+            boolean holdingSlot = slotHolders.contains(profile.getId());
+            List<PlannedTask> upcoming = queue.getUpcomingTasks(now + PLANNING_HORIZON_MS);
+            // A queue with a due task and no slot needs one as much as a queue already waiting
+            boolean waitingForSlot = waiting.contains(profile.getId())
+                    || !holdingSlot && upcoming.stream().anyMatch(task -> task.dueMillis() <= now);
+            timelines.add(new ProfileTimeline(profile.getId(), profile.getPriority(), holdingSlot, waitingForSlot,
+                    launchMs, upcoming));
+        }
+        return SessionPlan.build(timelines, emuManager.getMaxRunningEmulators(), now);
+    }
+
+    /**
+     * @return true if the profile should keep its slot until its next task
+     */
+    public boolean shouldHoldSlot(DTOProfiles profile) {
+        SessionPlan plan = plan();
+        boolean hold = plan.shouldHoldSlot(profile.getId());
+        logger.debug("{} - Session plan: {} ({} launches, {} s idle slot time planned)", profile.getName(),
+                hold ? "keep slot" : "release slot", plan.getLaunches(), plan.getIdleSlotMillis() / 1000);
+        return hold;
+    }
+
+    /**
+     * Appends an executed task to the trace file, if tracing is enabled.
+     */
+    void recordExecution(DTOProfiles profile, DelayedTask task, LocalDateTime due, long startedAt, long runtimeMs) {
+        if (!configBool(EnumConfigurationKey.EMULATOR_SESSION_TRACE_BOOL)) {
+            return;
+        }
+        long dueMillis = due.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        String line = profile.getId() + "," + profile.getPriority() + "," + task.getTpTask().name() + ","
+                + dueMillis + "," + startedAt + "," + runtimeMs;
+        synchronized (this) {
+            Path path = Paths.get(TRACE_FILE);
+            try {
+                Files.createDirectories(path.getParent());
+                boolean header = !Files.exists(path);
+                try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path, StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND))) {
+                    if (header) {
+                        writer.println("profileId,priority,task,dueMillis,startMillis,runtimeMs");
+                    }
+                    writer.println(line);
+                }
+            } catch (IOException e) {
+                logger.warn("Could not write session trace: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static boolean configBool(EnumConfigurationKey key) {
+        return Optional
+                .ofNullable(ServConfig.getServices().getGlobalConfig())
+                .map(cfg -> cfg.get(key.name()))
+                .map(Boolean::parseBoolean)
+                .orElse(Boolean.parseBoolean(key.getDefaultValue()));
+    }
+}
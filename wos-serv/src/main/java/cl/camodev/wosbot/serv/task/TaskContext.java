@@ -0,0 +1,167 @@
+package cl.camodev.wosbot.serv.task;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import cl.camodev.utiles.ocr.TextRecognitionRetrier;
+import cl.camodev.wosbot.emulator.EmulatorManager;
+import cl.camodev.wosbot.logging.ProfileLogger;
+import cl.camodev.wosbot.ot.DTOProfiles;
+import cl.camodev.wosbot.serv.ocr.BotTextRecognitionProvider;
+import cl.camodev.wosbot.serv.task.helper.AllianceHelper;
+import cl.camodev.wosbot.serv.task.helper.EventHelper;
+import cl.camodev.wosbot.serv.task.helper.IntelScreenHelper;
+import cl.camodev.wosbot.serv.task.helper.MarchHelper;
+import cl.camodev.wosbot.serv.task.helper.NavigationHelper;
+import cl.camodev.wosbot.serv.task.helper.StaminaHelper;
+import cl.camodev.wosbot.serv.task.helper.TemplateSearchHelper;
+
+/**
+ * Execution context shared by all tasks of one profile.
+ * <p>
+ * The OCR provider and the game helpers only depend on the emulator and on the
+ * profile's id and name, and they keep no state between calls. Tasks of a profile
+ * run one at a time on its queue thread, so one set of them serves every task.
+ * The context of a profile is built the first time one of its tasks is created,
+ * and each helper is built the first time it is asked for. Task loggers are
+ * cached per task class.
+ * <p>
+ * A context is replaced when the profile's emulator or name changes.
+ */
+public final class TaskContext {
+
+    private static final Map<Long, TaskContext> CONTEXTS = new ConcurrentHashMap<>();
+
+    private final EmulatorManager emuManager = EmulatorManager.getInstance();
+    private final DTOProfiles profile;
+    private final String emulatorNumber;
+    private final Map<Class<?>, ProfileLogger> loggers = new ConcurrentHashMap<>();
+
+    private BotTextRecognitionProvider provider;
+    private TextRecognitionRetrier<Integer> integerHelper;
+    private TextRecognitionRetrier<Duration> durationHelper;
+    private TextRecognitionRetrier<String> stringHelper;
+    private TemplateSearchHelper templateSearchHelper;
+    private NavigationHelper navigationHelper;
+    private MarchHelper marchHelper;
+    private StaminaHelper staminaHelper;
+    private IntelScreenHelper intelScreenHelper;
+    private AllianceHelper allianceHelper;
+    private EventHelper eventHelper;
+
+    private TaskContext(DTOProfiles profile) {
+        this.profile = profile;
+        this.emulatorNumber = profile.getEmulatorNumber();
+    }
+
+    /**
+     * @return the context of the profile, created if it has none yet
+     */
+    public static TaskContext of(DTOProfiles profile) {
+        if (profile.getId() == null) {
+            return new TaskContext(profile);
+        }
+        return CONTEXTS.compute(profile.getId(),
+                (id, context) -> context != null && context.matches(profile) ? context : new TaskContext(profile));
+    }
+
+    /**
+     * Drops the context of a profile, for example after it was deleted.
+     */
+    public static void release(Long profileId) {
+        if (profileId != null) {
+            CONTEXTS.remove(profileId);
+        }
+    }
+
+    private boolean matches(DTOProfiles other) {
+        return Objects.equals(emulatorNumber, other.getEmulatorNumber())
+                && Objects.equals(profile.getName(), other.getName());
+    }
+
+    public ProfileLogger logger(Class<?> owner) {
+        return loggers.computeIfAbsent(owner, clazz -> new ProfileLogger(clazz, profile));
+    }
+
+    public synchronized BotTextRecognitionProvider provider() {
+        if (provider == null) {
+            provider = new BotTextRecognitionProvider(emuManager, emulatorNumber);
+        }
+        return provider;
+    }
+
+    public synchronized TextRecognitionRetrier<Integer> integerHelper() {
+        if (integerHelper == null) {
+            integerHelper = new TextRecognitionRetrier<>(provider());
+        }
+        return integerHelper;
+    }
+
+    public synchronized TextRecognitionRetrier<Duration> durationHelper() {
+        if (durationHelper == null) {
+            durationHelper = new TextRecognitionRetrier<>(provider());
+        }
+        return durationHelper;
+    }
+
+    public synchronized TextRecognitionRetrier<String> stringHelper() {
+        if (stringHelper == null) {
+            stringHelper = new TextRecognitionRetrier<>(provider());
+        }
+        return stringHelper;
+    }
+
+    public synchronized TemplateSearchHelper templateSearchHelper() {
+        if (templateSearchHelper == null) {
+            templateSearchHelper = new TemplateSearchHelper(emuManager, emulatorNumber, profile);
+        }
+        return templateSearchHelper;
+    }
+
+    public synchronized NavigationHelper navigationHelper() {
+        if (navigationHelper == null) {
+            navigationHelper = new NavigationHelper(emuManager, emulatorNumber, profile);
+        }
+        return navigationHelper;
+    }
+
+    public synchronized MarchHelper marchHelper() {
+        if (marchHelper == null) {
+            marchHelper = new MarchHelper(emuManager, emulatorNumber, stringHelper(), profile);
+        }
+        return marchHelper;
+    }
+
+    public synchronized StaminaHelper staminaHelper() {
+        if (staminaHelper == null) {
+            staminaHelper = new StaminaHelper(emuManager, emulatorNumber, integerHelper(), durationHelper(), profile,
+                    marchHelper());
+        }
+        return staminaHelper;
+    }
+
+    public synchronized IntelScreenHelper intelScreenHelper() {
+        if (intelScreenHelper == null) {
+            intelScreenHelper = new IntelScreenHelper(emuManager, emulatorNumber, templateSearchHelper(),
+                    navigationHelper(), profile);
+        }
+        return intelScreenHelper;
+    }
+
+    public synchronized AllianceHelper allianceHelper() {
+        if (allianceHelper == null) {
+            allianceHelper = new AllianceHelper(emuManager, emulatorNumber, templateSearchHelper(), navigationHelper(),
+                    profile);
+        }
+        return allianceHelper;
+    }
+
+    public synchronized EventHelper eventHelper() {
+        if (eventHelper == null) {
+            eventHelper = new EventHelper(emuManager, emulatorNumber, profile);
+        }
+        return eventHelper;
+    }
+}
@@ -0,0 +1,63 @@
+package cl.camodev.wosbot.serv.task;
+
+import java.time.Duration;
+
+import cl.camodev.wosbot.ex.TaskDeadlineExceededError;
+
+/**
+ * Execution budget of the task running on the current thread.
+ * <p>
+ * {@link TaskQueue} starts a deadline right before it runs a task and clears it when
+ * the task returns. {@link DelayedTask#sleepTask(long)}, the sleeps of the task
+ * helpers and the capture, OCR and input methods of
+ * {@link cl.camodev.wosbot.emulator.EmulatorManager} call {@link #check()},
+ * which throws {@link TaskDeadlineExceededError} once the budget is spent. A task
+ * stuck on a screen it does not recognise is therefore stopped at its next emulator
+ * call. Code running outside a task has no deadline and is never interrupted.
+ */
+public final class TaskDeadline {
+
+    private static final ThreadLocal<TaskDeadline> CURRENT = new ThreadLocal<>();
+
+    private final String taskName;
+    private final Duration budget;
+    private final long deadlineMillis;
+
+    private TaskDeadline(String taskName, Duration budget) {
+        this.taskName = taskName;
+        this.budget = budget;
+        this.deadlineMillis = System.currentTimeMillis() + budget.toMillis();
+    }
+
+    /**
+     * Starts the deadline of a task on the current thread, replacing any previous one.
+     */
+    static void start(String taskName, Duration budget) {
+        CURRENT.set(new TaskDeadline(taskName, budget));
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @throws TaskDeadlineExceededError if the task running on this thread has used
+     *                                   up its budget
+     */
+    public static void check() {
+        TaskDeadline deadline = CURRENT.get();
+        if (deadline != null && System.currentTimeMillis() >= deadline.deadlineMillis) {
+            throw new TaskDeadlineExceededError(deadline.taskName + " exceeded its execution budget of "
+                    + deadline.budget.toMinutes() + " minutes");
+        }
+    }
+
+    /**
+     * @return milliseconds left for the task running on this thread, or
+     *         {@link Long#MAX_VALUE} if no task is running on it
+     */
+    public static long remainingMillis() {
+        TaskDeadline deadline = CURRENT.get();
+        return deadline != null ? Math.max(0, deadline.deadlineMillis - System.currentTimeMillis()) : Long.MAX_VALUE;
+    }
+}
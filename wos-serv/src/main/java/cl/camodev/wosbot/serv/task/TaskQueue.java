@@ -3,20 +3,27 @@ package cl.camodev.wosbot.serv.task;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 import cl.camodev.utiles.UtilTime;
 import cl.camodev.wosbot.console.enumerable.EnumConfigurationKey;
 import cl.camodev.wosbot.console.enumerable.EnumTemplates;
 import cl.camodev.wosbot.console.enumerable.EnumTpMessageSeverity;
+import cl.camodev.wosbot.console.enumerable.IdleBehavior;
 import cl.camodev.wosbot.console.enumerable.TpDailyTaskEnum;
 import cl.camodev.wosbot.emulator.EmulatorManager;
+import cl.camodev.wosbot.emulator.SlotReservation;
 import cl.camodev.wosbot.ex.ADBConnectionException;
+import cl.camodev.wosbot.ex.DeviceCircuitOpenException;
 import cl.camodev.wosbot.ex.HomeNotFoundException;
 import cl.camodev.wosbot.ex.ProfileInReconnectStateException;
 import cl.camodev.wosbot.ex.StopExecutionException;
+import cl.camodev.wosbot.ex.TaskDeadlineExceededError;
+import cl.camodev.wosbot.ex.TaskPreemptedError;
 import cl.camodev.wosbot.ot.DTOImageSearchResult;
 import cl.camodev.wosbot.ot.DTOProfileStatus;
 import cl.camodev.wosbot.ot.DTOProfiles;
@@ -26,8 +33,10 @@ import cl.camodev.wosbot.serv.impl.ServLogs;
 import cl.camodev.wosbot.serv.impl.ServProfiles;
 import cl.camodev.wosbot.serv.impl.ServScheduler;
 import cl.camodev.wosbot.serv.impl.ServTaskManager;
+import cl.camodev.wosbot.serv.impl.ServTaskRuntimeStats;
 import cl.camodev.wosbot.serv.impl.ServConfig;
 import cl.camodev.wosbot.serv.task.impl.InitializeTask;
+import cl.camodev.wosbot.serv.task.planner.PlannedTask;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,13 +44,20 @@ import org.slf4j.LoggerFactory;
 /**
  * TaskQueue manages and executes scheduled tasks for a game profile.
  * It handles task scheduling, execution, and error recovery.
+ * <p>
+ * The processing loop does not poll. Between tasks it blocks until the next
+ * point in time it has to act on (head task due, slot re-acquisition, pause end,
+ * background checks), or until {@link #wakeUp()} is called because the queue,
+ * the profile or the configuration changed.
  */
 public class TaskQueue {
 
     private static final Logger logger = LoggerFactory.getLogger(TaskQueue.class);
-    private static final long IDLE_WAIT_TIME = 999; // milliseconds to wait between task checking cycles
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final long DEFAULT_TASK_RUNTIME_MS = 120000; // assumed runtime of a task never run before
+    private static final Duration DEADLINE_RETRY_DELAY = Duration.ofMinutes(30); // retry of a task stopped by its budget
 
-    private final PriorityBlockingQueue<DelayedTask> taskQueue = new PriorityBlockingQueue<>();
+    private final TaskSchedule taskQueue = new TaskSchedule();
     protected final EmulatorManager emuManager = EmulatorManager.getInstance();
 
     // State flags
@@ -49,17 +65,71 @@ public class TaskQueue {
 
     // Thread that will evaluate and execute tasks
     private Thread schedulerThread;
-    private DTOProfiles profile;
+    private volatile DTOProfiles profile;
+    private volatile boolean profileChanged = false;
+    // Screen the last executed task started on, ANY once the queue has gone idle
+    private EnumStartLocation lastStartLocation = EnumStartLocation.ANY;
+    // How the queue idles in its current gap, and whether the optimizer chose it
+    private IdleBehavior idleBehavior = IdleBehavior.CLOSE_EMULATOR;
+    private boolean adaptiveIdle = false;
+
+    // Wakes the processing loop before its next scheduled wake-up
+    private final ReentrantLock wakeLock = new ReentrantLock();
+    private final Condition wakeCondition = wakeLock.newCondition();
+    private boolean wakeRequested = false;
 
     public TaskQueue(DTOProfiles profile) {
         this.profile = profile;
     }
 
     /**
-     * Adds a task to the queue.
+     * Adds a task to the queue. A queued task of the same type and distinct key is
+     * replaced by this one, which keeps the earlier of the two due times: a task that
+     * reschedules itself after running does not push back a run requested meanwhile
+     * through {@link #executeTaskNow}.
      */
     public void addTask(DelayedTask task) {
         taskQueue.offer(task);
+        bookSlotReservation(task);
+        wakeUp();
+    }
+
+    /**
+     * Wakes the processing loop so it re-evaluates the queue at once.
+     */
+    public void wakeUp() {
+        wakeLock.lock();
+        try {
+            wakeRequested = true;
+            wakeCondition.signalAll();
+        } finally {
+            wakeLock.unlock();
+        }
+    }
+
+    /**
+     * Marks the profile data as changed. It is reloaded by the processing loop,
+     * which is woken up to apply it.
+     */
+    public void profileChanged() {
+        profileChanged = true;
+        wakeUp();
+    }
+
+    /**
+     * Books the emulator slot of a time-critical task for its scheduled time, or
+     * drops a previous booking if the task no longer needs one.
+     */
+    private void bookSlotReservation(DelayedTask task) {
+        if (task.getTpTask() == null) {
+            return;
+        }
+        Duration window = task.getSlotReservation();
+        if (window != null && task.isRecurring()) {
+            emuManager.reserveEmulatorSlot(profile, task.getTpTask().name(), task.getScheduled(), window);
+        } else {
+            emuManager.cancelSlotReservation(profile, task.getTpTask().name());
+        }
     }
 
     /**
@@ -69,29 +139,35 @@ public class TaskQueue {
      * @return true if a task was removed, false if no matching task was found
      */
     public boolean removeTask(TpDailyTaskEnum taskEnum) {
-        // Create a prototype task to compare against
-        DelayedTask prototype = DelayedTaskRegistry.create(taskEnum, profile);
-        if (prototype == null) {
-            logWarning("Cannot create prototype for task removal: " + taskEnum.getName());
-            return false;
-        }
-
-        // Remove the task from the queue using the equals method
-        boolean removed = taskQueue.removeIf(task -> task.equals(prototype));
+        List<DelayedTask> removed = taskQueue.removeAll(taskEnum);
 
-        if (removed) {
-            logInfoWithTask(prototype, "Removed task " + taskEnum.getName() + " from queue");
+        if (!removed.isEmpty()) {
+            emuManager.cancelSlotReservation(profile, taskEnum.name());
+            wakeUp();
+            logInfoWithTask(removed.get(0), "Removed task " + taskEnum.getName() + " from queue");
         } else {
             logInfo("Task " + taskEnum.getName() + " was not found in queue");
         }
 
-        return removed;
+        return !removed.isEmpty();
     }
 
     public LocalDateTime getDelay() {
         return taskQueueStatus.getDelayUntil();
     }
 
+    /**
+     * @return scheduled time of the first task in the queue, or {@code null} if the queue is empty
+     */
+    public LocalDateTime getNextTaskTime() {
+        DelayedTask next = taskQueue.peekEarliest();
+        return next != null ? next.getScheduled() : null;
+    }
+
+    public boolean isRunning() {
+        return taskQueueStatus.isRunning();
+    }
+
     /**
      * Checks if a specific task type is currently scheduled in the queue
      * 
@@ -99,11 +175,7 @@ public class TaskQueue {
      * @return true if the task is in the queue, false otherwise
      */
     public boolean isTaskScheduled(TpDailyTaskEnum taskEnum) {
-        DelayedTask prototype = DelayedTaskRegistry.create(taskEnum, profile);
-        if (prototype == null) {
-            return false;
-        }
-        return taskQueue.stream().anyMatch(task -> task.equals(prototype));
+        return taskQueue.contains(taskEnum);
     }
 
     /**
@@ -129,11 +201,7 @@ public class TaskQueue {
 
         while (taskQueueStatus.isRunning()) {
             taskQueueStatus.loopStarted();
-
-            profile = ServProfiles.getServices().getProfiles().stream()
-                    .filter(p -> p.getId().equals(profile.getId()))
-                    .findFirst()
-                    .orElse(profile);
+            reloadProfileIfChanged();
 
             if (taskQueueStatus.isPaused()) {
                 handlePausedState();
@@ -143,13 +211,20 @@ public class TaskQueue {
                 acquireEmulatorSlot();
             }
 
-            DelayedTask task = taskQueue.peek();
+            long now = System.currentTimeMillis();
+            DelayedTask task = taskQueue.pollReady(now, lastStartLocation);
+            if (task == null) {
+                task = pollCoalescedTask(now);
+            }
 
-            if (task != null && task.getDelay(TimeUnit.SECONDS) <= 0) {
-                taskQueue.poll();
+            if (task != null) {
                 taskQueueStatus.getLoopState().setExecutedTask(executeTask(task));
-            } else if (task != null) {
-                taskQueueStatus.setDelayUntil(task.getScheduled());
+            } else {
+                lastStartLocation = EnumStartLocation.ANY;
+                DelayedTask upcoming = taskQueue.peekEarliest();
+                if (upcoming != null) {
+                    taskQueueStatus.setDelayUntil(upcoming.getScheduled());
+                }
             }
 
             runBackgroundChecks();
@@ -157,19 +232,139 @@ public class TaskQueue {
 
             // Waits for the next task to be ready, displaying status information
             if (!taskQueueStatus.getLoopState().isExecutedTask() && !taskQueueStatus.isPaused()) {
-                String nextTaskName = taskQueue.isEmpty() ? "None" : taskQueue.peek().getTaskName();
-                String timeFormatted = formatTimeUntil(taskQueueStatus.getDelayUntil());
-                updateProfileStatus("Idling for " + timeFormatted + "\nNext task: " + nextTaskName);
+                DelayedTask next = taskQueue.peekEarliest();
+                if (next == null) {
+                    updateProfileStatus("Idling\nNext task: None");
+                } else {
+                    updateProfileStatus("Idling till " + TIME_FORMATTER.format(next.getScheduled())
+                            + "\nNext task: " + next.getTaskName());
+                }
 
-                // Sleep for remaining time to maintain consistent 1-second intervals
                 taskQueueStatus.getLoopState().endLoop();
-                long sleepTime = Math.max(0, IDLE_WAIT_TIME - taskQueueStatus.getLoopState().getDuration());
-                try {
-                    Thread.sleep(sleepTime);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
+                awaitWakeUp(getNextWakeUp());
+            }
+        }
+    }
+
+    /**
+     * Takes a task that is not due yet but may run early, so that a running session
+     * goes on with it instead of idling for a few minutes.
+     *
+     * @return the task, or {@code null} if the session is not running or no such task
+     *         is due within {@link EnumConfigurationKey#TASK_COALESCING_WINDOW_SECONDS_INT}
+     */
+    private DelayedTask pollCoalescedTask(long now) {
+        long limit = getCoalescingLimit(now);
+        if (limit < now) {
+            return null;
+        }
+        DelayedTask task = taskQueue.pollEarlyRunSafe(limit);
+        if (task != null) {
+            logInfoWithTask(task, "Running " + task.getTaskName() + " early in the current session, due at "
+                    + TIME_FORMATTER.format(task.getScheduled()));
+        }
+        return task;
+    }
+
+    /**
+     * @return latest due time of a task the running session may take early, or a time
+     *         before {@code now} if it may not take any
+     */
+    private long getCoalescingLimit(long now) {
+        int windowSeconds = Optional
+                .ofNullable(ServConfig.getServices().getGlobalConfig())
+                .map(cfg -> cfg.get(EnumConfigurationKey.TASK_COALESCING_WINDOW_SECONDS_INT.name()))
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(EnumConfigurationKey.TASK_COALESCING_WINDOW_SECONDS_INT.getDefaultValue()));
+        if (windowSeconds <= 0 || taskQueueStatus.isIdleTimeExceeded() || !emuManager.holdsEmulatorSlot()
+                || !emuManager.isRunning(profile.getEmulatorNumber())) {
+            return Long.MIN_VALUE;
+        }
+        return now + TimeUnit.SECONDS.toMillis(windowSeconds);
+    }
+
+    /**
+     * Looks ahead at the task the loop will pick after the running one, preferring the
+     * screen the running one started on, the same way the loop does.
+     *
+     * @return required start location of that task, or {@code null} if no task is
+     *         ready to follow
+     */
+    private EnumStartLocation peekNextStartLocation(EnumStartLocation current) {
+        long now = System.currentTimeMillis();
+        DelayedTask next = taskQueue.peekReady(now, current);
+        if (next == null) {
+            long limit = getCoalescingLimit(now);
+            next = limit >= now ? taskQueue.peekEarlyRunSafe(limit) : null;
+        }
+        return next != null ? next.getRequiredStartLocation() : null;
+    }
+
+    /**
+     * Reloads the profile from the database, only when it was reported as changed.
+     */
+    private void reloadProfileIfChanged() {
+        if (!profileChanged) {
+            return;
+        }
+        profileChanged = false;
+        Long profileId = profile.getId();
+        profile = ServProfiles.getServices().getProfiles().stream()
+                .filter(p -> p.getId().equals(profileId))
+                .findFirst()
+                .orElse(profile);
+    }
+
+    /**
+     * @return earliest time the loop has to act on its own, or {@code null} if only
+     *         a wake-up signal can give it something to do
+     */
+    private LocalDateTime getNextWakeUp() {
+        LocalDateTime wakeUp = null;
+        DelayedTask next = taskQueue.peekEarliest();
+        if (next != null) {
+            wakeUp = next.getScheduled();
+            if (taskQueueStatus.isIdleTimeExceeded()) {
+                wakeUp = earliest(wakeUp, taskQueueStatus.getDelayUntil().minus(getWakeUpLead()));
+            }
+        }
+        if (emuManager.isRunning(profile.getEmulatorNumber())) {
+            wakeUp = earliest(wakeUp, taskQueueStatus.getNextBackgroundCheck());
+        }
+        return wakeUp;
+    }
+
+    private static LocalDateTime earliest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isBefore(b) ? a : b;
+    }
+
+    /**
+     * Blocks until {@code wakeAt}, or until {@link #wakeUp()} is called.
+     *
+     * @param wakeAt time to wake up on its own, or {@code null} to wait for a signal
+     */
+    private void awaitWakeUp(LocalDateTime wakeAt) {
+        wakeLock.lock();
+        try {
+            while (!wakeRequested && taskQueueStatus.isRunning()) {
+                if (wakeAt == null) {
+                    wakeCondition.await();
+                    continue;
+                }
+                long waitMs = Duration.between(LocalDateTime.now(), wakeAt).toMillis();
+                if (waitMs <= 0) {
+                    break;
                 }
+                wakeCondition.await(waitMs, TimeUnit.MILLISECONDS);
             }
+            wakeRequested = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            wakeLock.unlock();
         }
     }
 
@@ -187,18 +382,32 @@ public class TaskQueue {
             return false;
         }
 
+        if (yieldsToSlotReservation(task) || yieldsToUrgentTask(task)) {
+            return false;
+        }
+
         LocalDateTime scheduledBefore = task.getScheduled();
         DTOTaskState taskState = createInitialTaskState(task);
-        boolean executionSuccessful;
+        boolean executionSuccessful = false;
+        boolean deadlineExceeded = false;
+        boolean preempted = false;
+        long startedAt = System.currentTimeMillis();
+        long capturesBefore = emuManager.getCaptureCount(profile.getEmulatorNumber());
+        long ocrReadsBefore = emuManager.getOcrReadCount(profile.getEmulatorNumber());
 
         try {
             logInfoWithTask(task, "Starting task execution: " + task.getTaskName());
             updateProfileStatus("Executing " + task.getTaskName());
 
             task.setLastExecutionTime(LocalDateTime.now());
+            task.setNextStartLocation(() -> peekNextStartLocation(task.getRequiredStartLocation()));
+            task.setUrgentTask(() -> taskQueue.peekUrgent(task.getTpTask().getPriorityClass(),
+                    System.currentTimeMillis()));
+            TaskDeadline.start(task.getTaskName(), task.getExecutionBudget());
             task.run();
 
             executionSuccessful = true;
+            lastStartLocation = task.getRequiredStartLocation();
 
             // Check if daily missions should be scheduled
             checkAndScheduleDailyMissions(task);
@@ -208,18 +417,133 @@ public class TaskQueue {
                 // Handle triumph progress logic here if needed
             }
 
+        } catch (TaskPreemptedError e) {
+            logInfoWithTask(task, e.getMessage());
+            preempted = true;
+            lastStartLocation = EnumStartLocation.ANY;
+        } catch (TaskDeadlineExceededError e) {
+            logErrorWithTask(task, "Task stopped: " + e.getMessage());
+            deadlineExceeded = true;
+            lastStartLocation = EnumStartLocation.ANY;
+            // A task stopped before it rescheduled itself would only get stuck again at once
+            if (task.getScheduled().equals(scheduledBefore)) {
+                task.reschedule(LocalDateTime.now().plus(DEADLINE_RETRY_DELAY));
+            }
         } catch (Exception e) {
             handleTaskExecutionException(task, e);
             executionSuccessful = false;
+            lastStartLocation = EnumStartLocation.ANY;
         } finally {
-            // Always handle task rescheduling, regardless of success or failure
-            handleTaskRescheduling(task, scheduledBefore);
+            TaskDeadline.clear();
+            // A partial run says nothing about how long the task takes
+            if (!preempted) {
+                ServTaskRuntimeStats.getServices().recordExecution(profile.getId(), task.getTpTask(),
+                        System.currentTimeMillis() - startedAt, executionSuccessful,
+                        emuManager.getCaptureCount(profile.getEmulatorNumber()) - capturesBefore,
+                        emuManager.getOcrReadCount(profile.getEmulatorNumber()) - ocrReadsBefore);
+            }
+            SessionPlanner.getInstance().recordExecution(profile, task, scheduledBefore, startedAt,
+                    System.currentTimeMillis() - startedAt);
+            task.setResuming(preempted);
+            if (preempted) {
+                // Due now, it runs right after the urgent task that preempted it
+                task.reschedule(LocalDateTime.now());
+                addTask(task);
+            } else {
+                // Always handle task rescheduling, regardless of success or failure
+                handleTaskRescheduling(task, scheduledBefore);
+            }
             finalizeTaskState(task, taskState);
         }
 
+        if (deadlineExceeded) {
+            releaseSlotAfterDeadline();
+        }
         return executionSuccessful;
     }
 
+    /**
+     * Gives the emulator slot back to the pool after a task ran out of its execution
+     * budget. The screen the task stopped on is unknown, so the emulator is closed and
+     * the queue waits for a slot again before it goes on through a new Initialize.
+     */
+    private void releaseSlotAfterDeadline() {
+        try {
+            emuManager.closeEmulator(profile.getEmulatorNumber());
+        } catch (Exception e) {
+            logError("Error closing emulator after a stopped task: " + e.getMessage());
+        }
+        emuManager.releaseEmulatorSlot(profile);
+        enqueueNewTask();
+    }
+
+    /**
+     * Keeps a task from running into a slot reservation. A task that would still run
+     * when a window opens, of this profile or of a profile that booked the slot, is
+     * moved after the window. The queue keeps its slot, so shorter tasks that end before
+     * the window still run, and once nothing fits any more the idle handling gives the
+     * slot up to the reservation. Releasing the slot here instead would only get it
+     * back at once, since a reservation does not withhold its slot before its claim
+     * starts, and boot the emulator again for the same conflict.
+     *
+     * @param task task about to start
+     * @return true if the task was put back instead of run
+     */
+    private boolean yieldsToSlotReservation(DelayedTask task) {
+        if (task.getTpTask() == TpDailyTaskEnum.INITIALIZE || task.getSlotReservation() != null) {
+            return false;
+        }
+        LocalDateTime expectedEnd = LocalDateTime.now().plus(Duration.ofMillis(estimateRuntime(task)));
+        Optional<SlotReservation> conflict = emuManager.findConflictingReservation(profile, expectedEnd);
+        if (conflict.isEmpty()) {
+            return false;
+        }
+
+        SlotReservation reservation = conflict.get();
+        String window = reservation.getProfileId().equals(profile.getId())
+                ? "the " + reservation.getLabel() + " window"
+                : "the slot reserved by " + reservation.getProfileName() + " for " + reservation.getLabel();
+        logInfoWithTask(task, "Task " + task.getTaskName() + " would overlap " + window + ", moving it after "
+                + reservation.getEnd());
+        task.reschedule(reservation.getEnd());
+        addTask(task);
+        return true;
+    }
+
+    /**
+     * Keeps a task from delaying a more urgent one. A task that, going by how long it
+     * usually takes, would still run when a task of a higher priority class comes due
+     * is moved to that task's time, so the urgent task starts first and shorter tasks
+     * can use the gap.
+     *
+     * @param task task about to start
+     * @return true if the task was put back instead of run
+     */
+    private boolean yieldsToUrgentTask(DelayedTask task) {
+        if (task.getTpTask() == TpDailyTaskEnum.INITIALIZE) {
+            return false;
+        }
+        DelayedTask urgent = taskQueue.peekUrgent(task.getTpTask().getPriorityClass(),
+                System.currentTimeMillis() + estimateRuntime(task));
+        if (urgent == null) {
+            return false;
+        }
+        logInfoWithTask(task, "Task " + task.getTaskName() + " would still run when " + urgent.getTaskName()
+                + " is due, moving it to " + TIME_FORMATTER.format(urgent.getScheduled()));
+        task.reschedule(urgent.getScheduled());
+        addTask(task);
+        return true;
+    }
+
+    /**
+     * @return how long the task usually takes on this profile, by its 95th percentile
+     *         runtime, or a default for a task that never ran here
+     */
+    private long estimateRuntime(DelayedTask task) {
+        return ServTaskRuntimeStats.getServices().estimateRuntime(profile.getId(), task.getTpTask(),
+                DEFAULT_TASK_RUNTIME_MS);
+    }
+
     /**
      * Determines if an Initialize task should be executed by checking if there are
      * upcoming tasks within the acceptable idle time window
@@ -292,6 +616,8 @@ public class TaskQueue {
             logErrorWithTask(task, "Execution stopped: " + e.getMessage());
         } else if (e instanceof ProfileInReconnectStateException) {
             handleReconnectStateException((ProfileInReconnectStateException) e);
+        } else if (e instanceof DeviceCircuitOpenException) {
+            handleDeviceUnavailable(task, (DeviceCircuitOpenException) e);
         } else if (e instanceof ADBConnectionException) {
             logErrorWithTask(task, "ADB connection error: " + e.getMessage());
             addTask(new InitializeTask(profile, TpDailyTaskEnum.INITIALIZE));
@@ -300,6 +626,28 @@ public class TaskQueue {
         }
     }
 
+    /**
+     * Gives up the emulator slot while the device's circuit breaker is open, so other
+     * profiles can use it. The emulator is closed, the queue waits until the breaker
+     * allows a probe and then re-acquires a slot and relaunches through Initialize.
+     */
+    private void handleDeviceUnavailable(DelayedTask task, DeviceCircuitOpenException e) {
+        long retryAfterSeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(e.getRetryAfterMs()));
+        logErrorWithTask(task, "Device unavailable, releasing slot for " + retryAfterSeconds + " seconds: "
+                + e.getMessage());
+
+        try {
+            emuManager.closeEmulator(profile.getEmulatorNumber());
+        } catch (Exception ex) {
+            logError("Error closing unavailable emulator: " + ex.getMessage());
+        }
+        emuManager.releaseEmulatorSlot(profile);
+
+        taskQueueStatus.pause();
+        taskQueueStatus.setDelayUntil(retryAfterSeconds);
+        addTask(new InitializeTask(profile, TpDailyTaskEnum.INITIALIZE));
+    }
+
     private void handleReconnectStateException(ProfileInReconnectStateException e) {
         Long reconnectionTime = profile.getReconnectionTime(); // in minutes
         if (reconnectionTime != null && reconnectionTime > 0) {
@@ -319,8 +667,8 @@ public class TaskQueue {
                 + " minutes pause");
         taskQueueStatus.setPaused(false);
 
-        if (!emuManager.isRunning(profile.getEmulatorNumber())) {
-            logInfo("While resuming, found instance closed. Acquiring a slot now.");
+        if (needsEmulatorSlot()) {
+            logInfo("While resuming, acquiring a slot now.");
             acquireEmulatorSlot();
         }
         attemptReconnectAndInitialize();
@@ -359,17 +707,10 @@ public class TaskQueue {
     }
 
     private void scheduleDailyMissionsNow() {
-        DelayedTask prototype = DelayedTaskRegistry.create(TpDailyTaskEnum.DAILY_MISSIONS, profile);
-
-        // Check if task already exists in the queue
-        DelayedTask existing = taskQueue.stream()
-                .filter(prototype::equals)
-                .findFirst()
-                .orElse(null);
+        DelayedTask existing = taskQueue.find(TpDailyTaskEnum.DAILY_MISSIONS);
 
         if (existing != null) {
             // Task already exists, reschedule it to run now
-            taskQueue.remove(existing);
             existing.reschedule(LocalDateTime.now());
             existing.setRecurring(true);
             taskQueue.offer(existing);
@@ -377,6 +718,7 @@ public class TaskQueue {
             logInfoWithTask(existing, "Rescheduled existing " + TpDailyTaskEnum.DAILY_MISSIONS + " to run now");
         } else {
             // Task does not exist, create a new instance
+            DelayedTask prototype = DelayedTaskRegistry.create(TpDailyTaskEnum.DAILY_MISSIONS, profile);
             prototype.reschedule(LocalDateTime.now());
             prototype.setRecurring(false);
             taskQueue.offer(prototype);
@@ -394,20 +736,40 @@ public class TaskQueue {
                 .map(Boolean::parseBoolean)
                 .orElse(Boolean
                         .parseBoolean(EnumConfigurationKey.IDLE_BEHAVIOR_SEND_TO_BACKGROUND_BOOL.getDefaultValue()));
-
-        if (sendToBackground) {
-            // Send game to background (home screen), keep emulator and game running
-            emuManager.sendGameToBackground(profile.getEmulatorNumber());
-            logInfo("Sending game to background due to large inactivity. Next task: " + delayUntil);
-        } else {
-            // Close the entire emulator (original behavior)
-            emuManager.closeEmulator(profile.getEmulatorNumber());
-            logInfo("Closing emulator due to large inactivity. Next task: " + delayUntil);
-            emuManager.releaseEmulatorSlot(profile);
+        String behaviorName = Optional
+                .ofNullable(ServConfig.getServices().getGlobalConfig())
+                .map(cfg -> cfg.get(EnumConfigurationKey.IDLE_BEHAVIOR_STRING.name()))
+                .orElse(EnumConfigurationKey.IDLE_BEHAVIOR_STRING.getDefaultValue());
+
+        IdleBehavior behavior = IdleBehavior.fromConfig(behaviorName, sendToBackground);
+        adaptiveIdle = behavior == IdleBehavior.ADAPTIVE;
+        if (adaptiveIdle) {
+            // Compare against the fixed behavior the legacy setting would have applied
+            behavior = IdlePolicyOptimizer.getInstance()
+                    .decide(profile, delayUntil, IdleBehavior.fromBoolean(sendToBackground))
+                    .getBehavior();
+        }
+        idleBehavior = behavior;
+
+        switch (behavior) {
+            case SEND_TO_BACKGROUND:
+                // Send game to background (home screen), keep emulator and game running
+                emuManager.sendGameToBackground(profile.getEmulatorNumber());
+                logInfo("Sending game to background due to large inactivity. Next task: " + delayUntil);
+                break;
+            case KEEP_WARM:
+                // Leave the game in the foreground, the next task starts without any relaunch
+                logInfo("Keeping game running during inactivity. Next task: " + delayUntil);
+                break;
+            default:
+                // Close the entire emulator (original behavior)
+                emuManager.closeEmulator(profile.getEmulatorNumber());
+                logInfo("Closing emulator due to large inactivity. Next task: " + delayUntil);
+                emuManager.releaseEmulatorSlot(profile);
+                break;
         }
 
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        updateProfileStatus("Idling till " + formatter.format(delayUntil));
+        updateProfileStatus("Idling till " + TIME_FORMATTER.format(delayUntil));
     }
 
     private void enqueueNewTask() {
@@ -415,13 +777,22 @@ public class TaskQueue {
 
         // Only acquire a new emulator slot if the emulator is not running
         // (i.e., if we closed the entire emulator rather than just the game)
-        if (!emuManager.isRunning(profile.getEmulatorNumber())) {
+        if (needsEmulatorSlot()) {
             acquireEmulatorSlot();
         }
 
         addTask(new InitializeTask(profile, TpDailyTaskEnum.INITIALIZE));
     }
 
+    /**
+     * A running emulator means this profile still holds its slot, unless emulators
+     * are pre-launched: then it may be running before the profile got a slot, so
+     * the slot is always requested. Requesting a slot already held returns at once.
+     */
+    private boolean needsEmulatorSlot() {
+        return EmulatorPreLaunchPlanner.isEnabled() || !emuManager.isRunning(profile.getEmulatorNumber());
+    }
+
     /**
      * Acquires an emulator slot for this profile
      */
@@ -446,33 +817,17 @@ public class TaskQueue {
             } else {
                 taskQueueStatus.setPaused(false);
                 updateProfileStatus("RESUMING");
-                if (!emuManager.isRunning(profile.getEmulatorNumber())) {
-                    logInfo("While resuming, found instance closed. Acquiring a slot now.");
+                if (needsEmulatorSlot()) {
+                    logInfo("While resuming, acquiring a slot now.");
                     acquireEmulatorSlot();
                 }
             }
             return;
         }
-        try {
-            updateProfileStatus("PAUSED");
-            if (LocalDateTime.now().getSecond() % 10 == 0)
-                logInfo("Profile is paused");
-            Thread.sleep(1000); // Wait while paused
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-    }
-
-    /**
-     * Formats the duration until the target time as HH:mm:ss
-     */
-    private String formatTimeUntil(LocalDateTime targetTime) {
-        Duration timeUntilNext = Duration.between(LocalDateTime.now(), targetTime);
-
-        long hours = timeUntilNext.toHours();
-        long minutes = timeUntilNext.toMinutesPart();
-        long seconds = timeUntilNext.toSecondsPart();
-        return String.format("%02d:%02d:%02d", hours, minutes, seconds);
+        updateProfileStatus("PAUSED");
+        logInfo("Profile is paused until " + TIME_FORMATTER.format(taskQueueStatus.getDelayUntil()));
+        // Woken up by resume, stop or a new task, otherwise when the pause ends
+        awaitWakeUp(taskQueueStatus.getDelayUntil());
     }
 
     /**
@@ -492,8 +847,9 @@ public class TaskQueue {
                 .orElse(Integer.parseInt(EnumConfigurationKey.MAX_IDLE_TIME_INT.getDefaultValue()));
         taskQueueStatus.setIdleTimeLimit(idleLimit);
 
-        // If delay exceeds max idle time, and we haven't yet handled it
-        if (!taskQueueStatus.isIdleTimeExceeded() && taskQueueStatus.checkIdleTimeExceeded()) {
+        // If delay exceeds max idle time, or the session plan gives the slot up, and we
+        // haven't yet handled it
+        if (!taskQueueStatus.isIdleTimeExceeded() && shouldReleaseWhileIdle()) {
             idlingEmulator(taskQueueStatus.getDelayUntil());
             taskQueueStatus.setIdleTimeExceeded(true);
             return;
@@ -501,11 +857,88 @@ public class TaskQueue {
 
         // If we're idling but the next task is coming soon, re-acquire the emulator
         if (taskQueueStatus.isIdleTimeExceeded()
-                && LocalDateTime.now().plusMinutes(1).isAfter(taskQueueStatus.getDelayUntil())) {
+                && LocalDateTime.now().plus(getWakeUpLead()).isAfter(taskQueueStatus.getDelayUntil())) {
             enqueueNewTask();
             taskQueueStatus.setIdleTimeExceeded(false);
             return;
         }
+
+        // An idle profile that kept its emulator checks on every wake-up whether it still
+        // should, since other profiles may have come to need a slot during the gap
+        if (taskQueueStatus.isIdleTimeExceeded() && emuManager.holdsEmulatorSlot()
+                && idleBehavior.keepsEmulatorRunning() && shouldStopHoldingIdleSlot()) {
+            emuManager.closeEmulator(profile.getEmulatorNumber());
+            emuManager.releaseEmulatorSlot(profile);
+            idleBehavior = IdleBehavior.CLOSE_EMULATOR;
+            return;
+        }
+
+        // An idle profile that kept its emulator gives the slot up to a reservation its
+        // gap runs into, however short the gap is, and takes a slot again before its next task
+        if (emuManager.holdsEmulatorSlot()) {
+            emuManager.findConflictingReservation(profile, taskQueueStatus.getDelayUntil())
+                    .filter(reservation -> !reservation.getProfileId().equals(profile.getId()))
+                    .ifPresent(reservation -> {
+                        logInfo("Releasing idle slot for the reservation of " + reservation.getProfileName()
+                                + " (" + reservation.getLabel() + ")");
+                        emuManager.closeEmulator(profile.getEmulatorNumber());
+                        emuManager.releaseEmulatorSlot(profile);
+                        taskQueueStatus.setIdleTimeExceeded(true);
+                    });
+        }
+    }
+
+    /**
+     * @return true if the emulator kept for the current gap should be closed now: when
+     *         the optimizer, pricing the rest of the gap, finds closing cheaper, or, for
+     *         a configured behavior, when another profile waits for a slot
+     */
+    private boolean shouldStopHoldingIdleSlot() {
+        if (adaptiveIdle) {
+            boolean close = IdlePolicyOptimizer.getInstance()
+                    .reconsider(profile, taskQueueStatus.getDelayUntil())
+                    .isPresent();
+            if (close) {
+                logInfo("Closing emulator kept while idle, the idle policy now prefers releasing the slot. Next task: "
+                        + taskQueueStatus.getDelayUntil());
+            }
+            return close;
+        }
+        if (!emuManager.getWaitingProfileIds().isEmpty()) {
+            logInfo("Closing emulator kept while idle, another profile is waiting for a slot. Next task: "
+                    + taskQueueStatus.getDelayUntil());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the queue should go idle until its next task, as decided by the
+     *         session planner when it is enabled, otherwise by the max idle time
+     */
+    private boolean shouldReleaseWhileIdle() {
+        SessionPlanner planner = SessionPlanner.getInstance();
+        if (planner.isEnabled() && emuManager.holdsEmulatorSlot()) {
+            return !planner.shouldHoldSlot(profile);
+        }
+        return taskQueueStatus.checkIdleTimeExceeded();
+    }
+
+    /**
+     * @return how long before the next task the queue gets its slot back. A task with
+     *         a slot reservation wakes up as early as its reservation claims the slot.
+     */
+    private Duration getWakeUpLead() {
+        DelayedTask next = taskQueue.peekEarliest();
+        if (next == null || next.getSlotReservation() == null) {
+            return Duration.ofMinutes(1);
+        }
+        int leadSeconds = Optional
+                .ofNullable(ServConfig.getServices().getGlobalConfig())
+                .map(cfg -> cfg.get(EnumConfigurationKey.EMULATOR_RESERVATION_LEAD_SECONDS_INT.name()))
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(EnumConfigurationKey.EMULATOR_RESERVATION_LEAD_SECONDS_INT.getDefaultValue()));
+        return Duration.ofSeconds(Math.max(60, leadSeconds));
     }
 
     /**
@@ -573,6 +1006,18 @@ public class TaskQueue {
         }
     }
 
+    /**
+     * @return queued tasks due before {@code untilMillis}, Initialize excluded, with
+     *         their expected runtime
+     */
+    List<PlannedTask> getUpcomingTasks(long untilMillis) {
+        return taskQueue.stream()
+                .filter(task -> task.getTpTask() != TpDailyTaskEnum.INITIALIZE)
+                .filter(task -> task.getScheduledMillis() <= untilMillis)
+                .map(task -> new PlannedTask(task.getScheduledMillis(), estimateRuntime(task)))
+                .toList();
+    }
+
     /**
      * Checks if there are queued tasks (excluding Initialize tasks) with idle time
      * less than the specified delay
@@ -658,6 +1103,7 @@ public class TaskQueue {
      */
     public void stop() {
         taskQueueStatus.setRunning(false); // Stop the main loop
+        wakeUp();
 
         if (schedulerThread != null) {
             schedulerThread.interrupt(); // Interrupt the thread to force an immediate exit
@@ -673,6 +1119,7 @@ public class TaskQueue {
         taskQueueStatus.reset(); // Reset status
         // Remove all pending tasks from the queue
         taskQueue.clear();
+        emuManager.cancelSlotReservations(profile);
         updateProfileStatus("NOT RUNNING");
         logInfo("TaskQueue stopped immediately");
     }
@@ -684,6 +1131,7 @@ public class TaskQueue {
         taskQueueStatus.pause();
         updateProfileStatus("PAUSE REQUESTED");
         logInfo("TaskQueue paused");
+        wakeUp();
     }
 
     /**
@@ -693,15 +1141,20 @@ public class TaskQueue {
         taskQueueStatus.setPaused(false);
         updateProfileStatus("RESUMING");
         logInfo("TaskQueue resumed");
+        wakeUp();
     }
 
     /**
      * Executes a specific task immediately
      */
     public void executeTaskNow(TpDailyTaskEnum taskEnum, boolean recurring) {
-        // Obtain the task prototype from the registry
-        DelayedTask prototype = DelayedTaskRegistry.create(taskEnum, profile);
-        if (prototype == null) {
+        // Reuse the queued task if there is one, otherwise obtain a new one from the registry
+        DelayedTask task = taskQueue.find(taskEnum);
+        boolean existing = task != null;
+        if (!existing) {
+            task = DelayedTaskRegistry.create(taskEnum, profile);
+        }
+        if (task == null) {
             logWarning("Task not found: " + taskEnum);
             return;
         }
@@ -709,28 +1162,12 @@ public class TaskQueue {
         taskQueueStatus.setNeedsReconnect(true);
         taskQueueStatus.setPaused(false);
 
-        // Check if the task already exists in the queue
-        DelayedTask existing = taskQueue.stream()
-                .filter(prototype::equals)
-                .findFirst()
-                .orElse(null);
-
-        if (existing != null) {
-            // Task already exists, reschedule it to run now
-            taskQueue.remove(existing);
-            existing.setProfile(profile);
-            existing.reschedule(LocalDateTime.now());
-            existing.setRecurring(recurring);
-            taskQueue.offer(existing);
-
-            logInfoWithTask(existing, "Rescheduled existing " + taskEnum + " to run now");
-        } else {
-            // Task does not exist, create a new instance
-            prototype.reschedule(LocalDateTime.now());
-            prototype.setRecurring(recurring);
-            taskQueue.offer(prototype);
-            logInfoWithTask(prototype, "Enqueued new immediate " + taskEnum);
-        }
+        task.setProfile(profile);
+        task.reschedule(LocalDateTime.now());
+        task.setRecurring(recurring);
+        addTask(task);
+        logInfoWithTask(task, (existing ? "Rescheduled existing " + taskEnum + " to run now"
+                : "Enqueued new immediate " + taskEnum));
 
         // Update task state
         DTOTaskState taskState = new DTOTaskState();
@@ -739,7 +1176,7 @@ public class TaskQueue {
         taskState.setScheduled(true);
         taskState.setExecuting(false);
         taskState.setLastExecutionTime(LocalDateTime.now());
-        taskState.setNextExecutionTime(prototype.getScheduled());
+        taskState.setNextExecutionTime(task.getScheduled());
         ServTaskManager.getInstance().setTaskState(profile.getId(), taskState);
     }
 
@@ -1,8 +1,8 @@
 package cl.camodev.wosbot.serv.task;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -15,16 +15,33 @@ import cl.camodev.wosbot.ot.DTOProfiles;
 import cl.camodev.wosbot.ot.DTOQueueProfileState;
 import cl.camodev.wosbot.ot.DTOTaskState;
 import cl.camodev.wosbot.serv.impl.ServLogs;
+import cl.camodev.wosbot.serv.impl.ServProfiles;
 import cl.camodev.wosbot.serv.impl.ServTaskManager;
 import cl.camodev.wosbot.serv.impl.ServConfig;
+import cl.camodev.wosbot.serv.task.planner.SessionPlan;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class TaskQueueManager {
         private final static Logger logger = LoggerFactory.getLogger(TaskQueueManager.class);
-        private final Map<Long, TaskQueue> taskQueues = new HashMap<>();
+        private final Map<Long, TaskQueue> taskQueues = new ConcurrentHashMap<>();
+        private final EmulatorPreLaunchPlanner preLaunchPlanner = new EmulatorPreLaunchPlanner(this);
         private final Map<Long, Boolean> queuePausedStates = new ConcurrentHashMap<>();
 
+        public TaskQueueManager() {
+                // Queues reload their profile only when it changed, instead of on every loop
+                ServProfiles.getServices().addProfileDataChangeListener(profile -> {
+                        if (profile == null) {
+                                taskQueues.values().forEach(TaskQueue::profileChanged);
+                                return;
+                        }
+                        TaskQueue queue = taskQueues.get(profile.getId());
+                        if (queue != null) {
+                                queue.profileChanged();
+                        }
+                });
+        }
+
         public void createQueue(DTOProfiles profile) {
                 if (!taskQueues.containsKey(profile.getId())) {
                         taskQueues.put(profile.getId(), new TaskQueue(profile));
@@ -36,12 +53,38 @@ public class TaskQueueManager {
                 return taskQueues.get(queueName);
         }
 
+        public Collection<TaskQueue> getQueues() {
+                return taskQueues.values();
+        }
+
+        /**
+         * Wakes every queue so it re-reads the global configuration.
+         */
+        public void wakeQueues() {
+                taskQueues.values().forEach(TaskQueue::wakeUp);
+        }
+
         public void startQueues() {
                 ServLogs.getServices().appendLog(EnumTpMessageSeverity.INFO, "TaskQueueManager", "-",
                                 "Starting queues");
                 logger.info("Starting queues ");
+                // With the session planner, queues start in the order their sessions do
+                SessionPlanner planner = SessionPlanner.getInstance();
+                SessionPlan plan = planner.isEnabled() ? planner.plan(taskQueues.values(), System.currentTimeMillis())
+                                : null;
                 taskQueues.entrySet().stream()
                                 .sorted(Map.Entry.<Long, TaskQueue>comparingByValue((queue1, queue2) -> {
+                                        if (plan != null) {
+                                                int cmp = Long.compare(
+                                                                plan.getFirstSessionStart(queue1.getProfile().getId()),
+                                                                plan.getFirstSessionStart(queue2.getProfile().getId()));
+                                                if (cmp != 0) {
+                                                        return cmp;
+                                                }
+                                                return Long.compare(queue2.getProfile().getPriority(),
+                                                                queue1.getProfile().getPriority());
+                                        }
+
                                         // Obtener el delay global desde ServConfig con fallback al default
                                         int delay = Optional
                                                         .ofNullable(ServConfig.getServices().getGlobalConfig())
@@ -90,12 +133,14 @@ public class TaskQueueManager {
                                                 e.printStackTrace();
                                         }
                                 });
+                preLaunchPlanner.start();
         }
 
         public void stopQueues() {
                 ServLogs.getServices().appendLog(EnumTpMessageSeverity.INFO, "TaskQueueManager", "-",
                                 "Stopping queues");
                 logger.info("Stopping queues");
+                preLaunchPlanner.stop();
                 taskQueues.forEach((k, v) -> {
                         for (TpDailyTaskEnum task : TpDailyTaskEnum.values()) {
                                 DTOTaskState taskState = ServTaskManager.getInstance().getTaskState(k, task.getId());
@@ -0,0 +1,298 @@
+package cl.camodev.wosbot.serv.task;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import cl.camodev.wosbot.console.enumerable.EnumTaskPriorityClass;
+import cl.camodev.wosbot.console.enumerable.TpDailyTaskEnum;
+
+/**
+ * Tasks of one profile indexed by an immutable {@link TaskScheduleKey}.
+ * <p>
+ * Every task gets its key when it is added, from its scheduled time and the priority
+ * class of its {@link cl.camodev.wosbot.console.enumerable.TpDailyTaskEnum}. The key
+ * does not change while the task is in the schedule, so rescheduling a task means
+ * removing it and adding it again. Each priority class keeps its own lane sorted by
+ * due time, and a second index over all tasks gives the earliest one. A third index
+ * by task type and distinct key finds a queued task without building a prototype
+ * to compare against. All operations are O(log n) or better and none of them reads
+ * the clock: callers pass the current time.
+ * <p>
+ * All tasks of a queue belong to the same profile, so two tasks are equal exactly
+ * when they share type and distinct key. The schedule holds at most one of them, due
+ * at the earlier of their times.
+ */
+public class TaskSchedule {
+
+    private final Map<EnumTaskPriorityClass, NavigableMap<TaskScheduleKey, DelayedTask>> lanes = new EnumMap<>(
+            EnumTaskPriorityClass.class);
+    private final NavigableMap<TaskScheduleKey, DelayedTask> byDueTime = new TreeMap<>();
+    private final Map<DelayedTask, TaskScheduleKey> keys = new IdentityHashMap<>();
+    private final Map<TpDailyTaskEnum, Map<Object, DelayedTask>> byType = new EnumMap<>(TpDailyTaskEnum.class);
+    private long nextSequence;
+
+    public TaskSchedule() {
+        for (EnumTaskPriorityClass priorityClass : EnumTaskPriorityClass.values()) {
+            lanes.put(priorityClass, new TreeMap<>());
+        }
+    }
+
+    /**
+     * Adds a task with a key taken from its current scheduled time. Adding a task that
+     * is already in the schedule moves it to its new time. A different but equal task
+     * is replaced, and if it was due earlier the added task takes over its time, so a
+     * run requested while the task was executing is not lost when the task reschedules
+     * itself.
+     */
+    public synchronized void offer(DelayedTask task) {
+        unlink(task);
+        DelayedTask same = find(task.getTpTask(), task.getDistinctKey());
+        if (same != null) {
+            unlink(same);
+            if (same.getScheduledMillis() < task.getScheduledMillis()) {
+                task.reschedule(same.getScheduled());
+            }
+        }
+        TaskScheduleKey key = new TaskScheduleKey(task.getScheduledMillis(), task.getTpTask().getPriorityClass(),
+                nextSequence++);
+        keys.put(task, key);
+        byDueTime.put(key, task);
+        lanes.get(key.priorityClass()).put(key, task);
+        byType.computeIfAbsent(task.getTpTask(), type -> new HashMap<>()).put(task.getDistinctKey(), task);
+    }
+
+    /**
+     * Removes and returns the task that has to run now: the earliest due task of the
+     * first priority class that has one.
+     *
+     * @return the task, or {@code null} if no task is due at {@code nowMillis}
+     */
+    public synchronized DelayedTask pollReady(long nowMillis) {
+        return pollReady(nowMillis, EnumStartLocation.ANY);
+    }
+
+    /**
+     * Like {@link #pollReady(long)}, but within that priority class it takes the
+     * earliest due task that starts on the {@code preferred} screen, if there is one.
+     * Running tasks that share a screen one after the other saves the navigation in
+     * between.
+     */
+    public synchronized DelayedTask pollReady(long nowMillis, EnumStartLocation preferred) {
+        DelayedTask task = findReady(nowMillis, preferred);
+        if (task != null) {
+            unlink(task);
+        }
+        return task;
+    }
+
+    /**
+     * @return task {@link #pollReady(long, EnumStartLocation)} would return, without
+     *         removing it
+     */
+    public synchronized DelayedTask peekReady(long nowMillis, EnumStartLocation preferred) {
+        return findReady(nowMillis, preferred);
+    }
+
+    /**
+     * Removes and returns the earliest task that is not due yet but may run early,
+     * as long as it is due by {@code limitMillis}.
+     *
+     * @return the task, or {@code null} if there is none
+     * @see cl.camodev.wosbot.console.enumerable.TpDailyTaskEnum#isEarlyRunSafe()
+     */
+    public synchronized DelayedTask pollEarlyRunSafe(long limitMillis) {
+        DelayedTask task = findEarlyRunSafe(limitMillis);
+        if (task != null) {
+            unlink(task);
+        }
+        return task;
+    }
+
+    /**
+     * @return task {@link #pollEarlyRunSafe(long)} would return, without removing it
+     */
+    public synchronized DelayedTask peekEarlyRunSafe(long limitMillis) {
+        return findEarlyRunSafe(limitMillis);
+    }
+
+    /**
+     * @return earliest task of a class that precedes {@code priorityClass} and is due
+     *         by {@code limitMillis}, or {@code null} if there is none
+     */
+    public synchronized DelayedTask peekUrgent(EnumTaskPriorityClass priorityClass, long limitMillis) {
+        Map.Entry<TaskScheduleKey, DelayedTask> urgent = null;
+        for (Map.Entry<EnumTaskPriorityClass, NavigableMap<TaskScheduleKey, DelayedTask>> lane : lanes.entrySet()) {
+            if (!lane.getKey().precedes(priorityClass)) {
+                continue;
+            }
+            Map.Entry<TaskScheduleKey, DelayedTask> head = lane.getValue().firstEntry();
+            if (head != null && head.getKey().dueMillis() <= limitMillis
+                    && (urgent == null || head.getKey().compareTo(urgent.getKey()) < 0)) {
+                urgent = head;
+            }
+        }
+        return urgent != null ? urgent.getValue() : null;
+    }
+
+    /**
+     * @return task with the earliest due time, or {@code null} if the schedule is empty
+     */
+    public synchronized DelayedTask peekEarliest() {
+        Map.Entry<TaskScheduleKey, DelayedTask> first = byDueTime.firstEntry();
+        return first != null ? first.getValue() : null;
+    }
+
+    /**
+     * @return key the task was added with, or {@code null} if it is not in the schedule
+     */
+    public synchronized TaskScheduleKey keyOf(DelayedTask task) {
+        return keys.get(task);
+    }
+
+    /**
+     * @return queued task of the type without a distinct key, or {@code null}
+     */
+    public synchronized DelayedTask find(TpDailyTaskEnum type) {
+        return find(type, null);
+    }
+
+    /**
+     * @return queued task of the type with the given distinct key, or {@code null}
+     */
+    public synchronized DelayedTask find(TpDailyTaskEnum type, Object distinctKey) {
+        Map<Object, DelayedTask> tasks = byType.get(type);
+        return tasks != null ? tasks.get(distinctKey) : null;
+    }
+
+    /**
+     * @return true if any task of the type is queued
+     */
+    public synchronized boolean contains(TpDailyTaskEnum type) {
+        Map<Object, DelayedTask> tasks = byType.get(type);
+        return tasks != null && !tasks.isEmpty();
+    }
+
+    /**
+     * Removes every queued task of the type.
+     *
+     * @return the removed tasks, empty if there were none
+     */
+    public synchronized List<DelayedTask> removeAll(TpDailyTaskEnum type) {
+        Map<Object, DelayedTask> tasks = byType.get(type);
+        if (tasks == null || tasks.isEmpty()) {
+            return List.of();
+        }
+        List<DelayedTask> removed = new ArrayList<>(tasks.values());
+        removed.forEach(this::unlink);
+        return removed;
+    }
+
+    /**
+     * Removes this exact task instance.
+     */
+    public synchronized boolean remove(DelayedTask task) {
+        return unlink(task);
+    }
+
+    public synchronized boolean removeIf(Predicate<DelayedTask> filter) {
+        boolean removed = false;
+        Iterator<Map.Entry<TaskScheduleKey, DelayedTask>> it = byDueTime.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<TaskScheduleKey, DelayedTask> entry = it.next();
+            if (filter.test(entry.getValue())) {
+                it.remove();
+                keys.remove(entry.getValue());
+                lanes.get(entry.getKey().priorityClass()).remove(entry.getKey());
+                unindexType(entry.getValue());
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * @return tasks in order of due time, copied so the caller needs no lock
+     */
+    public synchronized List<DelayedTask> snapshot() {
+        return new ArrayList<>(byDueTime.values());
+    }
+
+    public Stream<DelayedTask> stream() {
+        return snapshot().stream();
+    }
+
+    public synchronized boolean isEmpty() {
+        return byDueTime.isEmpty();
+    }
+
+    public synchronized int size() {
+        return byDueTime.size();
+    }
+
+    public synchronized void clear() {
+        keys.clear();
+        byType.clear();
+        byDueTime.clear();
+        lanes.values().forEach(Map::clear);
+    }
+
+    private DelayedTask findReady(long nowMillis, EnumStartLocation preferred) {
+        for (NavigableMap<TaskScheduleKey, DelayedTask> lane : lanes.values()) {
+            Map.Entry<TaskScheduleKey, DelayedTask> head = lane.firstEntry();
+            if (head == null || !head.getKey().isDue(nowMillis)) {
+                continue;
+            }
+            if (preferred != EnumStartLocation.ANY) {
+                for (Map.Entry<TaskScheduleKey, DelayedTask> entry : lane.entrySet()) {
+                    if (!entry.getKey().isDue(nowMillis)) {
+                        break;
+                    }
+                    if (entry.getValue().getRequiredStartLocation().follows(preferred)) {
+                        return entry.getValue();
+                    }
+                }
+            }
+            return head.getValue();
+        }
+        return null;
+    }
+
+    private DelayedTask findEarlyRunSafe(long limitMillis) {
+        for (Map.Entry<TaskScheduleKey, DelayedTask> entry : byDueTime.entrySet()) {
+            if (entry.getKey().dueMillis() > limitMillis) {
+                return null;
+            }
+            if (entry.getValue().getTpTask().isEarlyRunSafe()) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private boolean unlink(DelayedTask task) {
+        TaskScheduleKey key = keys.remove(task);
+        if (key == null) {
+            return false;
+        }
+        byDueTime.remove(key);
+        lanes.get(key.priorityClass()).remove(key);
+        unindexType(task);
+        return true;
+    }
+
+    private void unindexType(DelayedTask task) {
+        Map<Object, DelayedTask> tasks = byType.get(task.getTpTask());
+        if (tasks != null) {
+            tasks.remove(task.getDistinctKey(), task);
+        }
+    }
+}
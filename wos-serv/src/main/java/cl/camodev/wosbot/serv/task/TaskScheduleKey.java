@@ -0,0 +1,28 @@
+package cl.camodev.wosbot.serv.task;
+
+import cl.camodev.wosbot.console.enumerable.EnumTaskPriorityClass;
+
+/**
+ * Position of a task in a {@link TaskSchedule}, fixed when the task is added.
+ * <p>
+ * Keys order by due time and then by sequence number, so tasks due at the same
+ * time keep the order in which they were added. The priority class only selects
+ * the lane the task waits in.
+ *
+ * @param dueMillis     epoch milliseconds at which the task becomes due
+ * @param priorityClass lane of the task
+ * @param sequence      insertion number, unique per schedule
+ */
+public record TaskScheduleKey(long dueMillis, EnumTaskPriorityClass priorityClass, long sequence)
+        implements Comparable<TaskScheduleKey> {
+
+    public boolean isDue(long nowMillis) {
+        return dueMillis <= nowMillis;
+    }
+
+    @Override
+    public int compareTo(TaskScheduleKey other) {
+        int cmp = Long.compare(dueMillis, other.dueMillis);
+        return cmp != 0 ? cmp : Long.compare(sequence, other.sequence);
+    }
+}
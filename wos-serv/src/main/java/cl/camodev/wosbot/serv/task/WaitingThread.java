@@ -1,18 +1,35 @@
 package cl.camodev.wosbot.serv.task;
 
+import cl.camodev.wosbot.emulator.PositionCallback;
+import cl.camodev.wosbot.emulator.policy.SlotRequest;
 import cl.camodev.wosbot.ot.DTOProfiles;
 
-public class WaitingThread implements Comparable<WaitingThread> {
+public class WaitingThread implements Comparable<WaitingThread>, SlotRequest {
 	final Thread thread;
 	final Long priority;
 	final Long arrivalTime;
+	final long waitingSince;
 	final Long profileId;
+	final DTOProfiles profile;
+	final PositionCallback callback;
+
+	// Written by the thread handing over the slot, read by the parked waiter
+	private volatile boolean granted = false;
+	private volatile boolean cancelled = false;
+	private int position = 0;
 
 	public WaitingThread(Thread thread, DTOProfiles profile) {
+		this(thread, profile, null);
+	}
+
+	public WaitingThread(Thread thread, DTOProfiles profile, PositionCallback callback) {
 		this.thread = thread;
+		this.profile = profile;
+		this.callback = callback;
 		this.priority = profile.getPriority();
 		this.profileId = profile.getId();
 		this.arrivalTime = System.nanoTime(); // Timestamp for tiebreaking
+		this.waitingSince = System.currentTimeMillis();
 	}
 
 	@Override
@@ -26,6 +43,7 @@ public class WaitingThread implements Comparable<WaitingThread> {
 		return cmp;
 	}
 
+	@Override
 	public Long getProfileId() {
 		return profileId;
 	}
@@ -33,4 +51,67 @@ public class WaitingThread implements Comparable<WaitingThread> {
 	public Thread getThread() {
 		return thread;
 	}
-}
\ No newline at end of file
+
+	public DTOProfiles getProfile() {
+		return profile;
+	}
+
+	@Override
+	public Long getPriority() {
+		return priority;
+	}
+
+	@Override
+	public Long getArrivalTime() {
+		return arrivalTime;
+	}
+
+	@Override
+	public long getWaitingSince() {
+		return waitingSince;
+	}
+
+	public boolean isGranted() {
+		return granted;
+	}
+
+	public void grant() {
+		this.granted = true;
+	}
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	public void cancel() {
+		this.cancelled = true;
+	}
+
+	public int getPosition() {
+		return position;
+	}
+
+	/**
+	 * Updates the position in the queue.
+	 *
+	 * @return true if the position changed
+	 */
+	public boolean updatePosition(int position) {
+		if (this.position == position) {
+			return false;
+		}
+		this.position = position;
+		return true;
+	}
+
+	/**
+	 * Publishes the current position to the profile and the callback.
+	 */
+	public void notifyPosition() {
+		int current = position;
+		profile.setQueuePosition(current);
+		if (callback != null) {
+			callback.onPositionUpdate(thread, current);
+		}
+	}
+}
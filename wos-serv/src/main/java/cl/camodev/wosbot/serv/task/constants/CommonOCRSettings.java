@@ -1,5 +1,6 @@
 package cl.camodev.wosbot.serv.task.constants;
 
+import cl.camodev.utiles.ocr.OcrConfidenceThresholds;
 import cl.camodev.wosbot.ot.DTOTesseractSettings;
 import java.awt.Color;
 import java.util.regex.Pattern;
@@ -89,6 +90,20 @@ public interface CommonOCRSettings {
                         .setAllowedChars("0123456789:")
                         .build();
 
+        // ========================================================================
+        // CONFIDENCE THRESHOLDS
+        // ========================================================================
+
+        /**
+         * Confidence thresholds for numeric reads.
+         * 
+         * <p>
+         * A number read with mean confidence of at least 70 is accepted at once;
+         * a non-numeric read with at least 90 ends the retries since capturing
+         * the same screen again will not change it.
+         */
+        OcrConfidenceThresholds NUMBER_CONFIDENCE = OcrConfidenceThresholds.of(70f, 90f);
+
         // ========================================================================
         // COMMON REGEX PATTERNS
         // ========================================================================
@@ -6,6 +6,7 @@ import cl.camodev.wosbot.logging.ProfileLogger;
 import cl.camodev.wosbot.ot.DTOImageSearchResult;
 import cl.camodev.wosbot.ot.DTOProfiles;
 import cl.camodev.wosbot.serv.task.EnumStartLocation;
+import cl.camodev.wosbot.serv.task.TaskDeadline;
 import cl.camodev.wosbot.serv.task.constants.CommonGameAreas;
 import cl.camodev.wosbot.serv.task.constants.SearchConfigConstants;
 
@@ -191,8 +192,9 @@ public class AllianceHelper {
      * @param millis Duration to sleep in milliseconds
      */
     private void sleep(long millis) {
+        TaskDeadline.check();
         try {
-            Thread.sleep(millis);
+            Thread.sleep(Math.min(millis, TaskDeadline.remainingMillis()));
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
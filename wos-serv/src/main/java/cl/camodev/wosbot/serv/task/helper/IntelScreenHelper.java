@@ -8,6 +8,7 @@ import cl.camodev.wosbot.ot.DTOImageSearchResult;
 import cl.camodev.wosbot.ot.DTOPoint;
 import cl.camodev.wosbot.ot.DTOProfiles;
 import cl.camodev.wosbot.serv.task.EnumStartLocation;
+import cl.camodev.wosbot.serv.task.TaskDeadline;
 import cl.camodev.wosbot.serv.task.constants.SearchConfigConstants;
 import net.sourceforge.tess4j.TesseractException;
 
@@ -231,8 +232,9 @@ public class IntelScreenHelper {
      * @param millis Duration to sleep in milliseconds
      */
     private void sleep(long millis) {
+        TaskDeadline.check();
         try {
-            Thread.sleep(millis);
+            Thread.sleep(Math.min(millis, TaskDeadline.remainingMillis()));
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
@@ -9,8 +9,11 @@ import cl.camodev.wosbot.logging.ProfileLogger;
 import cl.camodev.wosbot.ot.DTOImageSearchResult;
 import cl.camodev.wosbot.ot.DTOPoint;
 import cl.camodev.wosbot.ot.DTOProfiles;
+import cl.camodev.wosbot.ot.DTOScreenAwaitResult;
+import cl.camodev.wosbot.ot.DTOScreenAwaitSettings;
 import cl.camodev.wosbot.serv.impl.ServLogs;
 import cl.camodev.wosbot.serv.task.EnumStartLocation;
+import cl.camodev.wosbot.serv.task.TaskDeadline;
 import cl.camodev.wosbot.serv.task.constants.ButtonConstants;
 import cl.camodev.wosbot.serv.task.constants.SearchConfigConstants;
 
@@ -158,8 +161,7 @@ public class NavigationHelper {
         }
 
         // Step 4: Tap the event tab
-        emuManager.tapAtPoint(emulatorNumber, eventTab.getPoint());
-        sleep(1000);
+        tapAndSettle(eventTab.getPoint(), 1000);
 
         logInfo("Navigated to " + event.name());
         return true;
@@ -180,8 +182,7 @@ public class NavigationHelper {
             return false;
         }
 
-        emuManager.tapAtPoint(emulatorNumber, eventsButton.getPoint());
-        sleep(2000);
+        tapAndSettle(eventsButton.getPoint(), 2000);
 
         logDebug("Events menu opened");
         return true;
@@ -396,8 +397,7 @@ public class NavigationHelper {
             return false;
         }
 
-        emuManager.tapAtPoint(emulatorNumber, world.getPoint());
-        sleep(2000); // Wait for navigation
+        tapAndSettle(world.getPoint(), 2000); // Wait for navigation
 
         // Verify we moved to HOME
         DTOImageSearchResult home = templateSearchHelper.searchTemplate(
@@ -429,8 +429,7 @@ public class NavigationHelper {
             return false;
         }
 
-        emuManager.tapAtPoint(emulatorNumber, home.getPoint());
-        sleep(2000); // Wait for navigation
+        tapAndSettle(home.getPoint(), 2000); // Wait for navigation
 
         // Verify we moved to WORLD
         DTOImageSearchResult world = templateSearchHelper.searchTemplate(
@@ -446,14 +445,30 @@ public class NavigationHelper {
         return true;
     }
 
+    /**
+     * Taps a point and waits until the screen has settled, for at most
+     * {@code maxWaitMs}.
+     * 
+     * @param point     The point to tap
+     * @param maxWaitMs Longest wait
+     */
+    private void tapAndSettle(DTOPoint point, long maxWaitMs) {
+        DTOScreenAwaitResult result = emuManager.tapAndAwait(emulatorNumber, point, point,
+                DTOScreenAwaitSettings.settle(maxWaitMs));
+        if (!result.isSatisfied()) {
+            logDebug("Screen did not settle within " + maxWaitMs + " ms after tap");
+        }
+    }
+
     /**
      * Sleeps for the specified duration, handling interruption.
      * 
      * @param millis Duration to sleep in milliseconds
      */
     private void sleep(long millis) {
+        TaskDeadline.check();
         try {
-            Thread.sleep(millis);
+            Thread.sleep(Math.min(millis, TaskDeadline.remainingMillis()));
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
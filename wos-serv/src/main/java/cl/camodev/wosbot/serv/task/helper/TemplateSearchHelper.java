@@ -9,6 +9,7 @@ import cl.camodev.wosbot.ot.DTOImageSearchResult;
 import cl.camodev.wosbot.ot.DTOPoint;
 import cl.camodev.wosbot.ot.DTOProfiles;
 import cl.camodev.wosbot.serv.impl.ServLogs;
+import cl.camodev.wosbot.serv.task.TaskDeadline;
 import java.util.List;
 
 /**
@@ -326,8 +327,9 @@ public class TemplateSearchHelper {
      * @param milliseconds The duration to sleep in milliseconds
      */
     private void sleep(long milliseconds) {
+        TaskDeadline.check();
         try {
-            Thread.sleep(milliseconds);
+            Thread.sleep(Math.min(milliseconds, TaskDeadline.remainingMillis()));
         } catch (InterruptedException e) {
             logWarning("Sleep interrupted, restoring interrupt status");
             Thread.currentThread().interrupt();
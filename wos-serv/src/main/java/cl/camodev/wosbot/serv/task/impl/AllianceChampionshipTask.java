@@ -1,5 +1,6 @@
 package cl.camodev.wosbot.serv.task.impl;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -87,6 +88,7 @@ public class AllianceChampionshipTask extends DelayedTask {
     private static final int TEMPLATE_SEARCH_RETRIES = 3;
     private static final int TEXT_CLEAR_BACKSPACE_COUNT = 4;
     private static final int NAVIGATION_FAILURE_RETRY_MINUTES = 5;
+    private static final Duration SLOT_RESERVATION = Duration.ofMinutes(10);
 
     // ========== Default Configuration Values ==========
     private static final boolean DEFAULT_OVERRIDE_DEPLOY = false;
@@ -101,6 +103,7 @@ public class AllianceChampionshipTask extends DelayedTask {
     private int lancersPercentage;
     private int markmenPercentage;
     private DeploymentPosition position;
+    private boolean scheduledAtWindowStart; // true while the next run is the start of a window
 
     /**
      * Constructs a new AllianceChampionshipTask.
@@ -213,6 +216,7 @@ public class AllianceChampionshipTask extends DelayedTask {
     @Override
     protected void execute() {
         logInfo("Starting Alliance Championship task execution");
+        scheduledAtWindowStart = false;
 
         if (!verifyExecutionWindow()) {
             // Outside window - reschedule for next window
@@ -596,6 +600,7 @@ public class AllianceChampionshipTask extends DelayedTask {
     private void handleNavigationFailure(String context) {
         logWarning(context + ". Retrying in " + NAVIGATION_FAILURE_RETRY_MINUTES + " minutes.");
         reschedule(LocalDateTime.now().plusMinutes(NAVIGATION_FAILURE_RETRY_MINUTES));
+        scheduledAtWindowStart = false;
     }
 
     /**
@@ -640,6 +645,7 @@ public class AllianceChampionshipTask extends DelayedTask {
         logInfo("Rescheduling Alliance Championship for (Local): " + nextExecutionLocal);
 
         reschedule(nextExecutionLocal);
+        scheduledAtWindowStart = true;
     }
 
     /**
@@ -667,6 +673,17 @@ public class AllianceChampionshipTask extends DelayedTask {
         return EnumStartLocation.ANY;
     }
 
+    /**
+     * Books the emulator slot when the championship window opens, long enough to
+     * deploy the troops. Navigation retries can wait for a slot.
+     * 
+     * @return slot reservation length, or null if the next run is not a window start
+     */
+    @Override
+    protected Duration getSlotReservation() {
+        return scheduledAtWindowStart ? SLOT_RESERVATION : null;
+    }
+
     /**
      * Indicates that this task does not provide daily mission progress.
      * 
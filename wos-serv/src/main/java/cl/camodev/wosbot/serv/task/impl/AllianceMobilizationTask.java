@@ -20,6 +20,7 @@ import cl.camodev.wosbot.serv.task.helper.TemplateSearchHelper.SearchConfig;
 import java.awt.Color;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -289,6 +290,27 @@ public class AllianceMobilizationTask extends DelayedTask {
      */
     private int consecutiveOnlyRunningMissionCount = 0;
 
+    // ========================================================================
+    // Preemption Progress
+    // ========================================================================
+
+    /**
+     * Steps of {@link #searchAndProcessAllTasks()} finished before the run was
+     * preempted at a checkpoint. A resumed run skips them.
+     */
+    private enum Step {
+        COLLECT_COMPLETED,
+        FREE_MISSION,
+        SEARCH_200
+    }
+
+    private final EnumSet<Step> stepsDone = EnumSet.noneOf(Step.class);
+
+    /**
+     * Shortest cooldown seen by the 200% search, kept for a run resumed after it.
+     */
+    private int cooldownAfter200Search = Integer.MAX_VALUE;
+
     /**
      * Constructs a new AllianceMobilizationTask.
      *
@@ -818,8 +840,17 @@ public class AllianceMobilizationTask extends DelayedTask {
                 ", Min points 120%: " + minimumPoints120 +
                 ", Auto-accept: " + autoAcceptEnabled + ")");
 
-        checkAndCollectCompletedTasks();
-        checkAndUseFreeMission();
+        if (!isResuming()) {
+            stepsDone.clear();
+        }
+        if (stepsDone.add(Step.COLLECT_COMPLETED)) {
+            checkAndCollectCompletedTasks();
+        }
+        checkpoint("using the free mission");
+        if (stepsDone.add(Step.FREE_MISSION)) {
+            checkAndUseFreeMission();
+        }
+        checkpoint("searching missions");
 
         TaskSearchFilters filters = determineTaskSearchFilters();
         boolean anyTaskRunning = checkForRunningTasks(filters);
@@ -834,7 +865,11 @@ public class AllianceMobilizationTask extends DelayedTask {
         boolean anyMissionFound = false; // True if ANY mission detected (running or available)
         boolean onlyRunningMissions = false; // True if only running missions were found
 
-        if (filters.search200) {
+        if (filters.search200 && stepsDone.contains(Step.SEARCH_200)) {
+            // Searched before the preemption without finding a mission
+            logInfo("Resuming after the 200% search");
+            shortestCooldownSeconds = cooldownAfter200Search;
+        } else if (filters.search200) {
             TaskProcessingResult result = process200PercentTask(
                     filters.accept200,
                     anyTaskRunning,
@@ -851,6 +886,9 @@ public class AllianceMobilizationTask extends DelayedTask {
         }
 
         if (filters.search120 && !anyMissionFound) {
+            stepsDone.add(Step.SEARCH_200);
+            cooldownAfter200Search = shortestCooldownSeconds;
+            checkpoint("searching 120% missions");
             TaskProcessingResult result = process120PercentTasks(
                     filters.accept120,
                     anyTaskRunning,
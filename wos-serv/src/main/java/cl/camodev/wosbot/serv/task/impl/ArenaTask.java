@@ -273,12 +273,10 @@ public class ArenaTask extends DelayedTask {
             return false;
         }
 
-        tapPoint(marksmanResult.getPoint());
-        sleepTask(1000); // Wait for Marksman Camp to load
+        tapPointAndAwait(marksmanResult.getPoint(), 1000); // Wait for Marksman Camp to load
 
         logInfo("Entering arena");
-        tapPoint(ARENA_ICON);
-        sleepTask(1000); // Wait for arena screen to load
+        tapPointAndAwait(ARENA_ICON, 1000); // Wait for arena screen to load
 
         return true;
     }
@@ -335,8 +333,7 @@ public class ArenaTask extends DelayedTask {
             return false;
         }
 
-        tapPoint(challengeResult.getPoint());
-        sleepTask(1000); // Wait for challenge list to load
+        tapPointAndAwait(challengeResult.getPoint(), 1000); // Wait for challenge list to load
 
         return true;
     }
@@ -1442,6 +1442,18 @@ public class BearTrapTask extends DelayedTask {
         return EnumStartLocation.WORLD;
     }
 
+    /**
+     * Books the emulator slot for the whole trap window, from the start of the
+     * preparation phase until the trap ends.
+     * 
+     * @return preparation time plus trap duration
+     */
+    @Override
+    protected Duration getSlotReservation() {
+        int preparationTime = getConfigInt(BEAR_TRAP_PREPARATION_TIME_INT, DEFAULT_PREPARATION_TIME_MINUTES);
+        return Duration.ofMinutes(preparationTime + TRAP_DURATION_MINUTES);
+    }
+
     /**
      * Indicates that this task does not consume stamina.
      * 
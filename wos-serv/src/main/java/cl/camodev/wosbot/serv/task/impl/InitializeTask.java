@@ -9,6 +9,7 @@ import cl.camodev.wosbot.ot.DTOImageSearchResult;
 import cl.camodev.wosbot.ot.DTOProfiles;
 import cl.camodev.wosbot.serv.task.DelayedTask;
 import cl.camodev.wosbot.serv.task.EnumStartLocation;
+import cl.camodev.wosbot.serv.task.IdlePolicyOptimizer;
 import cl.camodev.wosbot.serv.task.helper.TemplateSearchHelper.SearchConfig;
 
 /**
@@ -62,6 +63,13 @@ public class InitializeTask extends DelayedTask {
 	 */
 	boolean isStarted = false;
 
+	/**
+	 * Start of the first execution and whether this task had to launch the emulator,
+	 * reported to the idle policy once the home screen is reached.
+	 */
+	private long startedAt = 0;
+	private boolean launchedEmulator = false;
+
 	/**
 	 * Constructs a new InitializeTask.
 	 *
@@ -102,6 +110,9 @@ public class InitializeTask extends DelayedTask {
 	protected void execute() {
 		setRecurring(false);
 		logInfo("Starting initialization task...");
+		if (startedAt == 0) {
+			startedAt = System.currentTimeMillis();
+		}
 
 		ensureEmulatorRunning();
 		ensureGameInstalled();
@@ -130,6 +141,7 @@ public class InitializeTask extends DelayedTask {
 			} else {
 				logInfo("Emulator not found. Attempting to start it...");
 				emuManager.launchEmulator(EMULATOR_NUMBER);
+				launchedEmulator = true;
 				logInfo("Waiting 10 seconds before checking again.");
 				sleepTask(10000); // Wait for emulator to start
 			}
@@ -301,6 +313,8 @@ public class InitializeTask extends DelayedTask {
 	private void handleInitializationSuccess() {
 		logInfo("Initialization successful. Reading initial stamina value.");
 		staminaHelper.updateStaminaFromProfile();
+		IdlePolicyOptimizer.getInstance().recordStartup(profile, launchedEmulator,
+				System.currentTimeMillis() - startedAt);
 		logInfo("Initialization task completed successfully.");
 	}
 
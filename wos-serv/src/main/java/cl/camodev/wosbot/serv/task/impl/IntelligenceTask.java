@@ -421,8 +421,7 @@ public class IntelligenceTask extends DelayedTask {
 	}
 
 	private void processJourney(DTOImageSearchResult result) {
-		tapPoint(result.getPoint());
-		sleepTask(2000);
+		tapPointAndAwait(result.getPoint(), 2000);
 
 		DTOImageSearchResult view = templateSearchHelper.searchTemplate(EnumTemplates.INTEL_VIEW, SearchConfigConstants.SINGLE_WITH_RETRIES);
 		if (!view.isFound()) {
@@ -451,8 +450,7 @@ public class IntelligenceTask extends DelayedTask {
 	}
 
 	private void processSurvivor(DTOImageSearchResult result) {
-		tapPoint(result.getPoint());
-		sleepTask(2000);
+		tapPointAndAwait(result.getPoint(), 2000);
 
 		DTOImageSearchResult view = templateSearchHelper.searchTemplate(EnumTemplates.INTEL_VIEW, SearchConfigConstants.SINGLE_WITH_RETRIES);
 		if (!view.isFound()) {
@@ -488,8 +486,7 @@ public class IntelligenceTask extends DelayedTask {
 			return;
 		}
 
-		tapPoint(beast.getPoint());
-		sleepTask(2000);
+		tapPointAndAwait(beast.getPoint(), 2000);
 
 		DTOImageSearchResult view = templateSearchHelper.searchTemplate(EnumTemplates.INTEL_VIEW, SearchConfigConstants.SINGLE_WITH_RETRIES);
 		if (!view.isFound()) {
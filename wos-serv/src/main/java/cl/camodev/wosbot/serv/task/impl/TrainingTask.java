@@ -142,6 +142,10 @@ public class TrainingTask extends DelayedTask {
     private LocalDateTime appointmentTime;
     private final TextRecognitionRetrier<LocalDateTime> trainingTimeHelper;
 
+    // Progress kept when the run is preempted, used by the next run if isResuming()
+    private List<QueueInfo> queuesLeftToTrain;
+    private List<LocalDateTime> completionTimesSoFar;
+
     // ===============================
     // CONSTRUCTOR
     // ===============================
@@ -225,6 +229,15 @@ public class TrainingTask extends DelayedTask {
         loadConfiguration();
         buildQueuesList();
 
+        if (isResuming() && queuesLeftToTrain != null) {
+            // The queues were analyzed before the preemption, train the ones left
+            logInfo("Resuming training with " + queuesLeftToTrain.size() + " queue(s) left");
+            trainQueuesAndReschedule();
+            return;
+        }
+        queuesLeftToTrain = null;
+        completionTimesSoFar = null;
+
         if (queuesToCheck.isEmpty()) {
             handleNoQueuesSelected();
             return;
@@ -248,17 +261,23 @@ public class TrainingTask extends DelayedTask {
 
         updateMinistryAppointmentIfNeeded();
 
-        // Collect completion times from BOTH newly trained AND already-training queues
-        List<LocalDateTime> allCompletionTimes = new ArrayList<>();
-
-        // Add completion times from queues already training
-        allCompletionTimes.addAll(extractExistingCompletionTimes(analyzedQueues));
+        // Collect completion times from BOTH newly trained AND already-training queues,
+        // starting with the queues already training
+        completionTimesSoFar = new ArrayList<>(extractExistingCompletionTimes(analyzedQueues));
+        queuesLeftToTrain = new ArrayList<>(readyQueues);
 
-        // Add completion times from newly trained queues
-        List<LocalDateTime> newCompletionTimes = trainAllReadyQueues(readyQueues);
-        allCompletionTimes.addAll(newCompletionTimes);
+        trainQueuesAndReschedule();
+    }
 
-        rescheduleToEarliestCompletion(allCompletionTimes);
+    /**
+     * Trains the queues left, adds their completion times and reschedules to the
+     * earliest one. The progress is cleared once every queue is done.
+     */
+    private void trainQueuesAndReschedule() {
+        trainAllReadyQueues();
+        rescheduleToEarliestCompletion(completionTimesSoFar);
+        queuesLeftToTrain = null;
+        completionTimesSoFar = null;
     }
 
     /**
@@ -930,7 +949,7 @@ public class TrainingTask extends DelayedTask {
     // ===============================
 
     /**
-     * Trains all ready queues and collects their completion times.
+     * Trains all queues left to train and collects their completion times.
      * 
      * <p>
      * For each ready queue:
@@ -940,23 +959,21 @@ public class TrainingTask extends DelayedTask {
      * <li>Execute training</li>
      * <li>Extract completion time</li>
      * </ol>
-     * 
-     * @param readyQueues List of queues ready for training
-     * @return List of completion times for rescheduling
+     * A queue is removed from {@link #queuesLeftToTrain} once trained, so a run
+     * preempted at the checkpoint resumes with the next queue.
      */
-    private List<LocalDateTime> trainAllReadyQueues(List<QueueInfo> readyQueues) {
-        List<LocalDateTime> completionTimes = new ArrayList<>();
-
-        for (QueueInfo queue : readyQueues) {
+    private void trainAllReadyQueues() {
+        while (!queuesLeftToTrain.isEmpty()) {
+            QueueInfo queue = queuesLeftToTrain.get(0);
+            checkpoint("training " + queue.type().name());
             troopTypeBeingTrained = queue.type();
             LocalDateTime completionTime = trainSingleQueue(queue);
 
             if (completionTime != null) {
-                completionTimes.add(completionTime);
+                completionTimesSoFar.add(completionTime);
             }
+            queuesLeftToTrain.remove(0);
         }
-
-        return completionTimes;
     }
 
     /**
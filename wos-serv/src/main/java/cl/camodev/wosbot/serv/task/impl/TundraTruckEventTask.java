@@ -1,5 +1,6 @@
 package cl.camodev.wosbot.serv.task.impl;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneId;
@@ -74,11 +75,15 @@ public class TundraTruckEventTask extends DelayedTask {
 	private static final int MAX_NAVIGATION_ATTEMPTS = 2;
 	private static final int MAX_REFRESH_ATTEMPTS = 10;
 
+	// Slot booked around the configured activation time
+	private static final Duration ACTIVATION_SLOT_RESERVATION = Duration.ofMinutes(10);
+
 	// Configuration (loaded fresh each execution)
 	private boolean useGems;
 	private boolean truckSSR;
 	private String activationTime; // Format: "HH:mm"
 	private boolean useActivationTime;
+	private boolean scheduledAtActivationTime; // true while the next run is the activation time
 
 	public TundraTruckEventTask(DTOProfiles profile, TpDailyTaskEnum tpDailyTask) {
 		super(profile, tpDailyTask);
@@ -87,6 +92,7 @@ public class TundraTruckEventTask extends DelayedTask {
 	@Override
 	protected void execute() {
 		logInfo("=== Starting Tundra Truck Event Task ===");
+		scheduledAtActivationTime = false;
 
 		// Load configuration
 		loadConfiguration();
@@ -194,6 +200,7 @@ public class TundraTruckEventTask extends DelayedTask {
 				logInfo("Scheduling Tundra Truck task for " + activationTime + " UTC (" +
 						localActivationTime.format(DATETIME_FORMATTER) + " local time)");
 				reschedule(localActivationTime.toLocalDateTime());
+				scheduledAtActivationTime = true;
 				return true;
 			}
 		} catch (DateTimeParseException e) {
@@ -225,6 +232,7 @@ public class TundraTruckEventTask extends DelayedTask {
 						localActivationTime.format(DATETIME_FORMATTER) + " local time)");
 
 				reschedule(localActivationTime.toLocalDateTime());
+				scheduledAtActivationTime = true;
 			} catch (DateTimeParseException e) {
 				logError("Failed to parse activation time: " + e.getMessage());
 				reschedule(UtilTime.getGameReset());
@@ -653,6 +661,7 @@ public class TundraTruckEventTask extends DelayedTask {
 		}
 
 		reschedule(nextSchedule);
+		scheduledAtActivationTime = false;
 	}
 
 	/**
@@ -703,6 +712,15 @@ public class TundraTruckEventTask extends DelayedTask {
 		return EnumStartLocation.WORLD;
 	}
 
+	/**
+	 * Books the emulator slot only when the next run is the configured activation
+	 * time, truck checks and game reset runs can wait for a slot.
+	 */
+	@Override
+	protected Duration getSlotReservation() {
+		return scheduledAtActivationTime ? ACTIVATION_SLOT_RESERVATION : null;
+	}
+
 	// ===================== ENUMS =====================
 
 	private enum TundraNavigationResult {
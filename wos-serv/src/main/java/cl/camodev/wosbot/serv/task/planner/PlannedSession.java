@@ -0,0 +1,16 @@
+package cl.camodev.wosbot.serv.task.planner;
+
+/**
+ * Period during which a profile holds an emulator slot, from the slot grant (or the
+ * planning time if the slot is already held) to the end of its last task.
+ *
+ * @param profileId   profile
+ * @param startMillis epoch milliseconds at which the session holds the slot
+ * @param endMillis   epoch milliseconds at which the slot is released
+ * @param taskCount   tasks run in the session
+ * @param launched    true if the session starts with an emulator launch
+ * @param idleMs      time within the session the slot is held without running anything
+ */
+public record PlannedSession(Long profileId, long startMillis, long endMillis, int taskCount, boolean launched,
+        long idleMs) {
+}
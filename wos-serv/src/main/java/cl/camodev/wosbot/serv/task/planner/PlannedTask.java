@@ -0,0 +1,10 @@
+package cl.camodev.wosbot.serv.task.planner;
+
+/**
+ * Upcoming task of a profile as seen by the session planner.
+ *
+ * @param dueMillis epoch milliseconds at which the task is due
+ * @param runtimeMs expected runtime of the task
+ */
+public record PlannedTask(long dueMillis, long runtimeMs) {
+}
@@ -0,0 +1,19 @@
+package cl.camodev.wosbot.serv.task.planner;
+
+import java.util.List;
+
+/**
+ * Upcoming tasks of one profile, the input of {@link SessionPlan#build}.
+ *
+ * @param profileId   profile
+ * @param priority    profile priority, higher is served first
+ * @param holdingSlot true if the profile holds an emulator slot at planning time
+ * @param waitingForSlot true if the profile waits for a slot at planning time, or has
+ *                    no slot and a task already due
+ * @param launchMs    time from getting a slot to the first task: emulator boot and game start
+ * @param tasks       upcoming tasks in order of due time
+ */
+public record ProfileTimeline(Long profileId, long priority, boolean holdingSlot, boolean waitingForSlot,
+        long launchMs,
+        List<PlannedTask> tasks) {
+}
@@ -0,0 +1,258 @@
+package cl.camodev.wosbot.serv.task.planner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Emulator sessions of every profile, packed from their upcoming tasks.
+ * <p>
+ * A session starts with a slot grant and an emulator launch, runs one or more tasks
+ * and ends when the profile releases its slot. Between two tasks the profile either
+ * keeps the slot idle or releases it and launches again before the next task, a
+ * launch ahead of it. The plan weighs one against the other in slot time:
+ * <ul>
+ * <li>a gap no longer than the launch is held, releasing would free nothing, unless a
+ * profile is waiting for a slot at planning time: a slot idle then goes to it at once;</li>
+ * <li>a longer gap is held while no other profile needs a slot during it, up to
+ * {@link #UNCONTENDED_HOLD_FACTOR} launches, because an unused slot only costs host
+ * resources and every launch costs a full boot;</li>
+ * <li>a gap during which the sessions of all profiles need more slots than there are
+ * is released, longest first, so that the idle slot goes to a profile with work.</li>
+ * </ul>
+ * Building a plan does not read the clock, the caller passes the planning time. The
+ * live planner and the simulator use the same code.
+ */
+public final class SessionPlan {
+
+    /** Longest gap held without contention, in launches */
+    public static final int UNCONTENDED_HOLD_FACTOR = 4;
+
+    private final long plannedAt;
+    private final Map<Long, List<PlannedSession>> sessions;
+
+    private SessionPlan(long plannedAt, Map<Long, List<PlannedSession>> sessions) {
+        this.plannedAt = plannedAt;
+        this.sessions = sessions;
+    }
+
+    /**
+     * Packs the upcoming tasks of every profile into sessions.
+     *
+     * @param timelines upcoming tasks per profile
+     * @param slots     emulator slots available
+     * @param now       planning time, epoch milliseconds
+     */
+    public static SessionPlan build(List<ProfileTimeline> timelines, int slots, long now) {
+        List<Draft> drafts = new ArrayList<>();
+        for (ProfileTimeline timeline : timelines) {
+            drafts.addAll(draft(timeline, now));
+        }
+        boolean waiting = timelines.stream().anyMatch(ProfileTimeline::waitingForSlot);
+        releaseContendedGaps(drafts, Math.max(1, slots), waiting);
+
+        Map<Long, List<PlannedSession>> sessions = new HashMap<>();
+        drafts.stream()
+                .sorted(Comparator.comparingLong(Draft::start))
+                .forEach(draft -> sessions.computeIfAbsent(draft.profileId, id -> new ArrayList<>())
+                        .add(draft.toSession()));
+        return new SessionPlan(now, sessions);
+    }
+
+    /**
+     * @return planned sessions of the profile in order, empty if it has no tasks
+     */
+    public List<PlannedSession> getSessions(Long profileId) {
+        return sessions.getOrDefault(profileId, Collections.emptyList());
+    }
+
+    /**
+     * @return true if the profile, holding a slot at planning time, should keep it
+     *         for its next task instead of releasing it now
+     */
+    public boolean shouldHoldSlot(Long profileId) {
+        List<PlannedSession> planned = getSessions(profileId);
+        if (planned.isEmpty()) {
+            return false;
+        }
+        PlannedSession first = planned.get(0);
+        return !first.launched() && first.startMillis() <= plannedAt && first.taskCount() > 0;
+    }
+
+    /**
+     * @return epoch milliseconds at which the first session of the profile starts, or
+     *         {@link Long#MAX_VALUE} if it has none
+     */
+    public long getFirstSessionStart(Long profileId) {
+        List<PlannedSession> planned = getSessions(profileId);
+        return planned.isEmpty() ? Long.MAX_VALUE : planned.get(0).startMillis();
+    }
+
+    public int getLaunches() {
+        return (int) sessions.values().stream().flatMap(List::stream).filter(PlannedSession::launched).count();
+    }
+
+    public long getIdleSlotMillis() {
+        return sessions.values().stream().flatMap(List::stream).mapToLong(PlannedSession::idleMs).sum();
+    }
+
+    public long getPlannedAt() {
+        return plannedAt;
+    }
+
+    /**
+     * Joins the tasks of one profile into sessions, holding every gap a profile
+     * without contention would hold.
+     */
+    private static List<Draft> draft(ProfileTimeline timeline, long now) {
+        long launchMs = Math.max(0, timeline.launchMs());
+        long maxHoldMs = launchMs * UNCONTENDED_HOLD_FACTOR;
+        List<PlannedTask> tasks = new ArrayList<>(timeline.tasks());
+        tasks.sort(Comparator.comparingLong(PlannedTask::dueMillis));
+
+        List<Draft> drafts = new ArrayList<>();
+        Draft current = null;
+        if (timeline.holdingSlot()) {
+            current = new Draft(timeline.profileId(), launchMs, now, false);
+            drafts.add(current);
+        }
+        for (PlannedTask task : tasks) {
+            long due = Math.max(task.dueMillis(), now);
+            long runtime = Math.max(0, task.runtimeMs());
+            if (current != null && due - current.end() <= maxHoldMs) {
+                current.add(due, runtime);
+                continue;
+            }
+            current = new Draft(timeline.profileId(), launchMs, Math.max(now, due - launchMs), true);
+            current.add(due, runtime);
+            drafts.add(current);
+        }
+        return drafts;
+    }
+
+    /**
+     * Splits sessions at gaps longer than a launch while all slots are needed during
+     * the part of the gap a release would free. While a profile waits, the gap of a
+     * slot held at planning time frees the slot up to its next task, so it counts
+     * however short it is. Gaps are checked once each, longest first, against the
+     * sessions left by the splits before them.
+     */
+    private static void releaseContendedGaps(List<Draft> drafts, int slots, boolean waiting) {
+        Map<long[], Draft> owners = new IdentityHashMap<>();
+        List<Gap> gaps = new ArrayList<>();
+        for (Draft draft : drafts) {
+            // A slot held at planning time may also be released before its first task
+            for (int i = 0; i < draft.runs.size(); i++) {
+                long[] run = draft.runs.get(i);
+                owners.put(run, draft);
+                if (i == 0 && draft.launched) {
+                    continue;
+                }
+                long from = i == 0 ? draft.start : draft.runs.get(i - 1)[1];
+                long until = waiting && i == 0 ? run[0] : run[0] - draft.launchMs;
+                if (until > from) {
+                    gaps.add(new Gap(from, until, run));
+                }
+            }
+        }
+        gaps.sort(Comparator.comparingLong(Gap::freedMs).reversed());
+
+        for (Gap gap : gaps) {
+            if (maxActive(drafts, gap.from(), gap.until()) <= slots) {
+                continue;
+            }
+            Draft owner = owners.get(gap.nextRun());
+            Draft split = owner.splitAt(owner.runs.indexOf(gap.nextRun()));
+            split.runs.forEach(moved -> owners.put(moved, split));
+            drafts.add(split);
+        }
+    }
+
+    /**
+     * @return largest number of sessions holding a slot at the same time within
+     *         {@code [from, to)}
+     */
+    private static int maxActive(List<Draft> drafts, long from, long to) {
+        List<long[]> edges = new ArrayList<>();
+        for (Draft draft : drafts) {
+            long start = Math.max(draft.start(), from);
+            long end = Math.min(draft.end(), to);
+            if (start < end) {
+                edges.add(new long[] { start, 1 });
+                edges.add(new long[] { end, -1 });
+            }
+        }
+        edges.sort((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        int active = 0;
+        int max = 0;
+        for (long[] edge : edges) {
+            active += (int) edge[1];
+            max = Math.max(max, active);
+        }
+        return max;
+    }
+
+    /**
+     * Held gap before a task run: releasing frees the slot from {@code from} until
+     * {@code until}, the relaunch for {@code nextRun} or, for a slot a waiting profile
+     * takes over, the run itself.
+     */
+    private record Gap(long from, long until, long[] nextRun) {
+        long freedMs() {
+            return until - from;
+        }
+    }
+
+    /**
+     * Session under construction: start, optional launch, then task runs.
+     */
+    private static final class Draft {
+        private final Long profileId;
+        private final long launchMs;
+        private final long start;
+        private final boolean launched;
+        private final List<long[]> runs = new ArrayList<>(); // {start, end} per task
+
+        private Draft(Long profileId, long launchMs, long start, boolean launched) {
+            this.profileId = profileId;
+            this.launchMs = launchMs;
+            this.start = start;
+            this.launched = launched;
+        }
+
+        private long start() {
+            return start;
+        }
+
+        private long end() {
+            return runs.isEmpty() ? start + (launched ? launchMs : 0) : runs.get(runs.size() - 1)[1];
+        }
+
+        private void add(long due, long runtime) {
+            long runStart = Math.max(due, end());
+            runs.add(new long[] { runStart, runStart + runtime });
+        }
+
+        /**
+         * Moves the runs from {@code index} on into a new session that launches ahead
+         * of the first of them.
+         */
+        private Draft splitAt(int index) {
+            List<long[]> moved = new ArrayList<>(runs.subList(index, runs.size()));
+            runs.subList(index, runs.size()).clear();
+            Draft next = new Draft(profileId, launchMs, moved.get(0)[0] - launchMs, true);
+            next.runs.addAll(moved);
+            return next;
+        }
+
+        private PlannedSession toSession() {
+            long busy = (launched ? launchMs : 0) + runs.stream().mapToLong(run -> run[1] - run[0]).sum();
+            long end = end();
+            return new PlannedSession(profileId, start, end, runs.size(), launched, Math.max(0, end - start - busy));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package cl.camodev.wosbot.emulator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import cl.camodev.wosbot.emulator.Emulator.ConsoleTimeoutException;
+
+/**
+ * Runs {@link Emulator#readProcessOutput(ProcessBuilder, long)} against scripted fake
+ * consoles. The scripts need a POSIX shell, so the tests are skipped where there is none.
+ */
+class ConsoleOutputTest {
+
+	private static final long TIMEOUT_MS = 500;
+
+	@TempDir
+	Path dir;
+
+	@BeforeEach
+	void requireShell() {
+		assumeTrue(new File("/bin/sh").canExecute(), "no POSIX shell to run the fake console");
+	}
+
+	@Test
+	void returnsOutputOfFinishedConsole() throws IOException {
+		ProcessBuilder console = fakeConsole("echo '0,MEmu,132456,1,5432'", "echo '1,MEmu_1,0,0,0'");
+
+		assertEquals(List.of("0,MEmu,132456,1,5432", "1,MEmu_1,0,0,0"),
+				Emulator.readProcessOutput(console, TIMEOUT_MS));
+	}
+
+	@Test
+	void silentConsoleTimesOut() throws IOException {
+		assertTimesOut(fakeConsole("exec sleep 30"));
+	}
+
+	@Test
+	void consoleHangingAfterPartialOutputTimesOut() throws IOException {
+		assertTimesOut(fakeConsole("echo '0,LDPlayer,263444,328980,1,9876'", "exec sleep 30"));
+	}
+
+	private void assertTimesOut(ProcessBuilder console) {
+		long start = System.nanoTime();
+		assertThrows(ConsoleTimeoutException.class, () -> Emulator.readProcessOutput(console, TIMEOUT_MS));
+		long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		assertTrue(elapsedMs < TIMEOUT_MS + 2000, "gave up after " + elapsedMs + " ms");
+	}
+
+	private ProcessBuilder fakeConsole(String... lines) throws IOException {
+		Path script = dir.resolve("console.sh");
+		Files.writeString(script, "#!/bin/sh\n" + String.join("\n", lines) + "\n");
+		assumeTrue(script.toFile().setExecutable(true), "cannot make the fake console executable");
+		ProcessBuilder pb = new ProcessBuilder(script.toString());
+		pb.redirectErrorStream(true);
+		return pb;
+	}
+}
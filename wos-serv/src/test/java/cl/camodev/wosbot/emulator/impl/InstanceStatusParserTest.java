@@ -0,0 +1,105 @@
+package cl.camodev.wosbot.emulator.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import cl.camodev.wosbot.emulator.EmulatorStatus;
+
+/**
+ * Parses console listings as printed by each emulator into instance statuses.
+ */
+class InstanceStatusParserTest {
+
+	@Test
+	void ldPlayerList2() throws IOException {
+		// index,title,top window handle,bind window handle,android started,pid,vbox pid,width,height,dpi
+		Map<String, EmulatorStatus> statuses = LDPlayerEmulator.parseInstanceStatuses(List.of(
+				"0,LDPlayer,263444,328980,1,9876,5432,960,540,240",
+				"1,LDPlayer-1,0,0,0,-1,-1,960,540,240",
+				"2,LDPlayer-2,0,0,0,4321,4322,960,540,240",
+				"3,LDPlayer-3,0,0,0,0,0,960,540,240",
+				"",
+				"dnplayer not found"));
+
+		assertEquals(Map.of(
+				"0", EmulatorStatus.RUNNING,
+				"1", EmulatorStatus.STOPPED,
+				"2", EmulatorStatus.STARTING,
+				"3", EmulatorStatus.STOPPED), statuses);
+	}
+
+	@Test
+	void ldPlayerWithoutInstances() {
+		assertThrows(IOException.class, () -> LDPlayerEmulator.parseInstanceStatuses(List.of("")));
+	}
+
+	@Test
+	void memuListvms() throws IOException {
+		// index,title,top-level window handle,running status,pid
+		Map<String, EmulatorStatus> statuses = MEmuEmulator.parseInstanceStatuses(List.of(
+				"0,MEmu,132456,1,5432",
+				" 1,MEmu_1,0,0,0 ",
+				"ERROR: command failed"));
+
+		assertEquals(Map.of(
+				"0", EmulatorStatus.RUNNING,
+				"1", EmulatorStatus.STOPPED), statuses);
+	}
+
+	@Test
+	void memuWithoutInstances() {
+		assertThrows(IOException.class, () -> MEmuEmulator.parseInstanceStatuses(List.of()));
+	}
+
+	@Test
+	void mumuInfoSeveralInstances() throws IOException {
+		Map<String, EmulatorStatus> statuses = MuMuEmulator.parseInstanceStatuses(List.of(
+				"{",
+				"    \"0\": {",
+				"        \"adb_host_ip\": \"127.0.0.1\",",
+				"        \"adb_port\": 16384,",
+				"        \"index\": \"0\",",
+				"        \"is_android_started\": true,",
+				"        \"is_process_started\": true,",
+				"        \"name\": \"MuMu\"",
+				"    },",
+				"    \"1\": {",
+				"        \"index\": \"1\",",
+				"        \"is_android_started\": false,",
+				"        \"is_process_started\": true,",
+				"        \"name\": \"MuMu-1\"",
+				"    },",
+				"    \"2\": {",
+				"        \"index\": \"2\",",
+				"        \"is_android_started\": false,",
+				"        \"is_process_started\": false,",
+				"        \"name\": \"MuMu-2\"",
+				"    }",
+				"}"));
+
+		assertEquals(Map.of(
+				"0", EmulatorStatus.RUNNING,
+				"1", EmulatorStatus.STARTING,
+				"2", EmulatorStatus.STOPPED), statuses);
+	}
+
+	@Test
+	void mumuInfoSingleInstance() throws IOException {
+		Map<String, EmulatorStatus> statuses = MuMuEmulator.parseInstanceStatuses(List.of(
+				"{\"index\":0,\"is_android_started\":true,\"is_process_started\":true,\"name\":\"MuMu\"}"));
+
+		assertEquals(Map.of("0", EmulatorStatus.RUNNING), statuses);
+	}
+
+	@Test
+	void mumuWithoutInstances() {
+		assertThrows(IOException.class,
+				() -> MuMuEmulator.parseInstanceStatuses(List.of("{\"errcode\":-1,\"errmsg\":\"unknown\"}")));
+	}
+}
@@ -0,0 +1,285 @@
+package cl.camodev.wosbot.emulator.policy;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import cl.camodev.wosbot.console.enumerable.EnumSlotPolicy;
+
+/**
+ * Discrete-event simulation of the emulator slot queue, used to compare the slot
+ * scheduling policies without running emulators.
+ * <p>
+ * Each simulated profile loops between waiting for a slot, holding it for a session
+ * and idling until its next task is due. A quarter of the profiles have a high
+ * priority and come back after a short gap, which is the situation where strict
+ * priority starves everybody else. Session and gap lengths come from one random
+ * stream per profile, so every policy sees the same workload.
+ * <p>
+ * Run {@link #main(String[])} from the test classpath with optional arguments
+ * {@code profiles slots hours seed} to print the report. It is a tool, not part of
+ * the bot.
+ */
+public final class SlotPolicySimulator {
+
+	private static final long MINUTE_MS = TimeUnit.MINUTES.toMillis(1);
+
+	private final int profiles;
+	private final int slots;
+	private final long horizonMs;
+	private final long seed;
+
+	public SlotPolicySimulator(int profiles, int slots, int hours, long seed) {
+		this.profiles = profiles;
+		this.slots = slots;
+		this.horizonMs = TimeUnit.HOURS.toMillis(hours);
+		this.seed = seed;
+	}
+
+	public static void main(String[] args) {
+		int profiles = args.length > 0 ? Integer.parseInt(args[0]) : 24;
+		int slots = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+		int hours = args.length > 2 ? Integer.parseInt(args[2]) : 24;
+		long seed = args.length > 3 ? Long.parseLong(args[3]) : 42L;
+
+		SlotPolicySimulator simulator = new SlotPolicySimulator(profiles, slots, hours, seed);
+		System.out.println(simulator.report(simulator.runAll()));
+	}
+
+	/**
+	 * @return result of every policy on the same workload
+	 */
+	public Map<EnumSlotPolicy, Result> runAll() {
+		Map<EnumSlotPolicy, Result> results = new EnumMap<>(EnumSlotPolicy.class);
+		for (EnumSlotPolicy type : EnumSlotPolicy.values()) {
+			results.put(type, run(type));
+		}
+		return results;
+	}
+
+	/**
+	 * Simulates the workload under one policy.
+	 */
+	public Result run(EnumSlotPolicy type) {
+		List<SimProfile> simProfiles = new ArrayList<>();
+		for (int i = 0; i < profiles; i++) {
+			long priority = i < profiles / 4 ? 5 : i < profiles / 2 ? 3 : 1;
+			simProfiles.add(new SimProfile((long) i + 1, priority, new Random(seed + i)));
+		}
+
+		Map<Long, SimRequest> waiting = new HashMap<>();
+		SlotSchedulingPolicy policy = SlotSchedulingPolicy.create(type, profileId -> {
+			SimRequest request = waiting.get(profileId);
+			return request != null ? request.dueAt : Long.MAX_VALUE;
+		});
+
+		PriorityQueue<Event> events = new PriorityQueue<>();
+		long[] sequence = { 0 };
+		for (SimProfile profile : simProfiles) {
+			events.add(new Event(profile.nextGap(), sequence[0]++, profile, false));
+		}
+
+		int free = slots;
+		long busyMs = 0;
+		while (!events.isEmpty()) {
+			Event event = events.poll();
+			long now = event.time;
+			if (now > horizonMs) {
+				break;
+			}
+			if (event.release) {
+				free++;
+				busyMs += now - event.profile.grantedAt;
+				policy.onReleased(event.profile.id, now);
+				events.add(new Event(now + event.profile.nextGap(), sequence[0]++, event.profile, false));
+			} else {
+				waiting.put(event.profile.id, new SimRequest(event.profile, now, sequence[0]++));
+			}
+
+			while (free > 0 && !waiting.isEmpty()) {
+				SimRequest next = waiting.values().stream().min(policy.order(now)).orElseThrow();
+				waiting.remove(next.getProfileId());
+				free--;
+				policy.onGranted(next, now);
+				next.profile.recordWait(now - next.dueAt);
+				next.profile.grantedAt = now;
+				events.add(new Event(now + next.profile.nextSession(), sequence[0]++, next.profile, true));
+			}
+		}
+
+		// Requests still waiting at the end count with the wait they have so far
+		waiting.values().forEach(request -> request.profile.recordPendingWait(horizonMs - request.dueAt));
+		return new Result(type, simProfiles, horizonMs, slots, busyMs);
+	}
+
+	/**
+	 * @return one table per policy with throughput and waits per profile
+	 */
+	public String report(Map<EnumSlotPolicy, Result> results) {
+		StringBuilder report = new StringBuilder();
+		report.append(String.format("Slot policy simulation: %d profiles, %d slots, %d hours, seed %d%n%n", profiles,
+				slots, TimeUnit.MILLISECONDS.toHours(horizonMs), seed));
+		for (Result result : results.values()) {
+			report.append(result).append(System.lineSeparator());
+		}
+		return report.toString();
+	}
+
+	/**
+	 * Outcome of one policy.
+	 */
+	public static final class Result {
+		private final EnumSlotPolicy policy;
+		private final List<SimProfile> profiles;
+		private final long horizonMs;
+		private final int slots;
+		private final long busyMs;
+
+		private Result(EnumSlotPolicy policy, List<SimProfile> profiles, long horizonMs, int slots, long busyMs) {
+			this.policy = policy;
+			this.profiles = profiles;
+			this.horizonMs = horizonMs;
+			this.slots = slots;
+			this.busyMs = busyMs;
+		}
+
+		public EnumSlotPolicy getPolicy() {
+			return policy;
+		}
+
+		/**
+		 * @return sessions started per hour over all profiles
+		 */
+		public double getThroughputPerHour() {
+			return profiles.stream().mapToInt(profile -> profile.sessions).sum()
+					/ (double) TimeUnit.MILLISECONDS.toHours(Math.max(horizonMs, TimeUnit.HOURS.toMillis(1)));
+		}
+
+		/**
+		 * @return longest wait of any profile, in minutes
+		 */
+		public double getMaxWaitMinutes() {
+			return profiles.stream().mapToLong(profile -> profile.maxWaitMs).max().orElse(0) / (double) MINUTE_MS;
+		}
+
+		/**
+		 * @return longest wait per profile id, in minutes
+		 */
+		public Map<Long, Double> getMaxWaitMinutesByProfile() {
+			Map<Long, Double> waits = new HashMap<>();
+			profiles.forEach(profile -> waits.put(profile.id, profile.maxWaitMs / (double) MINUTE_MS));
+			return waits;
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder text = new StringBuilder();
+			text.append(String.format("%s: %.1f sessions/h, slot usage %.0f%%, max wait %.1f min%n", policy,
+					getThroughputPerHour(), 100d * busyMs / ((double) horizonMs * slots), getMaxWaitMinutes()));
+			text.append(String.format("  %-8s %-8s %-9s %-14s %-14s%n", "profile", "priority", "sessions",
+					"mean wait min", "max wait min"));
+			for (SimProfile profile : profiles) {
+				text.append(String.format("  %-8d %-8d %-9d %-14.1f %-14.1f%n", profile.id, profile.priority,
+						profile.sessions, profile.sessions > 0 ? profile.totalWaitMs / (double) profile.sessions
+								/ MINUTE_MS : 0d,
+						profile.maxWaitMs / (double) MINUTE_MS));
+			}
+			return text.toString();
+		}
+	}
+
+	private static final class SimProfile {
+		private final Long id;
+		private final long priority;
+		private final Random random;
+		private long grantedAt;
+		private int sessions;
+		private long totalWaitMs;
+		private long maxWaitMs;
+
+		private SimProfile(Long id, long priority, Random random) {
+			this.id = id;
+			this.priority = priority;
+			this.random = random;
+		}
+
+		private long nextSession() {
+			return priority > 1 ? minutes(4, 8) : minutes(3, 6);
+		}
+
+		private long nextGap() {
+			return priority > 1 ? minutes(2, 10) : minutes(20, 60);
+		}
+
+		private long minutes(int min, int max) {
+			return (min + random.nextInt(max - min + 1)) * MINUTE_MS;
+		}
+
+		private void recordWait(long waitMs) {
+			sessions++;
+			totalWaitMs += waitMs;
+			maxWaitMs = Math.max(maxWaitMs, waitMs);
+		}
+
+		private void recordPendingWait(long waitMs) {
+			maxWaitMs = Math.max(maxWaitMs, waitMs);
+		}
+	}
+
+	private static final class SimRequest implements SlotRequest {
+		private final SimProfile profile;
+		private final long dueAt;
+		private final long sequence;
+
+		private SimRequest(SimProfile profile, long dueAt, long sequence) {
+			this.profile = profile;
+			this.dueAt = dueAt;
+			this.sequence = sequence;
+		}
+
+		@Override
+		public Long getProfileId() {
+			return profile.id;
+		}
+
+		@Override
+		public Long getPriority() {
+			return profile.priority;
+		}
+
+		@Override
+		public Long getArrivalTime() {
+			return sequence;
+		}
+
+		@Override
+		public long getWaitingSince() {
+			return dueAt;
+		}
+	}
+
+	private static final class Event implements Comparable<Event> {
+		private final long time;
+		private final long sequence;
+		private final SimProfile profile;
+		private final boolean release;
+
+		private Event(long time, long sequence, SimProfile profile, boolean release) {
+			this.time = time;
+			this.sequence = sequence;
+			this.profile = profile;
+			this.release = release;
+		}
+
+		@Override
+		public int compareTo(Event other) {
+			int cmp = Long.compare(time, other.time);
+			return cmp != 0 ? cmp : Long.compare(sequence, other.sequence);
+		}
+	}
+}
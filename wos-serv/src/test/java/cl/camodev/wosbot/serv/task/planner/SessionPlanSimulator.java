@@ -0,0 +1,354 @@
+package cl.camodev.wosbot.serv.task.planner;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays task schedules on a simulated clock to compare how profiles give their
+ * emulator slot back between tasks.
+ * <p>
+ * {@link Strategy#FIXED_IDLE_LIMIT} is the behavior of a queue on its own: it releases
+ * the slot when its next task is further away than the max idle time.
+ * {@link Strategy#SESSION_PLAN} asks a {@link SessionPlan} built from the tasks of all
+ * profiles at that simulated instant. Both strategies see the same tasks, the same
+ * launch time and the same slot order (priority, then arrival). A profile asks for a
+ * slot a minute before its next task, like a waking queue does.
+ * <p>
+ * The schedule is either a trace recorded by the live planner (see
+ * {@code SessionPlanner}) or a synthetic day of recurring tasks. Run
+ * {@link #main(String[])} from the test classpath with optional arguments
+ * {@code slots maxIdleMinutes launchSeconds [trace.csv]} to print the report. It is a
+ * tool, not part of the bot.
+ */
+public final class SessionPlanSimulator {
+
+    private static final long MINUTE_MS = TimeUnit.MINUTES.toMillis(1);
+    private static final long WAKE_LEAD_MS = MINUTE_MS;
+    private static final long PLANNING_HORIZON_MS = TimeUnit.HOURS.toMillis(3);
+
+    public enum Strategy {
+        FIXED_IDLE_LIMIT,
+        SESSION_PLAN
+    }
+
+    private final Map<Long, Workload> workloads;
+    private final int slots;
+    private final long maxIdleMs;
+    private final long launchMs;
+
+    private SessionPlanSimulator(Map<Long, Workload> workloads, int slots, int maxIdleMinutes, int launchSeconds) {
+        this.workloads = workloads;
+        this.slots = slots;
+        this.maxIdleMs = TimeUnit.MINUTES.toMillis(maxIdleMinutes);
+        this.launchMs = TimeUnit.SECONDS.toMillis(launchSeconds);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int slots = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int maxIdleMinutes = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        int launchSeconds = args.length > 2 ? Integer.parseInt(args[2]) : 120;
+
+        SessionPlanSimulator simulator = args.length > 3
+                ? fromTrace(Paths.get(args[3]), slots, maxIdleMinutes, launchSeconds)
+                : synthetic(12, 24, 42L, slots, maxIdleMinutes, launchSeconds);
+        System.out.println(simulator.report(simulator.runAll()));
+    }
+
+    /**
+     * Loads a trace written by the live planner: one executed task per line, as
+     * {@code profileId,priority,task,dueMillis,startMillis,runtimeMs}.
+     */
+    public static SessionPlanSimulator fromTrace(Path trace, int slots, int maxIdleMinutes, int launchSeconds)
+            throws IOException {
+        Map<Long, Workload> workloads = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(trace)) {
+            String[] fields = line.split(",");
+            if (fields.length < 6 || !Character.isDigit(fields[0].charAt(0))) {
+                continue; // header or broken line
+            }
+            Long profileId = Long.parseLong(fields[0]);
+            workloads.computeIfAbsent(profileId, id -> new Workload(id, Long.parseLong(fields[1])))
+                    .tasks.add(new PlannedTask(Long.parseLong(fields[3]), Long.parseLong(fields[5])));
+        }
+        return new SessionPlanSimulator(workloads, slots, maxIdleMinutes, launchSeconds);
+    }
+
+    /**
+     * Builds a day of recurring tasks: every profile runs a few task types with periods
+     * from ten minutes to eight hours, starting at random offsets.
+     */
+    public static SessionPlanSimulator synthetic(int profiles, int hours, long seed, int slots, int maxIdleMinutes,
+            int launchSeconds) {
+        long[] periodsMinutes = { 10, 30, 60, 120, 480 };
+        long horizon = TimeUnit.HOURS.toMillis(hours);
+        Map<Long, Workload> workloads = new LinkedHashMap<>();
+        for (int i = 0; i < profiles; i++) {
+            Random random = new Random(seed + i);
+            Workload workload = new Workload((long) i + 1, i < profiles / 4 ? 5 : 1);
+            for (long periodMinutes : periodsMinutes) {
+                if (periodMinutes == 10 && random.nextBoolean()) {
+                    continue; // not every profile gathers
+                }
+                long period = periodMinutes * MINUTE_MS;
+                for (long due = random.nextInt((int) periodMinutes) * MINUTE_MS; due < horizon; due += period) {
+                    workload.tasks.add(new PlannedTask(due, (1 + random.nextInt(4)) * MINUTE_MS));
+                }
+            }
+            workloads.put(workload.profileId, workload);
+        }
+        return new SessionPlanSimulator(workloads, slots, maxIdleMinutes, launchSeconds);
+    }
+
+    /**
+     * @return result of every strategy on the same schedule
+     */
+    public Map<Strategy, Result> runAll() {
+        Map<Strategy, Result> results = new EnumMap<>(Strategy.class);
+        for (Strategy strategy : Strategy.values()) {
+            results.put(strategy, run(strategy));
+        }
+        return results;
+    }
+
+    /**
+     * Replays the schedule under one strategy.
+     */
+    public Result run(Strategy strategy) {
+        List<SimProfile> profiles = new ArrayList<>();
+        PriorityQueue<Event> events = new PriorityQueue<>();
+        long[] sequence = { 0 };
+        for (Workload workload : workloads.values()) {
+            SimProfile profile = new SimProfile(workload);
+            profiles.add(profile);
+            for (PlannedTask task : profile.tasks) {
+                events.add(new Event(task.dueMillis() - WAKE_LEAD_MS, sequence[0]++, profile, false));
+                events.add(new Event(task.dueMillis(), sequence[0]++, profile, false));
+            }
+        }
+
+        Result result = new Result(strategy);
+        List<SimProfile> waiting = new ArrayList<>();
+        int free = slots;
+        long last = events.isEmpty() ? 0 : events.peek().time;
+        while (!events.isEmpty()) {
+            Event event = events.poll();
+            long now = event.time;
+            long idleHolders = profiles.stream().filter(p -> p.hasSlot && !p.busy).count();
+            result.idleSlotMs += idleHolders * (now - last);
+            if (!waiting.isEmpty()) {
+                result.contendedIdleMs += idleHolders * (now - last);
+            }
+            last = now;
+
+            SimProfile profile = event.profile;
+            if (event.done) {
+                profile.busy = false;
+            }
+            if (!profile.busy && profile.hasNext()) {
+                if (profile.hasSlot && profile.nextDue() <= now) {
+                    start(profile, now, result, events, sequence);
+                } else if (!profile.hasSlot && !waiting.contains(profile)
+                        && profile.nextDue() - WAKE_LEAD_MS <= now) {
+                    profile.waitingSince = now;
+                    waiting.add(profile);
+                }
+            }
+            if (event.done && profile.hasSlot && !profile.busy
+                    && (!profile.hasNext() || !holds(strategy, profile, profiles, waiting, now))) {
+                profile.hasSlot = false;
+                free++;
+            }
+            // Idle queues look at their slot again while someone waits, like the live loop does
+            if (free == 0 && waiting.contains(profile)) {
+                for (SimProfile holder : profiles) {
+                    if (holder.hasSlot && !holder.busy && holder.hasNext() && !holds(strategy, holder, profiles, waiting, now)) {
+                        holder.hasSlot = false;
+                        free++;
+                    }
+                }
+            }
+
+            while (free > 0 && !waiting.isEmpty()) {
+                SimProfile next = waiting.stream()
+                        .min(Comparator.comparingLong((SimProfile p) -> -p.priority)
+                                .thenComparingLong(p -> p.waitingSince))
+                        .orElseThrow();
+                waiting.remove(next);
+                free--;
+                next.hasSlot = true;
+                next.busy = true;
+                result.launches++;
+                events.add(new Event(now + launchMs, sequence[0]++, next, true));
+            }
+        }
+        result.endedAt = last;
+        return result;
+    }
+
+    private void start(SimProfile profile, long now, Result result, PriorityQueue<Event> events, long[] sequence) {
+        PlannedTask task = profile.tasks.get(profile.next++);
+        long lateness = now - task.dueMillis();
+        result.tasks++;
+        result.totalLatenessMs += lateness;
+        result.maxLatenessMs = Math.max(result.maxLatenessMs, lateness);
+        profile.busy = true;
+        events.add(new Event(now + task.runtimeMs(), sequence[0]++, profile, true));
+    }
+
+    private boolean holds(Strategy strategy, SimProfile profile, List<SimProfile> profiles,
+            List<SimProfile> waiting, long now) {
+        if (strategy == Strategy.FIXED_IDLE_LIMIT) {
+            return profile.nextDue() - now <= maxIdleMs;
+        }
+        List<ProfileTimeline> timelines = new ArrayList<>();
+        for (SimProfile other : profiles) {
+            List<PlannedTask> upcoming = new ArrayList<>();
+            for (int i = other.next; i < other.tasks.size(); i++) {
+                PlannedTask task = other.tasks.get(i);
+                if (task.dueMillis() > now + PLANNING_HORIZON_MS) {
+                    break;
+                }
+                upcoming.add(task);
+            }
+            timelines.add(new ProfileTimeline(other.profileId, other.priority, other.hasSlot,
+                    waiting.contains(other), launchMs, upcoming));
+        }
+        return SessionPlan.build(timelines, slots, now).shouldHoldSlot(profile.profileId);
+    }
+
+    /**
+     * @return one line per strategy
+     */
+    public String report(Map<Strategy, Result> results) {
+        StringBuilder report = new StringBuilder();
+        int tasks = workloads.values().stream().mapToInt(workload -> workload.tasks.size()).sum();
+        report.append(String.format("Session plan simulation: %d profiles, %d tasks, %d slots, max idle %d min, "
+                + "launch %d s%n%n", workloads.size(), tasks, slots, TimeUnit.MILLISECONDS.toMinutes(maxIdleMs),
+                TimeUnit.MILLISECONDS.toSeconds(launchMs)));
+        results.values().forEach(result -> report.append(result).append(System.lineSeparator()));
+        return report.toString();
+    }
+
+    /**
+     * Outcome of one strategy.
+     */
+    public static final class Result {
+        private final Strategy strategy;
+        private int launches;
+        private int tasks;
+        private long idleSlotMs;
+        private long contendedIdleMs;
+        private long totalLatenessMs;
+        private long maxLatenessMs;
+        private long endedAt;
+
+        private Result(Strategy strategy) {
+            this.strategy = strategy;
+        }
+
+        public Strategy getStrategy() {
+            return strategy;
+        }
+
+        public int getLaunches() {
+            return launches;
+        }
+
+        /**
+         * @return slot time held without running anything, in seconds
+         */
+        public long getIdleSlotSeconds() {
+            return TimeUnit.MILLISECONDS.toSeconds(idleSlotMs);
+        }
+
+        /**
+         * @return idle slot time while another profile was waiting for a slot, in seconds
+         */
+        public long getContendedIdleSeconds() {
+            return TimeUnit.MILLISECONDS.toSeconds(contendedIdleMs);
+        }
+
+        public double getMeanLatenessMinutes() {
+            return tasks > 0 ? totalLatenessMs / (double) tasks / MINUTE_MS : 0d;
+        }
+
+        public double getMaxLatenessMinutes() {
+            return maxLatenessMs / (double) MINUTE_MS;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-16s launches %5d, idle slot %7d s (while others waited %6d s), "
+                    + "task lateness mean %.1f min / max %.1f min, tasks %d, last event %.1f h", strategy, launches,
+                    getIdleSlotSeconds(), getContendedIdleSeconds(), getMeanLatenessMinutes(),
+                    getMaxLatenessMinutes(), tasks, endedAt / (double) TimeUnit.HOURS.toMillis(1));
+        }
+    }
+
+    private static final class Workload {
+        private final Long profileId;
+        private final long priority;
+        private final List<PlannedTask> tasks = new ArrayList<>();
+
+        private Workload(Long profileId, long priority) {
+            this.profileId = profileId;
+            this.priority = priority;
+        }
+    }
+
+    private static final class SimProfile {
+        private final Long profileId;
+        private final long priority;
+        private final List<PlannedTask> tasks;
+        private int next;
+        private boolean hasSlot;
+        private boolean busy;
+        private long waitingSince;
+
+        private SimProfile(Workload workload) {
+            this.profileId = workload.profileId;
+            this.priority = workload.priority;
+            this.tasks = new ArrayList<>(workload.tasks);
+            this.tasks.sort(Comparator.comparingLong(PlannedTask::dueMillis));
+        }
+
+        private boolean hasNext() {
+            return next < tasks.size();
+        }
+
+        private long nextDue() {
+            return tasks.get(next).dueMillis();
+        }
+    }
+
+    private static final class Event implements Comparable<Event> {
+        private final long time;
+        private final long sequence;
+        private final SimProfile profile;
+        private final boolean done;
+
+        private Event(long time, long sequence, SimProfile profile, boolean done) {
+            this.time = time;
+            this.sequence = sequence;
+            this.profile = profile;
+            this.done = done;
+        }
+
+        @Override
+        public int compareTo(Event other) {
+            int cmp = Long.compare(time, other.time);
+            return cmp != 0 ? cmp : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package cl.camodev.utiles;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes debug artifacts (images, dumps) on a dedicated background thread so that
+ * debug mode does not slow down the task thread that produced them.
+ * <p>
+ * The writer is bounded: when its queue is full new artifacts are dropped instead
+ * of blocking the caller. A sampling rate allows keeping only one out of every
+ * N artifacts when a call site fires too often to be useful.
+ */
+public class DebugArtifactWriter {
+
+	private static final Logger logger = LoggerFactory.getLogger(DebugArtifactWriter.class);
+
+	private final String name;
+	private final ThreadPoolExecutor executor;
+	private final AtomicLong sequence = new AtomicLong();
+	private volatile int sampleEvery;
+
+	private final LongAdder written = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+	private final LongAdder skipped = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+
+	/**
+	 * Creates a new writer.
+	 *
+	 * @param name          name used for the worker thread and in log messages
+	 * @param queueCapacity maximum number of pending artifacts before new ones are dropped
+	 * @param sampleEvery   keep one artifact out of every {@code sampleEvery} submitted (1 keeps all)
+	 */
+	public DebugArtifactWriter(String name, int queueCapacity, int sampleEvery) {
+		this.name = name;
+		setSampleEvery(sampleEvery);
+
+		AtomicInteger threadCount = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity),
+				runnable -> {
+					Thread thread = new Thread(runnable, name + "-writer-" + threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					thread.setPriority(Thread.MIN_PRIORITY);
+					return thread;
+				},
+				(runnable, pool) -> {
+					throw new RejectedExecutionException();
+				});
+	}
+
+	/**
+	 * Queues an artifact job. The job runs on the writer thread and must not touch
+	 * mutable state owned by the caller.
+	 *
+	 * @param job rendering and writing logic for the artifact
+	 * @return true if the job was queued, false if it was sampled out or dropped
+	 */
+	public boolean submit(Runnable job) {
+		if (sequence.getAndIncrement() % sampleEvery != 0) {
+			skipped.increment();
+			return false;
+		}
+
+		try {
+			executor.execute(() -> {
+				try {
+					job.run();
+					written.increment();
+				} catch (RuntimeException e) {
+					failed.increment();
+					logger.error("{} - failed to write debug artifact: {}", name, e.getMessage());
+				}
+			});
+			return true;
+		} catch (RejectedExecutionException e) {
+			dropped.increment();
+			logger.debug("{} - debug artifact dropped, writer queue is full ({} dropped so far)", name,
+					dropped.sum());
+			return false;
+		}
+	}
+
+	/**
+	 * Sets the sampling rate.
+	 *
+	 * @param sampleEvery keep one artifact out of every {@code sampleEvery} submitted; values below 1 are treated as 1
+	 */
+	public void setSampleEvery(int sampleEvery) {
+		this.sampleEvery = Math.max(1, sampleEvery);
+	}
+
+	public int getSampleEvery() {
+		return sampleEvery;
+	}
+
+	public long getWritten() {
+		return written.sum();
+	}
+
+	public long getDropped() {
+		return dropped.sum();
+	}
+
+	public long getSkipped() {
+		return skipped.sum();
+	}
+
+	public long getFailed() {
+		return failed.sum();
+	}
+
+	/**
+	 * Stops accepting artifacts and waits briefly for the pending ones to be written.
+	 */
+	public void shutdown() {
+		executor.shutdown();
+		try {
+			if (!executor.awaitTermination(2, TimeUnit.SECONDS)) {
+				executor.shutdownNow();
+			}
+		} catch (InterruptedException e) {
+			executor.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return String.format("DebugArtifactWriter [%s, written=%d, dropped=%d, skipped=%d, failed=%d, sampleEvery=%d]",
+				name, getWritten(), getDropped(), getSkipped(), getFailed(), sampleEvery);
+	}
+}
@@ -0,0 +1,91 @@
+package cl.camodev.utiles;
+
+import cl.camodev.wosbot.ot.DTORawImage;
+
+/**
+ * Cheap comparison of two raw frames, used to detect when the screen reacts to an input.
+ * <p>
+ * Only a sparse grid of pixels is compared, straight from the raw screencap bytes,
+ * so a full-screen diff costs far less than a template search.
+ */
+public class FrameDiffUtil {
+
+    private static final int SAMPLE_STEP = 4;
+    private static final int PIXEL_THRESHOLD = 24; // Per-channel difference that counts as a change
+
+    /**
+     * Returned when one of the frames is missing or the frames differ in size or format.
+     */
+    public static final double NOT_COMPARABLE = -1d;
+
+    /**
+     * Returns the fraction of sampled pixels that differ between two frames within a region.
+     *
+     * @param previous first frame
+     * @param current  second frame
+     * @param x        left coordinate of the region
+     * @param y        top coordinate of the region
+     * @param width    region width
+     * @param height   region height
+     * @return value between 0 (identical) and 1 (every sample changed), or {@link #NOT_COMPARABLE}
+     */
+    public static double changedRatio(DTORawImage previous, DTORawImage current, int x, int y, int width, int height) {
+        if (previous == null || current == null
+                || previous.getWidth() != current.getWidth()
+                || previous.getHeight() != current.getHeight()
+                || previous.getBpp() != current.getBpp()) {
+            return NOT_COMPARABLE;
+        }
+
+        int left = Math.max(0, x);
+        int top = Math.max(0, y);
+        int right = Math.min(current.getWidth(), x + width);
+        int bottom = Math.min(current.getHeight(), y + height);
+        if (right <= left || bottom <= top) {
+            return 0d;
+        }
+
+        byte[] a = previous.getData();
+        byte[] b = current.getData();
+        int imageWidth = current.getWidth();
+        boolean rgb565 = current.getBpp() == 16;
+        int bytesPerPixel = rgb565 ? 2 : 4;
+
+        int samples = 0;
+        int changed = 0;
+        for (int row = top; row < bottom; row += SAMPLE_STEP) {
+            for (int col = left; col < right; col += SAMPLE_STEP) {
+                int offset = (row * imageWidth + col) * bytesPerPixel;
+                samples++;
+                if (rgb565) {
+                    if (differs565(a, b, offset)) {
+                        changed++;
+                    }
+                } else if (Math.abs((a[offset] & 0xFF) - (b[offset] & 0xFF)) > PIXEL_THRESHOLD
+                        || Math.abs((a[offset + 1] & 0xFF) - (b[offset + 1] & 0xFF)) > PIXEL_THRESHOLD
+                        || Math.abs((a[offset + 2] & 0xFF) - (b[offset + 2] & 0xFF)) > PIXEL_THRESHOLD) {
+                    changed++;
+                }
+            }
+        }
+        return samples == 0 ? 0d : (double) changed / samples;
+    }
+
+    /**
+     * Returns the fraction of sampled pixels that differ between two full frames.
+     */
+    public static double changedRatio(DTORawImage previous, DTORawImage current) {
+        if (current == null) {
+            return NOT_COMPARABLE;
+        }
+        return changedRatio(previous, current, 0, 0, current.getWidth(), current.getHeight());
+    }
+
+    private static boolean differs565(byte[] a, byte[] b, int offset) {
+        int pa = ((a[offset + 1] & 0xFF) << 8) | (a[offset] & 0xFF);
+        int pb = ((b[offset + 1] & 0xFF) << 8) | (b[offset] & 0xFF);
+        return Math.abs(((pa >> 11) & 0x1F) - ((pb >> 11) & 0x1F)) << 3 > PIXEL_THRESHOLD
+                || Math.abs(((pa >> 5) & 0x3F) - ((pb >> 5) & 0x3F)) << 2 > PIXEL_THRESHOLD
+                || Math.abs((pa & 0x1F) - (pb & 0x1F)) << 3 > PIXEL_THRESHOLD;
+    }
+}
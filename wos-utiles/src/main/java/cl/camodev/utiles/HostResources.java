@@ -0,0 +1,71 @@
+package cl.camodev.utiles;
+
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.OperatingSystemMXBean;
+
+/**
+ * Reads the load of the host machine, used to decide how many emulators it can carry.
+ * <p>
+ * Values come from the platform {@link OperatingSystemMXBean}. When a value is not
+ * available on the running JVM, the methods return a neutral value instead of failing.
+ */
+public class HostResources {
+
+    private static final long MB = 1024L * 1024L;
+
+    private static final OperatingSystemMXBean OS_BEAN = loadBean();
+
+    private static OperatingSystemMXBean loadBean() {
+        java.lang.management.OperatingSystemMXBean bean = ManagementFactory.getOperatingSystemMXBean();
+        return bean instanceof OperatingSystemMXBean ? (OperatingSystemMXBean) bean : null;
+    }
+
+    /**
+     * @return free physical memory in megabytes, or {@link Long#MAX_VALUE} if unknown
+     */
+    public static long getFreeMemoryMb() {
+        if (OS_BEAN == null) {
+            return Long.MAX_VALUE;
+        }
+        return OS_BEAN.getFreeMemorySize() / MB;
+    }
+
+    /**
+     * @return total physical memory in megabytes, or 0 if unknown
+     */
+    public static long getTotalMemoryMb() {
+        if (OS_BEAN == null) {
+            return 0;
+        }
+        return OS_BEAN.getTotalMemorySize() / MB;
+    }
+
+    /**
+     * @return fraction of physical memory in use, between 0 and 1, or 0 if unknown
+     */
+    public static double getMemoryPressure() {
+        if (OS_BEAN == null || OS_BEAN.getTotalMemorySize() <= 0) {
+            return 0d;
+        }
+        return 1d - (double) OS_BEAN.getFreeMemorySize() / OS_BEAN.getTotalMemorySize();
+    }
+
+    /**
+     * @return recent CPU load of the whole host, between 0 and 1, or 0 if unknown
+     */
+    public static double getCpuLoad() {
+        if (OS_BEAN == null) {
+            return 0d;
+        }
+        double load = OS_BEAN.getCpuLoad();
+        return load < 0 ? 0d : load;
+    }
+
+    /**
+     * @return number of processors available to the JVM
+     */
+    public static int getAvailableProcessors() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+}
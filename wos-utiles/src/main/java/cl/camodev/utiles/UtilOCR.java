@@ -11,10 +11,12 @@ import java.util.Collections;
 
 import javax.imageio.ImageIO;
 
+import cl.camodev.utiles.ocr.ConfidenceTesseract;
+import cl.camodev.utiles.ocr.OcrResultCache;
+import cl.camodev.wosbot.ot.DTOOcrResult;
 import cl.camodev.wosbot.ot.DTORawImage;
 import cl.camodev.wosbot.ot.DTOPoint;
 import cl.camodev.wosbot.ot.DTOTesseractSettings;
-import net.sourceforge.tess4j.Tesseract;
 import net.sourceforge.tess4j.TesseractException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,6 +25,40 @@ public class UtilOCR {
 
     private static final Logger log = LoggerFactory.getLogger(UtilOCR.class);
 
+    // Shared across profiles: keys are derived from region pixels and settings only
+    private static final int RESULT_CACHE_MAX_ENTRIES = 512;
+    private static final OcrResultCache resultCache = new OcrResultCache(RESULT_CACHE_MAX_ENTRIES);
+    // Reads below this mean confidence are retried by the caller, so serving them from the cache would
+    // only hand the same doubtful read back. Matches the accept threshold of numeric reads.
+    private static final float MIN_CACHED_CONFIDENCE = 70f;
+
+    /**
+     * Returns the shared OCR result cache, mainly to expose its hit/miss metrics.
+     *
+     * @return the OCR result cache
+     */
+    public static OcrResultCache getResultCache() {
+        return resultCache;
+    }
+
+    // Debug composites are written off the task thread; when the queue is full they are dropped
+    private static final int DEBUG_WRITER_QUEUE_CAPACITY = 8;
+    private static final DebugArtifactWriter debugWriter = new DebugArtifactWriter("ocr-debug",
+            DEBUG_WRITER_QUEUE_CAPACITY, 1);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(debugWriter::shutdown));
+    }
+
+    /**
+     * Returns the OCR debug image writer, to tune its sampling rate or read its metrics.
+     *
+     * @return the OCR debug image writer
+     */
+    public static DebugArtifactWriter getDebugWriter() {
+        return debugWriter;
+    }
+
     /**
      * Performs OCR on a specified region of a DTORawImage using Tesseract.
      * This is the most efficient method as it works directly with raw image data.
@@ -36,6 +72,22 @@ public class UtilOCR {
      */
     public static String ocrFromRegion(DTORawImage rawImage, DTOPoint p1, DTOPoint p2, String language)
             throws TesseractException {
+        return ocrResultFromRegion(rawImage, p1, p2, language).getText();
+    }
+
+    /**
+     * Performs OCR on a specified region of a DTORawImage and returns the text together
+     * with the engine confidence.
+     *
+     * @param rawImage Raw image data from screenshot capture
+     * @param p1       Top-left point that defines the region
+     * @param p2       Bottom-right point that defines the region
+     * @param language Language code for Tesseract
+     * @return Extracted text with mean and per-character confidence
+     * @throws TesseractException If an error occurs during OCR processing
+     */
+    public static DTOOcrResult ocrResultFromRegion(DTORawImage rawImage, DTOPoint p1, DTOPoint p2, String language)
+            throws TesseractException {
         if (rawImage == null) {
             throw new IllegalArgumentException("Raw image cannot be null.");
         }
@@ -49,17 +101,35 @@ public class UtilOCR {
             throw new IllegalArgumentException("Specified region exceeds image bounds.");
         }
 
+        OcrResultCache.Key cacheKey = OcrResultCache.keyFor(rawImage, x, y, width, height, "lang=" + language);
+        DTOOcrResult cached = resultCache.get(cacheKey);
+        if (cached != null) {
+            log.debug("OCR result served from cache: {} ({})", cached, resultCache);
+            return cached;
+        }
+
         // Extract the region directly from raw data and upscale
         BufferedImage processedImage = extractAndUpscaleRegion(rawImage, x, y, width, height, 4);
 
-        Tesseract tesseract = new Tesseract();
+        ConfidenceTesseract tesseract = new ConfidenceTesseract();
         tesseract.setConfigs(Collections.singletonList("quiet"));
         tesseract.setDatapath("lib/tesseract");
         tesseract.setLanguage(language);
         tesseract.setPageSegMode(7); // single line
         tesseract.setOcrEngineMode(1); // LSTM only
 
-        return tesseract.doOCR(processedImage).replace("\n", "").replace("\r", "").trim();
+        DTOOcrResult result = tesseract.recognize(processedImage);
+        cacheResult(cacheKey, result);
+        return result;
+    }
+
+    private static void cacheResult(OcrResultCache.Key cacheKey, DTOOcrResult result) {
+        if (result.hasConfidence() && result.getMeanConfidence() < MIN_CACHED_CONFIDENCE) {
+            log.debug("OCR result not cached, confidence {} is below {}", result.getMeanConfidence(),
+                    MIN_CACHED_CONFIDENCE);
+            return;
+        }
+        resultCache.put(cacheKey, result);
     }
 
     /**
@@ -75,6 +145,22 @@ public class UtilOCR {
      */
     public static String ocrFromRegion(DTORawImage rawImage, DTOPoint p1, DTOPoint p2, DTOTesseractSettings settings)
             throws TesseractException {
+        return ocrResultFromRegion(rawImage, p1, p2, settings).getText();
+    }
+
+    /**
+     * Performs OCR on a specified region of a DTORawImage using custom settings and returns
+     * the text together with the engine confidence.
+     *
+     * @param rawImage Raw image data from screenshot capture
+     * @param p1       Top-left point that defines the region
+     * @param p2       Bottom-right point that defines the region
+     * @param settings DTOTesseractSettings containing OCR configuration
+     * @return Extracted text with mean and per-character confidence
+     * @throws TesseractException If an error occurs during OCR processing
+     */
+    public static DTOOcrResult ocrResultFromRegion(DTORawImage rawImage, DTOPoint p1, DTOPoint p2,
+                                                   DTOTesseractSettings settings) throws TesseractException {
         long startTime = System.currentTimeMillis();
         log.debug("=== OCR Process Started ===");
 
@@ -94,6 +180,19 @@ public class UtilOCR {
         log.debug("Region: x={}, y={}, width={}, height={}", x, y, width, height);
         log.debug("Settings: removeBackground={}, textColor={}", settings.isRemoveBackground(), settings.getTextColor());
 
+        // Identical pixels with identical settings always yield the same text, so skip Tesseract.
+        // Debug runs bypass the cache so every call produces its debug image.
+        OcrResultCache.Key cacheKey = null;
+        if (!settings.isDebug()) {
+            cacheKey = OcrResultCache.keyFor(rawImage, x, y, width, height, settingsFingerprint(settings));
+            DTOOcrResult cached = resultCache.get(cacheKey);
+            if (cached != null) {
+                log.debug("=== OCR Process Completed === Served from cache in {} ms, Result: {} ({})",
+                        System.currentTimeMillis() - startTime, cached, resultCache);
+                return cached;
+            }
+        }
+
         // Extract, upscale and process region directly from raw data in a single pass
         long extractStartTime = System.currentTimeMillis();
         BufferedImage processedImage = extractAndProcessRegion(
@@ -105,7 +204,7 @@ public class UtilOCR {
 
         // Configure Tesseract
         long tesseractConfigStartTime = System.currentTimeMillis();
-        Tesseract tesseract = new Tesseract();
+        ConfidenceTesseract tesseract = new ConfidenceTesseract();
         tesseract.setDatapath("lib/tesseract");
         tesseract.setLanguage("eng");
 
@@ -125,176 +224,214 @@ public class UtilOCR {
 
         // Perform OCR
         long ocrStartTime = System.currentTimeMillis();
-        String result = tesseract.doOCR(processedImage).replace("\n", "").replace("\r", "").trim();
+        DTOOcrResult result = tesseract.recognize(processedImage);
         long ocrEndTime = System.currentTimeMillis();
-        log.debug("Tesseract OCR execution took: {} ms", (ocrEndTime - ocrStartTime));
+        log.debug("Tesseract OCR execution took: {} ms, mean confidence: {}", (ocrEndTime - ocrStartTime),
+                result.getMeanConfidence());
 
-        // Optional: dump debug image
-        if (settings.isDebug()) {
-            long debugStartTime = System.currentTimeMillis();
-            try {
-                Path projectRoot = Paths.get(System.getProperty("user.dir"));
-                Path tempDir = projectRoot.resolve("temp");
-                if (!Files.exists(tempDir)) {
-                    Files.createDirectories(tempDir);
-                }
+        if (cacheKey != null) {
+            cacheResult(cacheKey, result);
+        }
 
-                String timestamp = String.valueOf(System.currentTimeMillis());
-
-                // Get full image
-                BufferedImage fullImage = convertRawImageToBufferedImage(rawImage);
-
-                // Build configuration text
-                StringBuilder configText = new StringBuilder();
-                configText.append("Tesseract Configuration:");
-                configText.append("\n  Language: eng");
-                configText.append("\n  Page Seg Mode: ").append(settings.hasPageSegMode() ? settings.getPageSegMode() : "Default");
-                configText.append("\n  OCR Engine Mode: ").append(settings.hasOcrEngineMode() ? settings.getOcrEngineMode() : "Default");
-                configText.append("\n  Allowed Chars: ").append(settings.hasAllowedChars() ? settings.getAllowedChars() : "All");
-                configText.append("\n  Remove Background: ").append(settings.isRemoveBackground());
-                configText.append("\n  Text Color: ").append(settings.getTextColor() != null ? settings.getTextColor() : "Auto");
-                configText.append("\n  Upscale Factor: 4x");
-                configText.append("\n\nDetected Text: \"").append(result).append("\"");
-
-                // Calculate dimensions
-                int padding = 20;
-                int titleHeight = 40;
-                int configBoxHeight = 200;
-
-                // Right side width: max between processed image and config box
-                int rightSideWidth = Math.max(processedImage.getWidth(), 500);
-
-                int combinedWidth = fullImage.getWidth() + padding + rightSideWidth;
-                int combinedHeight = Math.max(
-                        fullImage.getHeight() + titleHeight,
-                        processedImage.getHeight() + titleHeight + configBoxHeight + padding
-                );
-
-                // Create combined image
-                BufferedImage combinedImage = new BufferedImage(
-                        combinedWidth,
-                        combinedHeight,
-                        BufferedImage.TYPE_INT_ARGB
-                );
-                Graphics2D g2d = combinedImage.createGraphics();
-                g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-                // Fill background with white
-                g2d.setColor(Color.WHITE);
-                g2d.fillRect(0, 0, combinedWidth, combinedHeight);
-
-                // === LEFT SIDE: Full image with red rectangle and text ===
-                BufferedImage fullImageWithOverlay = new BufferedImage(
-                        fullImage.getWidth(),
-                        fullImage.getHeight(),
-                        BufferedImage.TYPE_INT_ARGB
-                );
-                Graphics2D g2dFull = fullImageWithOverlay.createGraphics();
-                g2dFull.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-                g2dFull.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-                // Draw the original full image
-                g2dFull.drawImage(fullImage, 0, 0, null);
-
-                // Configure graphics for rectangle and text
-                g2dFull.setColor(Color.RED);
-                g2dFull.setStroke(new BasicStroke(3));
-
-                // Draw red rectangle around the search region
-                g2dFull.drawRect(x, y, width, height);
-
-                // Configure font for text
-                g2dFull.setFont(new Font("Arial", Font.BOLD, 20));
-                FontMetrics fm = g2dFull.getFontMetrics();
-                int textWidth = fm.stringWidth(result);
-                int textHeight = fm.getHeight();
-
-                // Determine text position (above or below rectangle based on available space)
-                int textX = x + 5;
-                int textY;
-
-                if (y > textHeight + 10) {
-                    // Draw text above the rectangle
-                    textY = y - 10;
-                } else {
-                    // Draw text below the rectangle
-                    textY = y + height + textHeight;
-                }
+        // Optional: dump debug image. Rendering and PNG encoding happen on the writer thread
+        // so debug mode does not inflate the timings it is meant to observe.
+        if (settings.isDebug()) {
+            String timestamp = String.valueOf(System.currentTimeMillis());
+            String debugText = result.getText();
+            boolean queued = debugWriter.submit(() -> writeDebugImage(timestamp, rawImage, processedImage,
+                    x, y, width, height, settings, debugText));
+            if (!queued) {
+                log.debug("Debug image skipped ({})", debugWriter);
+            }
+        }
 
-                // Draw background for text (semi-transparent black for better readability)
-                g2dFull.setColor(new Color(0, 0, 0, 180));
-                g2dFull.fillRect(textX - 5, textY - textHeight + 5, textWidth + 10, textHeight);
+        long totalTime = System.currentTimeMillis() - startTime;
+        log.debug("=== OCR Process Completed === Total time: {} ms, Result: {}", totalTime, result);
 
-                // Draw the detected text
-                g2dFull.setColor(Color.RED);
-                g2dFull.drawString(result, textX, textY);
-                g2dFull.dispose();
+        return result;
+    }
 
-                // Draw title for left side
-                g2d.setColor(Color.BLACK);
-                g2d.setFont(new Font("Arial", Font.BOLD, 16));
-                g2d.drawString("Full Image with Region", 10, 20);
+    /**
+     * Renders the OCR debug composite (full frame with the region highlighted, processed
+     * region and configuration summary) and saves it to {@code temp/}.
+     * Runs on the debug writer thread.
+     */
+    private static void writeDebugImage(String timestamp, DTORawImage rawImage, BufferedImage processedImage,
+                                        int x, int y, int width, int height,
+                                        DTOTesseractSettings settings, String result) {
+        long debugStartTime = System.currentTimeMillis();
+        try {
+            Path projectRoot = Paths.get(System.getProperty("user.dir"));
+            Path tempDir = projectRoot.resolve("temp");
+            if (!Files.exists(tempDir)) {
+                Files.createDirectories(tempDir);
+            }
 
-                // Draw full image with overlay
-                g2d.drawImage(fullImageWithOverlay, 0, titleHeight, null);
+            // Get full image
+            BufferedImage fullImage = convertRawImageToBufferedImage(rawImage);
+
+            // Build configuration text
+            StringBuilder configText = new StringBuilder();
+            configText.append("Tesseract Configuration:");
+            configText.append("\n  Language: eng");
+            configText.append("\n  Page Seg Mode: ").append(settings.hasPageSegMode() ? settings.getPageSegMode() : "Default");
+            configText.append("\n  OCR Engine Mode: ").append(settings.hasOcrEngineMode() ? settings.getOcrEngineMode() : "Default");
+            configText.append("\n  Allowed Chars: ").append(settings.hasAllowedChars() ? settings.getAllowedChars() : "All");
+            configText.append("\n  Remove Background: ").append(settings.isRemoveBackground());
+            configText.append("\n  Text Color: ").append(settings.getTextColor() != null ? settings.getTextColor() : "Auto");
+            configText.append("\n  Upscale Factor: 4x");
+            configText.append("\n\nDetected Text: \"").append(result).append("\"");
+
+            // Calculate dimensions
+            int padding = 20;
+            int titleHeight = 40;
+            int configBoxHeight = 200;
+
+            // Right side width: max between processed image and config box
+            int rightSideWidth = Math.max(processedImage.getWidth(), 500);
+
+            int combinedWidth = fullImage.getWidth() + padding + rightSideWidth;
+            int combinedHeight = Math.max(
+                    fullImage.getHeight() + titleHeight,
+                    processedImage.getHeight() + titleHeight + configBoxHeight + padding
+            );
+
+            // Create combined image
+            BufferedImage combinedImage = new BufferedImage(
+                    combinedWidth,
+                    combinedHeight,
+                    BufferedImage.TYPE_INT_ARGB
+            );
+            Graphics2D g2d = combinedImage.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+            // Fill background with white
+            g2d.setColor(Color.WHITE);
+            g2d.fillRect(0, 0, combinedWidth, combinedHeight);
+
+            // === LEFT SIDE: Full image with red rectangle and text ===
+            BufferedImage fullImageWithOverlay = new BufferedImage(
+                    fullImage.getWidth(),
+                    fullImage.getHeight(),
+                    BufferedImage.TYPE_INT_ARGB
+            );
+            Graphics2D g2dFull = fullImageWithOverlay.createGraphics();
+            g2dFull.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2dFull.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+            // Draw the original full image
+            g2dFull.drawImage(fullImage, 0, 0, null);
+
+            // Configure graphics for rectangle and text
+            g2dFull.setColor(Color.RED);
+            g2dFull.setStroke(new BasicStroke(3));
+
+            // Draw red rectangle around the search region
+            g2dFull.drawRect(x, y, width, height);
+
+            // Configure font for text
+            g2dFull.setFont(new Font("Arial", Font.BOLD, 20));
+            FontMetrics fm = g2dFull.getFontMetrics();
+            int textWidth = fm.stringWidth(result);
+            int textHeight = fm.getHeight();
+
+            // Determine text position (above or below rectangle based on available space)
+            int textX = x + 5;
+            int textY;
+
+            if (y > textHeight + 10) {
+                // Draw text above the rectangle
+                textY = y - 10;
+            } else {
+                // Draw text below the rectangle
+                textY = y + height + textHeight;
+            }
 
-                // === RIGHT SIDE: Processed image and configuration ===
-                int rightStartX = fullImage.getWidth() + padding;
+            // Draw background for text (semi-transparent black for better readability)
+            g2dFull.setColor(new Color(0, 0, 0, 180));
+            g2dFull.fillRect(textX - 5, textY - textHeight + 5, textWidth + 10, textHeight);
 
-                // Draw title for processed image
-                g2d.drawString("Processed Region", rightStartX + 10, 20);
+            // Draw the detected text
+            g2dFull.setColor(Color.RED);
+            g2dFull.drawString(result, textX, textY);
+            g2dFull.dispose();
 
-                // Draw processed image on the right
-                g2d.drawImage(processedImage, rightStartX, titleHeight, null);
+            // Draw title for left side
+            g2d.setColor(Color.BLACK);
+            g2d.setFont(new Font("Arial", Font.BOLD, 16));
+            g2d.drawString("Full Image with Region", 10, 20);
 
-                // Draw configuration box below processed image
-                int configBoxY = titleHeight + processedImage.getHeight() + padding;
+            // Draw full image with overlay
+            g2d.drawImage(fullImageWithOverlay, 0, titleHeight, null);
 
-                // Draw configuration box background
-                g2d.setColor(new Color(240, 240, 240));
-                g2d.fillRect(rightStartX, configBoxY, rightSideWidth, configBoxHeight);
+            // === RIGHT SIDE: Processed image and configuration ===
+            int rightStartX = fullImage.getWidth() + padding;
 
-                // Draw configuration box border
-                g2d.setColor(Color.GRAY);
-                g2d.setStroke(new BasicStroke(1));
-                g2d.drawRect(rightStartX, configBoxY, rightSideWidth, configBoxHeight);
+            // Draw title for processed image
+            g2d.drawString("Processed Region", rightStartX + 10, 20);
 
-                // Draw configuration text
-                g2d.setColor(Color.BLACK);
-                g2d.setFont(new Font("Monospaced", Font.PLAIN, 12));
+            // Draw processed image on the right
+            g2d.drawImage(processedImage, rightStartX, titleHeight, null);
 
-                String[] configLines = configText.toString().split("\n");
-                int lineY = configBoxY + 20;
-                for (String line : configLines) {
-                    g2d.drawString(line, rightStartX + 10, lineY);
-                    lineY += 18;
-                }
+            // Draw configuration box below processed image
+            int configBoxY = titleHeight + processedImage.getHeight() + padding;
 
-                // Draw separator line between left and right
-                g2d.setColor(Color.GRAY);
-                g2d.setStroke(new BasicStroke(2));
-                g2d.drawLine(fullImage.getWidth() + padding/2, 0, fullImage.getWidth() + padding/2, combinedHeight);
+            // Draw configuration box background
+            g2d.setColor(new Color(240, 240, 240));
+            g2d.fillRect(rightStartX, configBoxY, rightSideWidth, configBoxHeight);
 
-                g2d.dispose();
+            // Draw configuration box border
+            g2d.setColor(Color.GRAY);
+            g2d.setStroke(new BasicStroke(1));
+            g2d.drawRect(rightStartX, configBoxY, rightSideWidth, configBoxHeight);
 
-                // Save combined image
-                ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                ImageIO.write(combinedImage, "png", baos);
-                Path outputPath = tempDir.resolve(timestamp + "_debug.png");
-                Files.write(outputPath, baos.toByteArray());
+            // Draw configuration text
+            g2d.setColor(Color.BLACK);
+            g2d.setFont(new Font("Monospaced", Font.PLAIN, 12));
 
-                long debugEndTime = System.currentTimeMillis();
-                log.debug("Debug image saved took: {} ms", (debugEndTime - debugStartTime));
-            } catch (IOException e) {
-                log.error("Failed to save debug image: {}", e.getMessage());
+            String[] configLines = configText.toString().split("\n");
+            int lineY = configBoxY + 20;
+            for (String line : configLines) {
+                g2d.drawString(line, rightStartX + 10, lineY);
+                lineY += 18;
             }
-        }
 
-        long totalTime = System.currentTimeMillis() - startTime;
-        log.debug("=== OCR Process Completed === Total time: {} ms, Result: '{}'", totalTime, result);
+            // Draw separator line between left and right
+            g2d.setColor(Color.GRAY);
+            g2d.setStroke(new BasicStroke(2));
+            g2d.drawLine(fullImage.getWidth() + padding/2, 0, fullImage.getWidth() + padding/2, combinedHeight);
 
-        return result;
+            g2d.dispose();
+
+            // Save combined image
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            ImageIO.write(combinedImage, "png", baos);
+            Path outputPath = tempDir.resolve(timestamp + "_debug.png");
+            Files.write(outputPath, baos.toByteArray());
+
+            long debugEndTime = System.currentTimeMillis();
+            log.debug("Debug image saved took: {} ms", (debugEndTime - debugStartTime));
+        } catch (IOException e) {
+            log.error("Failed to save debug image: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Builds a fingerprint of every setting that influences the recognised text.
+     * Flags that do not change the OCR output (debug, reuseLastImage) are left out.
+     *
+     * @param settings OCR settings
+     * @return fingerprint string used as part of the result cache key
+     */
+    private static String settingsFingerprint(DTOTesseractSettings settings) {
+        Color textColor = settings.getTextColor();
+        return "psm=" + settings.getPageSegMode()
+                + ";oem=" + settings.getOcrEngineMode()
+                + ";chars=" + settings.getAllowedChars()
+                + ";bg=" + settings.isRemoveBackground()
+                + ";color=" + (textColor != null ? textColor.getRGB() : "auto")
+                + ";lang=eng";
     }
 
     /**
@@ -0,0 +1,82 @@
+package cl.camodev.utiles.ocr;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import cl.camodev.wosbot.ot.DTOOcrResult;
+import com.sun.jna.Pointer;
+import net.sourceforge.tess4j.ITessAPI;
+import net.sourceforge.tess4j.TessAPI;
+import net.sourceforge.tess4j.Tesseract;
+import net.sourceforge.tess4j.TesseractException;
+
+/**
+ * {@link Tesseract} variant that returns the recognised text together with the
+ * engine confidence.
+ * <p>
+ * Text and confidences come from the same recognition pass: the text is read
+ * first and the result iterator of that pass is then walked symbol by symbol,
+ * so asking for confidence does not run Tesseract twice.
+ */
+public class ConfidenceTesseract extends Tesseract {
+
+    /**
+     * Recognises the given image.
+     *
+     * @param image image to recognise
+     * @return recognised text (line breaks removed and trimmed) with mean and per-character confidence
+     * @throws TesseractException if the engine fails
+     */
+    public DTOOcrResult recognize(BufferedImage image) throws TesseractException {
+        init();
+        setVariables();
+        try {
+            setImage(image);
+            String text = getOCRText(null, 0);
+            text = text == null ? "" : text.replace("\n", "").replace("\r", "").trim();
+
+            TessAPI api = getAPI();
+            ITessAPI.TessBaseAPI handle = getHandle();
+            float meanConfidence = api.TessBaseAPIMeanTextConf(handle);
+            return new DTOOcrResult(text, meanConfidence, readCharConfidences(api, handle, text.length()));
+        } catch (IOException e) {
+            throw new TesseractException(e);
+        } finally {
+            dispose();
+        }
+    }
+
+    private static float[] readCharConfidences(TessAPI api, ITessAPI.TessBaseAPI handle, int expectedLength) {
+        ITessAPI.TessResultIterator iterator = api.TessBaseAPIGetIterator(handle);
+        if (iterator == null) {
+            return new float[0];
+        }
+
+        float[] confidences = new float[expectedLength];
+        int count = 0;
+        try {
+            do {
+                Pointer symbolPointer = api.TessResultIteratorGetUTF8Text(iterator, ITessAPI.TessPageIteratorLevel.RIL_SYMBOL);
+                if (symbolPointer == null) {
+                    continue;
+                }
+                String symbol = symbolPointer.getString(0, StandardCharsets.UTF_8.name());
+                api.TessDeleteText(symbolPointer);
+                float confidence = api.TessResultIteratorConfidence(iterator, ITessAPI.TessPageIteratorLevel.RIL_SYMBOL);
+
+                // A symbol may hold more than one char (ligatures, surrogate pairs)
+                for (int i = 0; i < symbol.length(); i++) {
+                    if (count == confidences.length) {
+                        confidences = Arrays.copyOf(confidences, Math.max(8, count * 2));
+                    }
+                    confidences[count++] = confidence;
+                }
+            } while (api.TessResultIteratorNext(iterator, ITessAPI.TessPageIteratorLevel.RIL_SYMBOL) == ITessAPI.TRUE);
+        } finally {
+            api.TessResultIteratorDelete(iterator);
+        }
+        return Arrays.copyOf(confidences, count);
+    }
+}
@@ -0,0 +1,58 @@
+package cl.camodev.utiles.ocr;
+
+/**
+ * Confidence thresholds used by {@link TextRecognitionRetrier} to decide whether an
+ * OCR read can be trusted or whether another capture is worth it.
+ * <p>
+ * Both thresholds are compared against the mean confidence reported by the engine
+ * (0-100). Reads without confidence information are handled as if no thresholds
+ * were configured.
+ * <ul>
+ * <li>{@code accept}: a read that passes the validation predicate is returned right
+ * away only if its confidence reaches this value. Lower-confidence reads are kept
+ * as a fallback and the region is captured again.</li>
+ * <li>{@code conclusive}: a read that fails the validation predicate with at least
+ * this confidence is considered a reliable reading of what is on screen, so the
+ * retries stop instead of capturing the same content again.</li>
+ * </ul>
+ */
+public final class OcrConfidenceThresholds {
+
+    /**
+     * Thresholds that reproduce the plain predicate-based behaviour.
+     */
+    public static final OcrConfidenceThresholds NONE = new OcrConfidenceThresholds(0f, Float.POSITIVE_INFINITY);
+
+    private final float accept;
+    private final float conclusive;
+
+    private OcrConfidenceThresholds(float accept, float conclusive) {
+        this.accept = accept;
+        this.conclusive = conclusive;
+    }
+
+    /**
+     * @param accept     minimum confidence to return a valid read without retrying
+     * @param conclusive minimum confidence for an invalid read to stop the retries
+     * @return the thresholds
+     */
+    public static OcrConfidenceThresholds of(float accept, float conclusive) {
+        if (accept > conclusive) {
+            throw new IllegalArgumentException("accept threshold must not exceed conclusive threshold");
+        }
+        return new OcrConfidenceThresholds(accept, conclusive);
+    }
+
+    public float getAccept() {
+        return accept;
+    }
+
+    public float getConclusive() {
+        return conclusive;
+    }
+
+    @Override
+    public String toString() {
+        return "OcrConfidenceThresholds [accept=" + accept + ", conclusive=" + conclusive + "]";
+    }
+}
@@ -0,0 +1,176 @@
+package cl.camodev.utiles.ocr;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import cl.camodev.wosbot.ot.DTOOcrResult;
+import cl.camodev.wosbot.ot.DTORawImage;
+
+/**
+ * Bounded LRU cache for OCR results.
+ * <p>
+ * Entries are keyed by a hash of the raw pixels of the recognised region plus a
+ * fingerprint of the OCR settings used to read it. Because the key only depends
+ * on the image content (never on the profile or emulator that captured it), a
+ * single instance can safely be shared across every running profile.
+ * <p>
+ * Lookups and insertions are synchronized; the cache is tiny compared to the
+ * cost of a Tesseract call so contention is not a concern.
+ */
+public class OcrResultCache {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int maxEntries;
+    private final Map<Key, DTOOcrResult> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache holding at most {@code maxEntries} results.
+     *
+     * @param maxEntries maximum number of cached results, must be positive
+     */
+    public OcrResultCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, DTOOcrResult> eldest) {
+                if (size() > OcrResultCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Builds the cache key for a region of a raw image.
+     *
+     * @param rawImage    source screenshot
+     * @param x           left coordinate of the region
+     * @param y           top coordinate of the region
+     * @param width       region width in pixels
+     * @param height      region height in pixels
+     * @param fingerprint fingerprint of the OCR settings used for the region
+     * @return key identifying the region content and settings
+     */
+    public static Key keyFor(DTORawImage rawImage, int x, int y, int width, int height, String fingerprint) {
+        int bytesPerPixel = rawImage.getBpp() == 16 ? 2 : 4;
+        byte[] data = rawImage.getData();
+        int rowLength = width * bytesPerPixel;
+
+        // FNV-1a over the region rows only; the rest of the frame is irrelevant
+        long hash = FNV_OFFSET_BASIS;
+        for (int row = y; row < y + height; row++) {
+            int offset = (row * rawImage.getWidth() + x) * bytesPerPixel;
+            for (int i = offset; i < offset + rowLength; i++) {
+                hash ^= (data[i] & 0xFF);
+                hash *= FNV_PRIME;
+            }
+        }
+        return new Key(hash, width, height, rawImage.getBpp(), fingerprint);
+    }
+
+    /**
+     * Returns the cached result for the key, or {@code null} on a miss.
+     */
+    public synchronized DTOOcrResult get(Key key) {
+        DTOOcrResult result = entries.get(key);
+        if (result != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return result;
+    }
+
+    /**
+     * Stores a recognised result for the key.
+     */
+    public synchronized void put(Key key, DTOOcrResult result) {
+        entries.put(key, result);
+    }
+
+    /**
+     * Removes every cached result. Metrics are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return percentage of lookups served from the cache, 0 when there were no lookups
+     */
+    public double getHitRate() {
+        long h = getHits();
+        long total = h + getMisses();
+        return total == 0 ? 0d : (h * 100d) / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OcrResultCache [size=%d/%d, hits=%d, misses=%d, evictions=%d, hitRate=%.1f%%]",
+                size(), maxEntries, getHits(), getMisses(), getEvictions(), getHitRate());
+    }
+
+    /**
+     * Content-based cache key: region pixel hash, region geometry and settings fingerprint.
+     */
+    public static final class Key {
+        private final long pixelHash;
+        private final int width;
+        private final int height;
+        private final int bpp;
+        private final String fingerprint;
+
+        private Key(long pixelHash, int width, int height, int bpp, String fingerprint) {
+            this.pixelHash = pixelHash;
+            this.width = width;
+            this.height = height;
+            this.bpp = bpp;
+            this.fingerprint = fingerprint;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof Key))
+                return false;
+            Key other = (Key) o;
+            return pixelHash == other.pixelHash && width == other.width && height == other.height
+                    && bpp == other.bpp && Objects.equals(fingerprint, other.fingerprint);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(pixelHash, width, height, bpp, fingerprint);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package cl.camodev.utiles.ocr;
 
+import cl.camodev.wosbot.ot.DTOOcrResult;
 import cl.camodev.wosbot.ot.DTOPoint;
 import cl.camodev.wosbot.ot.DTOTesseractSettings;
 import java.io.IOException;
@@ -24,4 +25,21 @@ public interface TextRecognitionProvider {
      * @throws TesseractException  if the underlying OCR engine fails
      */
     String ocrRegion(DTOPoint p1, DTOPoint p2, DTOTesseractSettings settings) throws IOException, TesseractException;
-}
\ No newline at end of file
+
+    /**
+     * Performs OCR on the region and returns the recognized text together with the
+     * engine confidence. Providers that cannot report confidence return the text
+     * with {@link DTOOcrResult#UNKNOWN_CONFIDENCE}.
+     *
+     * @param p1       the first corner (top‑left) of the region to capture
+     * @param p2       the second corner (bottom‑right) of the region to capture
+     * @param settings optional Tesseract configuration (may be {@code null})
+     * @return the recognized text with confidence, or {@code null} if no text could be recognized
+     * @throws IOException         if an image capture or file I/O error occurs
+     * @throws TesseractException  if the underlying OCR engine fails
+     */
+    default DTOOcrResult ocrRegionResult(DTOPoint p1, DTOPoint p2, DTOTesseractSettings settings) throws IOException, TesseractException {
+        String text = ocrRegion(p1, p2, settings);
+        return text != null ? new DTOOcrResult(text) : null;
+    }
+}
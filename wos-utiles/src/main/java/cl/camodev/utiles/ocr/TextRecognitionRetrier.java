@@ -1,6 +1,7 @@
 package cl.camodev.utiles.ocr;
 
 import cl.camodev.wosbot.ot.DTOArea;
+import cl.camodev.wosbot.ot.DTOOcrResult;
 import cl.camodev.wosbot.ot.DTOPoint;
 import cl.camodev.wosbot.ot.DTOTesseractSettings;
 
@@ -58,12 +59,59 @@ public class TextRecognitionRetrier<T> {
                      DTOTesseractSettings settings,
                      Predicate<String> successPredicate,
                      Function<String, T> converter) {
+        return execute(p1, p2, maxRetries, delayMs, settings, OcrConfidenceThresholds.NONE, successPredicate, converter);
+    }
+
+    /**
+     * Same as {@link #execute(DTOPoint, DTOPoint, int, long, DTOTesseractSettings, Predicate, Function)}
+     * but uses the engine confidence to avoid pointless captures: a valid read is returned
+     * immediately only when its confidence reaches the accept threshold, and an invalid read
+     * with conclusive confidence ends the retries early. If every valid read was below the
+     * accept threshold, the most confident one is returned after the last attempt.
+     *
+     * @param p1              top‑left corner of the region to capture
+     * @param p2              bottom‑right corner of the region to capture
+     * @param maxRetries      maximum number of OCR attempts
+     * @param delayMs         delay in milliseconds between attempts
+     * @param settings        optional Tesseract settings for the OCR engine
+     * @param thresholds      confidence thresholds for accepting or giving up early
+     * @param successPredicate predicate to determine whether the recognized text
+     *                        constitutes a successful read
+     * @param converter       function to convert the recognized text into the return type {@code T}
+     * @return the converted value on success, or {@code null} if all attempts fail
+     */
+    public T execute(DTOPoint p1,
+                     DTOPoint p2,
+                     int maxRetries,
+                     long delayMs,
+                     DTOTesseractSettings settings,
+                     OcrConfidenceThresholds thresholds,
+                     Predicate<String> successPredicate,
+                     Function<String, T> converter) {
+        DTOOcrResult bestCandidate = null;
+
         for (int attempt = 0; attempt < maxRetries; attempt++) {
             logger.debug("Performing OCR (attempt {} of {})", attempt + 1, maxRetries);
             try {
-                String raw = textRecognitionProvider.ocrRegion(p1, p2, settings);
-                if (raw != null && successPredicate.test(raw)) {
-                    return converter.apply(raw);
+                DTOOcrResult result = textRecognitionProvider.ocrRegionResult(p1, p2, settings);
+                if (result != null && result.getText() != null) {
+                    float confidence = result.getMeanConfidence();
+                    boolean known = result.hasConfidence();
+
+                    if (successPredicate.test(result.getText())) {
+                        if (!known || confidence >= thresholds.getAccept()) {
+                            return converter.apply(result.getText());
+                        }
+                        logger.debug("OCR read '{}' is valid but confidence {} is below {}, capturing again",
+                                result.getText(), confidence, thresholds.getAccept());
+                        if (bestCandidate == null || confidence > bestCandidate.getMeanConfidence()) {
+                            bestCandidate = result;
+                        }
+                    } else if (known && confidence >= thresholds.getConclusive()) {
+                        logger.debug("OCR read '{}' is invalid with confidence {}, not retrying", result.getText(),
+                                confidence);
+                        break;
+                    }
                 }
             } catch (IOException | TesseractException | RuntimeException e) {
                 logger.warn("OCR attempt {} threw an exception: {}", attempt + 1, e.getMessage());
@@ -78,6 +126,16 @@ public class TextRecognitionRetrier<T> {
                 }
             }
         }
+
+        if (bestCandidate != null) {
+            logger.debug("Using low-confidence OCR read '{}' ({})", bestCandidate.getText(),
+                    bestCandidate.getMeanConfidence());
+            try {
+                return converter.apply(bestCandidate.getText());
+            } catch (RuntimeException e) {
+                logger.warn("Could not convert OCR read '{}': {}", bestCandidate.getText(), e.getMessage());
+            }
+        }
         return null;
     }
 
@@ -89,4 +147,15 @@ public class TextRecognitionRetrier<T> {
                      Function<String, T> converter) {
         return execute(area.topLeft(), area.bottomRight(), maxRetries, delayMs, settings, successPredicate, converter);
     }
+
+    public T execute(DTOArea area,
+                     int maxRetries,
+                     long delayMs,
+                     DTOTesseractSettings settings,
+                     OcrConfidenceThresholds thresholds,
+                     Predicate<String> successPredicate,
+                     Function<String, T> converter) {
+        return execute(area.topLeft(), area.bottomRight(), maxRetries, delayMs, settings, thresholds,
+                successPredicate, converter);
+    }
 }
\ No newline at end of file